@@ -0,0 +1,94 @@
+package com.silverithm.vehicleplacementsystem.benchmark;
+
+import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
+import com.silverithm.vehicleplacementsystem.dto.CoupleRequestDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.FixedAssignmentsDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.FixedAssignmentsV2;
+import com.silverithm.vehicleplacementsystem.service.HaversineDistanceMatrixProvider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * 벤치마크용 배차 문제. 직원/어르신/부부/고정 배정 수를 @Param 으로 바꿀 수 있다 (예: -p elderlyCount=100).
+ * <p>
+ * 같은 파라미터면 항상 같은 문제가 만들어진다. 부부는 앞쪽 어르신부터 두 명씩, 고정 배정은 그 다음 어르신을 직원마다 한 명씩
+ * 첫 번째 순번에 둔다. 거리 행렬은 {@link HaversineDistanceMatrixProvider} 로 만든 소요 시간(초)이라 외부 API 없이도 실제와
+ * 비슷하게 가까운 곳끼리 가깝다.
+ */
+@State(Scope.Benchmark)
+public class DispatchProblem {
+
+    private static final long SEED = 42L;
+
+    @Param({"5", "20"})
+    public int employeeCount;
+
+    @Param({"20", "100"})
+    public int elderlyCount;
+
+    @Param({"0", "5"})
+    public int coupleCount;
+
+    @Param({"0", "5"})
+    public int fixedAssignmentCount;
+
+    public List<EmployeeDTO> employees;
+    public List<ElderlyDTO> elderlys;
+    public List<CoupleRequestDTO> couples;
+    public List<FixedAssignmentsDTO> fixedAssignments;
+    public Map<Integer, List<Integer>> fixedAssignmentMap;
+    public DistanceMatrix distanceMatrix;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (coupleCount * 2 + fixedAssignmentCount > elderlyCount || fixedAssignmentCount > employeeCount) {
+            throw new IllegalArgumentException("invalid benchmark problem : employees " + employeeCount
+                    + ", elderlys " + elderlyCount + ", couples " + coupleCount + ", fixed " + fixedAssignmentCount);
+        }
+        Random random = new Random(SEED);
+
+        // 전체 정원이 어르신 수보다 넉넉하게. 고정 배정이 있는 직원에게 부부가 모두 몰려도 ChromosomeV3 가 정원 초과로
+        // 실패하지 않도록 부부 수만큼 더 둔다.
+        int capacity = (elderlyCount + employeeCount - 1) / employeeCount + 2
+                + (fixedAssignmentCount > 0 ? coupleCount * 2 : 0);
+        employees = new ArrayList<>();
+        for (int i = 0; i < employeeCount; i++) {
+            employees.add(new EmployeeDTO((long) i + 1, "employee" + i, "", "",
+                    new Location(37.5 + random.nextDouble() * 0.1, 127.0 + random.nextDouble() * 0.1),
+                    new Location(37.55, 127.05), capacity, i % 2 == 0));
+        }
+
+        elderlys = new ArrayList<>();
+        for (int i = 0; i < elderlyCount; i++) {
+            elderlys.add(new ElderlyDTO((long) i + 1000, "elderly" + i,
+                    new Location(37.5 + random.nextDouble() * 0.1, 127.0 + random.nextDouble() * 0.1), false, ""));
+        }
+
+        couples = new ArrayList<>();
+        for (int i = 0; i < coupleCount; i++) {
+            couples.add(new CoupleRequestDTO(elderlys.get(i * 2).id(), elderlys.get(i * 2 + 1).id()));
+        }
+
+        fixedAssignments = new ArrayList<>();
+        for (int i = 0; i < fixedAssignmentCount; i++) {
+            fixedAssignments.add(new FixedAssignmentsDTO(employees.get(i).id().intValue(),
+                    elderlys.get(coupleCount * 2 + i).id().intValue(), 1));
+        }
+        fixedAssignmentMap = new FixedAssignmentsV2(fixedAssignments, employees, elderlys).getFixedAssignments();
+
+        distanceMatrix = new HaversineDistanceMatrixProvider(1.3, 30).build(employees, elderlys,
+                new CompanyDTO(new Location(37.55, 127.05)), DispatchType.DURATION_IN, "benchmark");
+    }
+}
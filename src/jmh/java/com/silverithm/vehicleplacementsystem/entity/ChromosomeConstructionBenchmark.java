@@ -0,0 +1,47 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import com.silverithm.vehicleplacementsystem.benchmark.DispatchProblem;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 초기 해 생성 (ChromosomeV3 / ChromosomeV4 생성자).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChromosomeConstructionBenchmark {
+
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new SplittableRandom(42L);
+    }
+
+    @Benchmark
+    public ChromosomeV3 chromosomeV3(DispatchProblem problem) throws Exception {
+        return new ChromosomeV3(problem.couples, problem.employees, problem.elderlys, problem.fixedAssignmentMap,
+                random);
+    }
+
+    @Benchmark
+    public ChromosomeV4 chromosomeV4(DispatchProblem problem) throws Exception {
+        return new ChromosomeV4(problem.couples, problem.employees, problem.elderlys, problem.fixedAssignmentMap,
+                random);
+    }
+}
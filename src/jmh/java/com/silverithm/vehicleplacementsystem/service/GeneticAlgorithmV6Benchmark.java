@@ -0,0 +1,110 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.benchmark.DispatchProblem;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV3;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV5;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmParameters;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmResult;
+import com.silverithm.vehicleplacementsystem.entity.TerminationCriteria;
+import com.silverithm.vehicleplacementsystem.repository.EmitterRepository;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * GeneticAlgorithmV6 의 적합도 계산, 세대 단계(교차, 돌연변이, 다음 세대 선택)와 전체 실행.
+ * <p>
+ * 병렬화와 무관한 비용을 보도록 executor 는 호출 스레드에서 바로 실행한다. 단계별 벤치마크는 초기 해를 만든 뒤 교차와
+ * 돌연변이를 한 번씩 거친 상태에서 해당 단계만 반복한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneticAlgorithmV6Benchmark {
+
+    private static final long SEED = 42L;
+
+    @Param({"2000"})
+    public int populationSize;
+
+    @Param({"20"})
+    public int generations;
+
+    private SSEService sseService;
+    private GeneticAlgorithmV6 geneticAlgorithm;
+    private ChromosomeV5 template;      // 평가하지 않은 (모든 경로가 dirty 인) 염색체
+    private ChromosomeV5 chromosome;
+
+    @Setup(Level.Trial)
+    public void setUp(DispatchProblem problem) throws Exception {
+        sseService = new SSEService(new EmitterRepository());
+        geneticAlgorithm = newGeneticAlgorithm(problem);
+        geneticAlgorithm.seedPopulation();
+        geneticAlgorithm.crossover();
+        geneticAlgorithm.mutate();
+
+        template = ChromosomeV5.from(new ChromosomeV3(problem.couples, problem.employees, problem.elderlys,
+                problem.fixedAssignmentMap, new SplittableRandom(SEED)).getGenes());
+        chromosome = ChromosomeV5.copy(template);
+    }
+
+    // 모든 경로를 다시 계산하는 적합도 (경로 캐시 없음)
+    @Benchmark
+    public double calculateFitness() {
+        chromosome.copyFrom(template);
+        return geneticAlgorithm.calculateFitness(chromosome);
+    }
+
+    @Benchmark
+    public double[] calculateDepartureTimes() {
+        return geneticAlgorithm.calculateDepartureTimes(chromosome);
+    }
+
+    @Benchmark
+    public void crossover() {
+        geneticAlgorithm.crossover();
+    }
+
+    @Benchmark
+    public void mutate() {
+        geneticAlgorithm.mutate();
+    }
+
+    @Benchmark
+    public void combinePopulations() {
+        geneticAlgorithm.combinePopulations();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public GeneticAlgorithmResult run(DispatchProblem problem) throws Exception {
+        return newGeneticAlgorithm(problem).run("benchmark");
+    }
+
+    private GeneticAlgorithmV6 newGeneticAlgorithm(DispatchProblem problem) {
+        GeneticAlgorithmV6 geneticAlgorithm = new GeneticAlgorithmV6(problem.employees, problem.elderlys,
+                problem.couples, problem.fixedAssignments, sseService, Runnable::run);
+        geneticAlgorithm.initialize(problem.distanceMatrix, DispatchType.DURATION_IN, "benchmark", SEED);
+        geneticAlgorithm.setParameters(new GeneticAlgorithmParameters(populationSize, generations, 0.7, 0.9));
+        geneticAlgorithm.setTerminationCriteria(TerminationCriteria.generations(generations));
+        return geneticAlgorithm;
+    }
+}
@@ -0,0 +1,88 @@
+package com.silverithm.vehicleplacementsystem.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+
+/**
+ * 키 하나당 한 번씩 왕복하는 RedisCache 에 MGET / 파이프라인 SET 일괄 조회·저장을 더한 캐시.
+ * <p>
+ * 키 접두사, 키/값 직렬화, TTL 은 RedisCache 와 같은 설정을 그대로 쓰므로 단건으로 넣은 값을 일괄로 읽을 수 있고 그 반대도 된다.
+ */
+public class BulkRedisCache extends RedisCache {
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public BulkRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfiguration,
+                          RedisConnectionFactory connectionFactory) {
+        super(name, cacheWriter, cacheConfiguration);
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * @return Redis 에 있는 키만 담은 map (null 로 저장된 값은 null 로 담긴다)
+     */
+    public Map<Object, Object> getAll(List<?> keys) {
+        Map<Object, Object> found = new HashMap<>();
+        if (keys.isEmpty()) {
+            return found;
+        }
+
+        byte[][] rawKeys = new byte[keys.size()][];
+        for (int i = 0; i < keys.size(); i++) {
+            rawKeys[i] = serializeCacheKey(createCacheKey(keys.get(i)));
+        }
+
+        List<byte[]> rawValues;
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+        }
+
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] rawValue = rawValues == null ? null : rawValues.get(i);
+            if (rawValue != null) {
+                found.put(keys.get(i), fromStoreValue(deserializeCacheValue(rawValue)));
+            }
+        }
+        return found;
+    }
+
+    public void putAll(Map<?, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        List<byte[]> rawKeys = new ArrayList<>(entries.size());
+        List<byte[]> rawValues = new ArrayList<>(entries.size());
+        List<Expiration> expirations = new ArrayList<>(entries.size());
+        entries.forEach((key, value) -> {
+            Object storeValue = toStoreValue(value);
+            rawKeys.add(serializeCacheKey(createCacheKey(key)));
+            rawValues.add(serializeCacheValue(storeValue));
+            expirations.add(toExpiration(getCacheConfiguration().getTtlFunction().getTimeToLive(key, value)));
+        });
+
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            for (int i = 0; i < rawKeys.size(); i++) {
+                connection.stringCommands().set(rawKeys.get(i), rawValues.get(i), expirations.get(i), SetOption.upsert());
+            }
+            connection.closePipeline();
+        }
+    }
+
+    private Expiration toExpiration(Duration ttl) {
+        return ttl == null || ttl.isZero() || ttl.isNegative()
+                ? Expiration.persistent()
+                : Expiration.from(ttl);
+    }
+}
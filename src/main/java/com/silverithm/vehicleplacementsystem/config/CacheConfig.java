@@ -1,8 +1,10 @@
 package com.silverithm.vehicleplacementsystem.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCache;
@@ -10,11 +12,22 @@ import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.cache.RedisCacheManager;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    // L1 은 항목 수 또는 추정 바이트 수 중 하나로 제한한다 (maximum-weight-bytes 가 0 보다 크면 그쪽이 우선)
+    @Value("${cache.l1.maximum-size:100000}")
+    private long l1MaximumSize;
+
+    @Value("${cache.l1.maximum-weight-bytes:0}")
+    private long l1MaximumWeightBytes;
+
+    @Value("${cache.l1.expire-after-write-minutes:720}")
+    private long l1ExpireAfterWriteMinutes;
+
     @Bean
     public CacheManager caffeineCacheManager() {
         // Caffeine 캐시 설정
@@ -29,4 +42,29 @@ public class CacheConfig {
         cacheManager.setCaches(Collections.singletonList(fitnessCache));
         return cacheManager;
     }
-}
\ No newline at end of file
+
+    @Bean
+    @Primary
+    public CacheManager layeredCacheManager(RedisCacheManager contentCacheManager, MeterRegistry meterRegistry) {
+        return new LayeredCacheManager(contentCacheManager, this::l1Builder, meterRegistry);
+    }
+
+    private Caffeine<Object, Object> l1Builder() {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(l1ExpireAfterWriteMinutes, TimeUnit.MINUTES)
+                .recordStats();
+
+        if (l1MaximumWeightBytes > 0) {
+            return builder.maximumWeight(l1MaximumWeightBytes)
+                    .weigher((key, value) -> estimateEntryBytes(key));
+        }
+        return builder.maximumSize(l1MaximumSize);
+    }
+
+    // 키 문자열 + 엔트리/값 객체 헤더. 캐시 값은 int 두 개짜리 응답이라 키 길이가 크기를 좌우한다
+    // (CoordinatePairKey 같은 Latin-1 문자열은 compact string 이라 문자당 1바이트)
+    private static int estimateEntryBytes(Object key) {
+        int keyBytes = key instanceof String stringKey ? 40 + stringKey.length() : 32;
+        return keyBytes + 64;
+    }
+}
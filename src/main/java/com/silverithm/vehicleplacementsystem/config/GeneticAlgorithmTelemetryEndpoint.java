@@ -0,0 +1,32 @@
+package com.silverithm.vehicleplacementsystem.config;
+
+import com.silverithm.vehicleplacementsystem.entity.GenerationStats;
+import com.silverithm.vehicleplacementsystem.service.GeneticAlgorithmTelemetry;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * /actuator/ga-telemetry, /actuator/ga-telemetry/{jobId}. management.endpoints.web.exposure.include 에 ga-telemetry 를
+ * 추가해야 노출된다.
+ */
+@Component
+@Endpoint(id = "ga-telemetry")
+@RequiredArgsConstructor
+public class GeneticAlgorithmTelemetryEndpoint {
+
+    private final GeneticAlgorithmTelemetry telemetry;
+
+    @ReadOperation
+    public List<GenerationStats> recent() {
+        return telemetry.recent(null);
+    }
+
+    @ReadOperation
+    public List<GenerationStats> recentForJob(@Selector String jobId) {
+        return telemetry.recent(jobId);
+    }
+}
@@ -0,0 +1,57 @@
+package com.silverithm.vehicleplacementsystem.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+@Configuration
+public class HttpClientConfig {
+
+    // 거리 행렬 조회 스레드가 같은 호스트(카카오 모빌리티)로 동시에 요청하므로 route 당 커넥션은 distance-matrix.pool-size 이상으로 둔다
+    @Value("${http-client.max-total:64}")
+    private int maxTotal;
+
+    @Value("${http-client.max-per-route:32}")
+    private int maxPerRoute;
+
+    @Value("${http-client.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${http-client.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient pooledHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictIdleConnections(TimeValue.ofSeconds(30))  // 오래 놀고 있는 keep-alive 커넥션 정리
+                .build();
+    }
+
+    /**
+     * RestTemplateBuilder 로 만드는 모든 RestTemplate 이 위 커넥션 풀을 공유하도록 한다.
+     */
+    @Bean
+    public RestTemplateCustomizer pooledRequestFactoryCustomizer(CloseableHttpClient pooledHttpClient) {
+        return restTemplate -> restTemplate.setRequestFactory(
+                new HttpComponentsClientHttpRequestFactory(pooledHttpClient));
+    }
+}
@@ -0,0 +1,219 @@
+package com.silverithm.vehicleplacementsystem.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * 프로세스 내부 Caffeine(L1) 을 Redis(L2) 앞에 둔 2단 캐시.
+ * <p>
+ * 조회는 L1 → L2 순서로 하고 L2 에서 찾은 값은 L1 에 채운다. 저장/삭제는 두 단계 모두에 반영한다. 거리 행렬처럼 키가 많은 조회는
+ * {@link #getAll(Collection, Function)} 으로 L1 일괄 조회 → L2 MGET 한 번 → 남은 키만 loader 로 읽어 두 단계에 일괄 저장한다.
+ * <p>
+ * 단계별 hit/miss 는 cache.layered.gets, loader 소요 시간은 cache.layered.loads 로 기록한다.
+ */
+public class LayeredCache implements Cache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> l1;
+    private final BulkRedisCache l2;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Timer loads;
+
+    public LayeredCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> l1, BulkRedisCache l2,
+                        MeterRegistry meterRegistry) {
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+
+        this.l1Hits = gets(meterRegistry, "l1", "hit");
+        this.l1Misses = gets(meterRegistry, "l1", "miss");
+        this.l2Hits = gets(meterRegistry, "l2", "hit");
+        this.l2Misses = gets(meterRegistry, "l2", "miss");
+        this.loads = Timer.builder("cache.layered.loads").tag("cache", name).register(meterRegistry);
+
+        Gauge.builder("cache.layered.l1.size", l1, com.github.benmanes.caffeine.cache.Cache::estimatedSize)
+                .tag("cache", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.layered.l1.evictions", l1, cache -> cache.stats().evictionCount())
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    private Counter gets(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.layered.gets")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = l1.getIfPresent(key);
+        if (value != null) {
+            l1Hits.increment();
+            return new SimpleValueWrapper(value);
+        }
+        l1Misses.increment();
+
+        ValueWrapper wrapper = l2.get(key);
+        if (wrapper == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+
+        if (wrapper.get() != null) {
+            l1.put(key, wrapper.get());
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        long startTime = System.nanoTime();
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            loads.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        if (value != null) {
+            l1.put(key, value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        l1.invalidate(key);
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.invalidateAll();
+    }
+
+    /**
+     * @return 두 단계 중 하나라도 가지고 있는 키만 담은 map
+     */
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> found = new HashMap<>(l1.getAllPresent(keys));
+        l1Hits.increment(found.size());
+        l1Misses.increment(keys.size() - found.size());
+
+        List<Object> l1MissedKeys = new ArrayList<>();
+        for (Object key : keys) {
+            if (!found.containsKey(key)) {
+                l1MissedKeys.add(key);
+            }
+        }
+
+        Map<Object, Object> l2Found = l2.getAll(l1MissedKeys);
+        l2Hits.increment(l2Found.size());
+        l2Misses.increment(l1MissedKeys.size() - l2Found.size());
+
+        l2Found.forEach((key, value) -> {
+            if (value != null) {
+                l1.put(key, value);
+            }
+        });
+        found.putAll(l2Found);
+        return found;
+    }
+
+    /**
+     * 캐시에 없는 키만 loader 로 한 번에 읽고, 읽은 값은 두 단계에 일괄 저장한다.
+     */
+    public <K, V> Map<K, V> getAll(Collection<K> keys, Function<List<K>, Map<K, V>> loader) {
+        @SuppressWarnings("unchecked")
+        Map<K, V> result = (Map<K, V>) (Map<?, ?>) getAll(keys);
+
+        List<K> missedKeys = new ArrayList<>();
+        for (K key : keys) {
+            if (!result.containsKey(key)) {
+                missedKeys.add(key);
+            }
+        }
+        if (missedKeys.isEmpty()) {
+            return result;
+        }
+
+        long startTime = System.nanoTime();
+        Map<K, V> loaded;
+        try {
+            loaded = loader.apply(missedKeys);
+        } finally {
+            loads.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+
+        putAll(loaded);
+        result.putAll(loaded);
+        return result;
+    }
+
+    public void putAll(Map<?, ?> entries) {
+        l2.putAll(entries);
+        entries.forEach((key, value) -> {
+            if (value != null) {
+                l1.put(key, value);
+            }
+        });
+    }
+}
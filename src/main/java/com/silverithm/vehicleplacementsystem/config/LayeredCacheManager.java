@@ -0,0 +1,46 @@
+package com.silverithm.vehicleplacementsystem.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+/**
+ * RedisCacheManager 가 만드는 캐시마다 Caffeine near-cache 를 하나씩 붙여 {@link LayeredCache} 로 돌려준다.
+ */
+public class LayeredCacheManager implements CacheManager {
+
+    private final RedisCacheManager redisCacheManager;
+    private final Supplier<Caffeine<Object, Object>> l1Builder;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, LayeredCache> caches = new ConcurrentHashMap<>();
+
+    public LayeredCacheManager(RedisCacheManager redisCacheManager, Supplier<Caffeine<Object, Object>> l1Builder,
+                               MeterRegistry meterRegistry) {
+        this.redisCacheManager = redisCacheManager;
+        this.l1Builder = l1Builder;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache redisCache = redisCacheManager.getCache(cacheName);
+            if (!(redisCache instanceof BulkRedisCache bulkRedisCache)) {
+                throw new IllegalStateException("[ERROR] BulkRedisCache 가 아닌 Redis 캐시입니다. - " + cacheName);
+            }
+            return new LayeredCache(cacheName, l1Builder.get().build(), bulkRedisCache, meterRegistry);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+}
@@ -1,19 +1,21 @@
 package com.silverithm.vehicleplacementsystem.config;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Primary;
 import org.springframework.core.env.Environment;
+import org.springframework.data.redis.cache.RedisCache;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
@@ -27,6 +29,9 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 @EnableRedisRepositories // Redis를 사용한다고 명시해주는 애너테이션
 @EnableCaching
 public class RedisRepositoryConfig {
+
+    public static final List<String> ROUTE_CACHES = List.of("osrm", "kakaomap");
+
     @Value("${redis.host}")
     private String redisHost;
 
@@ -66,9 +71,9 @@ public class RedisRepositoryConfig {
         return redisTemplate;
     }
 
+    // 기본 CacheManager 는 이 캐시 앞에 Caffeine 을 붙인 CacheConfig.layeredCacheManager
     @Bean
-    @Primary
-    public CacheManager contentCacheManager() {
+    public RedisCacheManager contentCacheManager() {
         RedisCacheConfiguration configuration = RedisCacheConfiguration.defaultCacheConfig()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
@@ -80,12 +85,25 @@ public class RedisRepositoryConfig {
         // 캐시 설정 추가
         Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
         cacheConfigurations.put("fitness", configuration);
-        cacheConfigurations.put("osrm", configuration);
 
-        return RedisCacheManager.builder(redisConnectionFactory())
-                .cacheDefaults(configuration)
-                .withInitialCacheConfigurations(cacheConfigurations)
-                .build();
+        // 길찾기 결과 캐시는 16바이트 좌표 쌍 키(CoordinatePairKey) + 9바이트 바이너리 값
+        RedisCacheConfiguration routeConfiguration = configuration
+                .serializeKeysWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new StringRedisSerializer(StandardCharsets.ISO_8859_1)))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new RouteValueRedisSerializer()));
+        for (String routeCache : ROUTE_CACHES) {
+            cacheConfigurations.put(routeCache, routeConfiguration);
+        }
+
+        RedisConnectionFactory connectionFactory = redisConnectionFactory();
+        return new RedisCacheManager(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), configuration,
+                cacheConfigurations) {
+            @Override
+            protected RedisCache createRedisCache(String name, RedisCacheConfiguration cacheConfiguration) {
+                return new BulkRedisCache(name, getCacheWriter(), cacheConfiguration, connectionFactory);
+            }
+        };
     }
 
 }
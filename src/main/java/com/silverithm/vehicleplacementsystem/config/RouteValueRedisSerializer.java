@@ -0,0 +1,64 @@
+package com.silverithm.vehicleplacementsystem.config;
+
+import com.silverithm.vehicleplacementsystem.dto.KakaoMapApiResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.OsrmApiResponseDTO;
+import java.nio.ByteBuffer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * 길찾기 결과(distance, duration int 두 개)를 9바이트 [타입 1바이트][distance 4바이트][duration 4바이트] 로 저장하는 직렬화기.
+ * <p>
+ * 그 외 값(캐시 null 값 등)과, 읽을 때 9바이트 바이너리 형식이 아닌 값은 기존 GenericJackson2JsonRedisSerializer 로 처리한다. 그래서
+ * 이전 JSON 으로 저장된 항목도 그대로 읽히고, 다시 저장될 때 바이너리로 바뀐다. JSON 은 '{' 또는 '[' 로 시작하므로 타입 바이트와 겹치지 않는다.
+ */
+public class RouteValueRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte KAKAO = 1;
+    private static final byte OSRM = 2;
+    private static final int LENGTH = 9;
+
+    private final GenericJackson2JsonRedisSerializer legacySerializer = new GenericJackson2JsonRedisSerializer();
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value instanceof KakaoMapApiResponseDTO kakao) {
+            return encode(KAKAO, kakao.distance(), kakao.duration());
+        }
+        if (value instanceof OsrmApiResponseDTO osrm) {
+            return encode(OSRM, osrm.distance(), osrm.duration());
+        }
+        return legacySerializer.serialize(value);
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+
+        if (isBinary(bytes)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, LENGTH - 1);
+            int distance = buffer.getInt();
+            int duration = buffer.getInt();
+            return bytes[0] == KAKAO
+                    ? new KakaoMapApiResponseDTO(distance, duration)
+                    : new OsrmApiResponseDTO(distance, duration);
+        }
+
+        return legacySerializer.deserialize(bytes);
+    }
+
+    public static boolean isBinary(byte[] bytes) {
+        return bytes.length == LENGTH && (bytes[0] == KAKAO || bytes[0] == OSRM);
+    }
+
+    private byte[] encode(byte type, int distance, int duration) {
+        return ByteBuffer.allocate(LENGTH)
+                .put(type)
+                .putInt(distance)
+                .putInt(duration)
+                .array();
+    }
+}
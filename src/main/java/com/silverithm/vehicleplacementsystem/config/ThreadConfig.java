@@ -1,19 +1,32 @@
 package com.silverithm.vehicleplacementsystem.config;
 
 import java.util.concurrent.ThreadPoolExecutor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 @Configuration
 public class ThreadConfig {
+
+    // 0 이하이면 컨테이너에 할당된 vCPU 수를 사용
+    @Value("${genetic-algorithm.pool-size:0}")
+    private int geneticAlgorithmPoolSize;
+
+    // 거리 행렬 조회는 CPU 가 아니라 외부 API 응답 대기가 대부분이므로 vCPU 수와 무관하게 잡는다
+    @Value("${distance-matrix.pool-size:16}")
+    private int distanceMatrixPoolSize;
+
     @Bean(name = "geneticAlgorithmExecutor")  // Bean 이름 지정
     public ThreadPoolTaskExecutor geneticAlgorithmExecutor() {
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
 
-        // t3.medium 기준 설정
-        executor.setCorePoolSize(2);  // vCPU 수와 동일하게
-        executor.setMaxPoolSize(2);   // 최대 스레드 수도 동일하게
+        int poolSize = geneticAlgorithmPoolSize > 0
+                ? geneticAlgorithmPoolSize
+                : Runtime.getRuntime().availableProcessors();
+
+        executor.setCorePoolSize(poolSize);  // vCPU 수와 동일하게
+        executor.setMaxPoolSize(poolSize);   // 최대 스레드 수도 동일하게
         executor.setQueueCapacity(100); // 대기열 크기 제한
 
         // 대기열이 가득 찼을 때 처리 방식
@@ -26,4 +39,23 @@ public class ThreadConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    @Bean(name = "distanceMatrixExecutor")
+    public ThreadPoolTaskExecutor distanceMatrixExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        executor.setCorePoolSize(distanceMatrixPoolSize);
+        executor.setMaxPoolSize(distanceMatrixPoolSize);
+        executor.setQueueCapacity(10000); // 한 작업의 쌍 조회를 모두 대기열에 올릴 수 있도록
+
+        // 대기열이 가득 차면 호출 스레드에서 직접 조회
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+
+        executor.setKeepAliveSeconds(60);
+        executor.setAllowCoreThreadTimeOut(true);
+
+        executor.setThreadNamePrefix("DM-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,10 @@
+package com.silverithm.vehicleplacementsystem.dto;
+
+/**
+ * 요청별 유전 알고리즘 설정. null 인 값은 문제 크기에 맞춰 자동으로 정한다.
+ * <p>
+ * seed 가 없으면 genetic-algorithm.seed 설정을, 그것도 없으면 작업마다 새 seed 를 쓴다. 쓴 seed 는 "stop" 이벤트로 알려 준다.
+ */
+public record GeneticAlgorithmOptionsDTO(Integer populationSize, Integer maxGenerations, Double crossoverRate,
+                                         Double mutationRate, Long seed) {
+}
@@ -5,5 +5,6 @@ import java.util.List;
 
 public record RequestDispatchDTO(List<ElderlyDTO> elderlys, List<CoupleRequestDTO> couples, List<EmployeeDTO> employees,
                                  CompanyDTO company, List<FixedAssignmentsDTO> fixedAssignments,
-                                 DispatchType dispatchType, String userName) {
+                                 DispatchType dispatchType, String userName,
+                                 GeneticAlgorithmOptionsDTO geneticAlgorithm) {
 }
@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Random;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import lombok.Getter;
@@ -33,6 +34,11 @@ public class ChromosomeV3 implements Serializable {
 
     public ChromosomeV3(List<CoupleRequestDTO> couples, List<EmployeeDTO> employees, List<ElderlyDTO> elderly,
                         Map<Integer, List<Integer>> fixedAssignments) throws Exception {
+        this(couples, employees, elderly, fixedAssignments, new Random());
+    }
+
+    public ChromosomeV3(List<CoupleRequestDTO> couples, List<EmployeeDTO> employees, List<ElderlyDTO> elderly,
+                        Map<Integer, List<Integer>> fixedAssignments, RandomGenerator random) throws Exception {
 
         int totalElderly = elderly.size();
 
@@ -43,13 +49,14 @@ public class ChromosomeV3 implements Serializable {
             throw new Exception("[ERROR] 배치 가능 인원을 초과하였습니다.");
         }
 
-        List<Integer> elderlyIndexs = createRandomElderlyIndexs(totalElderly);
+        List<Integer> elderlyIndexs = createRandomElderlyIndexs(totalElderly, random);
         int[] employeesCapacityLeft = initializeEmployeesCapacityLeft(employees);
         genes = initializeChromosomeWithMaximumCapacity(employees);
-        fixCoupleElderlyAtChromosome(elderly, couples, employeesCapacityLeft, elderlyIndexs);
+        // 고정 배정은 직원 경로를 통째로 덮어쓰므로 부부보다 먼저 채운다. 부부는 남은 빈자리에만 들어간다.
         fixElderlyAtChromosome(fixedAssignments, employeesCapacityLeft, elderlyIndexs);
+        fixCoupleElderlyAtChromosome(elderly, couples, employeesCapacityLeft, elderlyIndexs, random);
         fixInitialChromosome(employees, employeesCapacityLeft, elderlyIndexs);
-        fixRandomElderlyIndexAtChromosome(employeesCapacityLeft, elderlyIndexs);
+        fixRandomElderlyIndexAtChromosome(employeesCapacityLeft, elderlyIndexs, random);
         removeEmptyChromosome();
 
     }
@@ -93,8 +100,12 @@ public class ChromosomeV3 implements Serializable {
 
     public void fixRandomElderlyIndexAtChromosome(int[] employeesCapacityLeft,
                                                   List<Integer> elderlyIndexs) {
+        fixRandomElderlyIndexAtChromosome(employeesCapacityLeft, elderlyIndexs, new Random());
+    }
+
+    public void fixRandomElderlyIndexAtChromosome(int[] employeesCapacityLeft,
+                                                  List<Integer> elderlyIndexs, RandomGenerator rand) {
         int startIndex = 0;
-        Random rand = new Random();
 
         while (startIndex < elderlyIndexs.size()) {
             int randIndex = rand.nextInt(employeesCapacityLeft.length);
@@ -148,8 +159,7 @@ public class ChromosomeV3 implements Serializable {
 
     private void fixCoupleElderlyAtChromosome(List<ElderlyDTO> elderly, List<CoupleRequestDTO> coupleElderlyList,
                                               int[] employeesCapacityLeft,
-                                              List<Integer> elderlyIndexs) {
-        Random rand = new Random();
+                                              List<Integer> elderlyIndexs, RandomGenerator rand) {
         Map<Long, Integer> elderlyIdToIndex = new HashMap<>();
         for (int i = 0; i < elderly.size(); i++) {
             elderlyIdToIndex.put(elderly.get(i).id(), i);
@@ -169,7 +179,7 @@ public class ChromosomeV3 implements Serializable {
                     .filter(i -> employeesCapacityLeft[i] >= 2)
                     .collect(Collectors.toList());
 
-            Collections.shuffle(employees, new Random());
+            shuffle(employees, rand);
 
             for (int employee : employees) {
                 int[] employeeChromosome = genes[employee];
@@ -232,6 +242,22 @@ public class ChromosomeV3 implements Serializable {
         return elderlyIndexs;
     }
 
+    public List<Integer> createRandomElderlyIndexs(int totalElderly, RandomGenerator random) {
+        List<Integer> elderlyIndexs = new ArrayList<>();
+        for (int i = 0; i < totalElderly; i++) {
+            elderlyIndexs.add(i);
+        }
+        shuffle(elderlyIndexs, random);
+        return elderlyIndexs;
+    }
+
+    // Collections.shuffle 은 java.util.Random 만 받으므로 SplittableRandom 등을 위해 같은 Fisher-Yates 를 직접 수행
+    private static void shuffle(List<Integer> list, RandomGenerator random) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            Collections.swap(list, i, random.nextInt(i + 1));
+        }
+    }
+
     public static ChromosomeV3 copy(ChromosomeV3 original) {
         ChromosomeV3 copy = new ChromosomeV3();
 
@@ -0,0 +1,249 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import java.util.Arrays;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 배열 하나로 펼친 염색체.
+ * <p>
+ * 직원 i 의 경로는 genes[offsets[i] .. offsets[i + 1]) 이고 출발 시간은 departureTimes[i] 이다. ChromosomeV3 의 int[][] + List&lt;Double&gt;
+ * 대신 배열 세 개만 가지므로 복사가 System.arraycopy 세 번이다.
+ * <p>
+ * genes 배열은 실제 유전자 수({@link #geneCount()}) 보다 길 수 있다. 유전 알고리즘은 작업 시작 시 최대 길이로 버퍼를 만들어 두고
+ * {@link #copyFrom(ChromosomeV5)} 로 덮어쓰며 재사용한다.
+ * <p>
+ * 경로 구성의 해시({@link #getRoutesHash()})는 (위치, 값) 마다 정해진 64비트 키를 XOR 한 Zobrist 방식이라, 유전자를 바꿀 때
+ * {@link #setGene(int, int)} / {@link #swapGenes(int, int)} 로 바꾸면 전체를 다시 계산하지 않고 갱신된다. genes 배열을 직접
+ * 수정했다면 {@link #rehash()} 를 호출해야 한다.
+ * <p>
+ * 적합도도 경로 단위로 캐시한다. setGene 으로 값이 바뀐 경로는 dirty 로 표시되고, 유전 알고리즘은 dirty 경로만 다시 계산해
+ * {@link #setRouteScore(int, boolean, double, double)} 로 기록한 뒤 경로별 값을 더해 전체 적합도를 만든다.
+ */
+@Getter
+public class ChromosomeV5 {
+
+    private static final long GENE_SALT = 0x9E3779B97F4A7C15L;
+    private static final long ROUTE_SALT = 0xC2B2AE3D27D4EB4FL;
+
+    private final int[] genes;
+    private final int[] offsets;
+    private final double[] departureTimes;
+    private final double[] routeScores;     // 경로별 근접도 점수
+    private final boolean[] routeValid;     // 경로별 제약조건(앞좌석, 고정 배정, 부부) 만족 여부
+    private final boolean[] dirtyRoutes;    // 마지막 계산 이후 유전자가 바뀐 경로
+    @Setter
+    private double fitness;
+    private long routesHash;
+
+    public ChromosomeV5(int[] genes, int[] offsets) {
+        this.genes = genes;
+        this.offsets = offsets;
+        this.departureTimes = new double[offsets.length - 1];
+        this.routeScores = new double[offsets.length - 1];
+        this.routeValid = new boolean[offsets.length - 1];
+        this.dirtyRoutes = new boolean[offsets.length - 1];
+        Arrays.fill(dirtyRoutes, true);
+        rehash();
+    }
+
+    /**
+     * copyFrom 으로 채워 쓸 빈 버퍼.
+     */
+    public static ChromosomeV5 buffer(int geneCapacity, int routeCount) {
+        return new ChromosomeV5(new int[geneCapacity], new int[routeCount + 1]);
+    }
+
+    public static ChromosomeV5 from(int[][] routes) {
+        int[] offsets = new int[routes.length + 1];
+        for (int i = 0; i < routes.length; i++) {
+            offsets[i + 1] = offsets[i] + routes[i].length;
+        }
+
+        int[] genes = new int[offsets[routes.length]];
+        for (int i = 0; i < routes.length; i++) {
+            System.arraycopy(routes[i], 0, genes, offsets[i], routes[i].length);
+        }
+        return new ChromosomeV5(genes, offsets);
+    }
+
+    public static ChromosomeV5 copy(ChromosomeV5 original) {
+        ChromosomeV5 copy = buffer(original.genes.length, original.routeCount());
+        copy.copyFrom(original);
+        return copy;
+    }
+
+    /**
+     * 같은 작업의 다른 염색체 내용을 그대로 덮어쓴다.
+     */
+    public void copyFrom(ChromosomeV5 other) {
+        System.arraycopy(other.genes, 0, genes, 0, other.geneCount());
+        System.arraycopy(other.offsets, 0, offsets, 0, offsets.length);
+        System.arraycopy(other.departureTimes, 0, departureTimes, 0, departureTimes.length);
+        System.arraycopy(other.routeScores, 0, routeScores, 0, routeScores.length);
+        System.arraycopy(other.routeValid, 0, routeValid, 0, routeValid.length);
+        System.arraycopy(other.dirtyRoutes, 0, dirtyRoutes, 0, dirtyRoutes.length);
+        fitness = other.fitness;
+        routesHash = other.routesHash;
+    }
+
+    public void setGene(int position, int value) {
+        int previous = genes[position];
+        if (previous != value) {
+            routesHash ^= geneKey(position, previous) ^ geneKey(position, value);
+            genes[position] = value;
+            dirtyRoutes[routeOf(position)] = true;
+        }
+    }
+
+    public void swapGenes(int position1, int position2) {
+        int value1 = genes[position1];
+        int value2 = genes[position2];
+        setGene(position1, value2);
+        setGene(position2, value1);
+    }
+
+    // genes[from .. to] 를 뒤집는다 (2-opt)
+    public void reverse(int from, int to) {
+        while (from < to) {
+            swapGenes(from++, to--);
+        }
+    }
+
+    /**
+     * position 의 어르신을 빼서 route 경로의 index 번째(뺀 뒤 기준)에 넣는다. 경로 길이가 바뀌므로 offsets 를 고친다. 해시는 값이
+     * 밀린 구간과 끝 위치가 바뀐 경로만 빼고 다시 더한다. 사이에 있는 다른 경로는 위치만 밀릴 뿐 내용이 같으므로 경로 캐시는 그대로
+     * 둔다.
+     *
+     * @return 옮긴 어르신의 새 위치
+     */
+    public int relocate(int position, int route, int index) {
+        int value = genes[position];
+        int fromRoute = routeOf(position);
+        int count = geneCount();
+        int target = offsets[route] - (route > fromRoute ? 1 : 0) + index;
+        int low = Math.min(position, target);
+        int high = Math.max(position, target);
+        int firstOffset = Math.min(fromRoute, route) + 1;
+        int lastOffset = Math.max(fromRoute, route);
+
+        routesHash ^= hashOf(low, high, firstOffset, lastOffset);
+
+        System.arraycopy(genes, position + 1, genes, position, count - position - 1);
+        for (int r = fromRoute + 1; r < offsets.length; r++) {
+            offsets[r]--;
+        }
+        System.arraycopy(genes, target, genes, target + 1, count - 1 - target);
+        genes[target] = value;
+        for (int r = route + 1; r < offsets.length; r++) {
+            offsets[r]++;
+        }
+
+        routesHash ^= hashOf(low, high, firstOffset, lastOffset);
+        dirtyRoutes[fromRoute] = true;
+        dirtyRoutes[route] = true;
+        return target;
+    }
+
+    public void rehash() {
+        routesHash = hashOf(0, geneCount() - 1, 1, routeCount());
+    }
+
+    // genes[low .. high] 와 offsets[firstOffset .. lastOffset] 부분의 해시
+    private long hashOf(int low, int high, int firstOffset, int lastOffset) {
+        long hash = 0;
+        for (int r = firstOffset; r <= lastOffset; r++) {
+            hash ^= mix(ROUTE_SALT ^ ((long) (r - 1) << 32) ^ offsets[r]);
+        }
+        for (int position = low; position <= high; position++) {
+            hash ^= geneKey(position, genes[position]);
+        }
+        return hash;
+    }
+
+    public int geneCount() {
+        return offsets[offsets.length - 1];
+    }
+
+    public int routeCount() {
+        return offsets.length - 1;
+    }
+
+    public int routeStart(int route) {
+        return offsets[route];
+    }
+
+    public int routeEnd(int route) {
+        return offsets[route + 1];
+    }
+
+    public int routeLength(int route) {
+        return offsets[route + 1] - offsets[route];
+    }
+
+    // position 을 포함하는 경로. 빈 경로는 건너뛰도록 offsets[r] <= position 인 가장 큰 r 을 찾는다.
+    public int routeOf(int position) {
+        int low = 0;
+        int high = routeCount() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (offsets[mid] <= position) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    public boolean isRouteDirty(int route) {
+        return dirtyRoutes[route];
+    }
+
+    public boolean isRouteValid(int route) {
+        return routeValid[route];
+    }
+
+    public double routeScore(int route) {
+        return routeScores[route];
+    }
+
+    public void setRouteScore(int route, boolean valid, double departureTime, double score) {
+        routeValid[route] = valid;
+        departureTimes[route] = departureTime;
+        routeScores[route] = score;
+        dirtyRoutes[route] = false;
+    }
+
+    public int[] route(int route) {
+        return Arrays.copyOfRange(genes, offsets[route], offsets[route + 1]);
+    }
+
+    public int[][] toGenes() {
+        int[][] routes = new int[routeCount()][];
+        for (int i = 0; i < routes.length; i++) {
+            routes[i] = route(i);
+        }
+        return routes;
+    }
+
+    /**
+     * 경로 구성(genes, offsets)이 같은지 비교한다. 적합도와 출발 시간은 보지 않는다.
+     */
+    public boolean sameRoutes(ChromosomeV5 other) {
+        return Arrays.equals(offsets, other.offsets)
+                && Arrays.equals(genes, 0, geneCount(), other.genes, 0, other.geneCount());
+    }
+
+    // 위치마다 난수 테이블을 두는 대신 (위치, 값) 을 섞어서 키를 만든다. 어르신 수 x 최대 길이 크기의 테이블이 필요 없다.
+    private static long geneKey(int position, int value) {
+        return mix(GENE_SALT ^ ((long) position << 32) ^ (value & 0xFFFFFFFFL));
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
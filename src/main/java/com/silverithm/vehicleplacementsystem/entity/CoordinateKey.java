@@ -0,0 +1,47 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import com.silverithm.vehicleplacementsystem.dto.Location;
+
+/**
+ * 위경도를 1e-5 도(약 1m) 격자로 양자화한 뒤 비트를 교차(Z-order, geohash 와 같은 방식)시켜 만든 long 키.
+ * <p>
+ * 위도 25비트, 경도 26비트를 사용하므로 51비트 안에 들어가고, 가까운 좌표는 키의 상위 비트를 공유한다. 어르신/직원 ID 가 아니라 좌표로
+ * 키를 만들기 때문에 주소를 수정하거나 같은 주소로 다시 등록해도 저장된 거리를 그대로 쓸 수 있다.
+ * <p>
+ * 이 격자가 서비스 전체의 좌표 동일성 기준이다. 길찾기 캐시 키({@link CoordinatePairKey}), 도로 거리 테이블, 기록된 거리 행렬,
+ * 정류장 합치기 모두 {@link #latitudeCell(double)} / {@link #longitudeCell(double)} 이 같으면 같은 좌표로 본다.
+ */
+public final class CoordinateKey {
+
+    private static final double PRECISION = 1e5;
+    private static final int BITS = 26;
+
+    private CoordinateKey() {
+    }
+
+    public static long of(Location location) {
+        long latitude = latitudeCell(location.getLatitude());
+        long longitude = longitudeCell(location.getLongitude());
+
+        long key = 0;
+        for (int bit = 0; bit < BITS; bit++) {
+            key |= ((longitude >>> bit) & 1L) << (2 * bit);
+            key |= ((latitude >>> bit) & 1L) << (2 * bit + 1);
+        }
+        return key;
+    }
+
+    /**
+     * @return 위도 -90 을 0 으로 하는 1e-5 도 격자 번호 (0 ~ 18,000,000)
+     */
+    public static int latitudeCell(double latitude) {
+        return (int) Math.round((latitude + 90) * PRECISION);
+    }
+
+    /**
+     * @return 경도 -180 을 0 으로 하는 1e-5 도 격자 번호 (0 ~ 36,000,000)
+     */
+    public static int longitudeCell(double longitude) {
+        return (int) Math.round((longitude + 180) * PRECISION);
+    }
+}
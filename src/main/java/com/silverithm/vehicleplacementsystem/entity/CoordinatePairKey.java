@@ -0,0 +1,41 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 출발/도착 좌표 쌍을 고정 길이 16바이트로 만든 캐시 키.
+ * <p>
+ * 위도, 경도를 {@link CoordinateKey} 와 같은 1e-5 도(약 1m) 격자 번호로 바꿔 출발 위도, 출발 경도, 도착 위도, 도착 경도 순서로
+ * big-endian 4바이트씩 붙인다. 따라서 CoordinateKey 가 같은 두 좌표는 길찾기 캐시에서도 같은 키가 된다.
+ * Spring 캐시 키는 String 이어야 하므로 바이트 하나를 ISO-8859-1 문자 하나로 담고, Redis 에는 같은 charset 의 키 직렬화기로
+ * 16바이트 그대로 저장한다 (기존 "lat:lng:lat:lng" 문자열 키는 40바이트 안팎).
+ */
+public final class CoordinatePairKey {
+
+    public static final int LENGTH = 16;
+
+    private CoordinatePairKey() {
+    }
+
+    public static String of(Location start, Location destination) {
+        return of(start.getLatitude(), start.getLongitude(), destination.getLatitude(), destination.getLongitude());
+    }
+
+    public static String of(double startLatitude, double startLongitude, double destinationLatitude,
+                            double destinationLongitude) {
+        byte[] bytes = new byte[LENGTH];
+        writeInt(bytes, 0, CoordinateKey.latitudeCell(startLatitude));
+        writeInt(bytes, 4, CoordinateKey.longitudeCell(startLongitude));
+        writeInt(bytes, 8, CoordinateKey.latitudeCell(destinationLatitude));
+        writeInt(bytes, 12, CoordinateKey.longitudeCell(destinationLongitude));
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+}
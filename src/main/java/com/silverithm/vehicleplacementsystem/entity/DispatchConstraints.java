@@ -0,0 +1,380 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import com.silverithm.vehicleplacementsystem.dto.CoupleRequestDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * 배차 작업 하나의 제약조건(최대 인원, 앞좌석, 고정 배정, 부부)을 작업 시작 시 int/boolean 배열로 한 번만 만들어 두고 염색체를 검사한다.
+ * 검사 중에는 객체를 만들거나 박싱하지 않는다.
+ * <p>
+ * 모든 검사는 경로 단위다. 어르신은 염색체에 한 번씩만 나오므로 모든 경로가 만족하면 염색체 전체가 만족한다.
+ * <p>
+ * {@link #repair(ChromosomeV5)} 는 교차/돌연변이로 깨진 제약조건을 위치 교환으로 되살린다. 교환만 하므로 경로 길이(offsets)와
+ * 어르신 구성은 그대로다. 단, 여러 명이 타는 정류장({@link ElderlyStops})이 있으면 최대 인원을 넘긴 경로의 정류장을 다른
+ * 경로로 옮기므로 경로 길이가 바뀔 수 있다.
+ */
+public class DispatchConstraints {
+
+    // 어르신 인덱스 -> 앞좌석 필요 여부
+    private final boolean[] frontSeat;
+
+    // 어르신(정류장) 인덱스 -> 태우는 인원, 직원 -> 최대 인원
+    private final int[] passengers;
+    private final int[] capacities;
+    private final boolean weighted;     // 두 명 이상 타는 정류장이 있는지
+
+    // 직원 -> 순번별 고정 어르신 인덱스 (-1 은 고정 없음). 고정 배정이 없는 직원은 null
+    private final int[][] fixedSlots;
+
+    // 어르신 i 의 배우자들: couplePartners[couplePartnerOffsets[i] .. couplePartnerOffsets[i + 1])
+    private final int[] couplePartnerOffsets;
+    private final int[] couplePartners;
+
+    public DispatchConstraints(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys, List<CoupleRequestDTO> couples,
+                               FixedAssignmentsV2 fixedAssignments) {
+        this(employees, elderlys, couples, fixedAssignments, null);
+    }
+
+    /**
+     * @param passengers 어르신 인덱스별 태우는 인원. null 이면 모두 1명
+     */
+    public DispatchConstraints(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys, List<CoupleRequestDTO> couples,
+                               FixedAssignmentsV2 fixedAssignments, int[] passengers) {
+        this.frontSeat = compileFrontSeats(elderlys);
+        this.passengers = passengers != null ? passengers : ones(elderlys.size());
+        this.capacities = employees.stream().mapToInt(EmployeeDTO::maximumCapacity).toArray();
+        this.weighted = Arrays.stream(this.passengers).anyMatch(count -> count > 1);
+        this.fixedSlots = compileFixedSlots(employees.size(), fixedAssignments);
+
+        int[][] pairs = compileCouplePairs(elderlys, couples);
+        this.couplePartnerOffsets = new int[elderlys.size() + 1];
+        for (int[] pair : pairs) {
+            couplePartnerOffsets[pair[0] + 1]++;
+            couplePartnerOffsets[pair[1] + 1]++;
+        }
+        for (int i = 0; i < elderlys.size(); i++) {
+            couplePartnerOffsets[i + 1] += couplePartnerOffsets[i];
+        }
+        this.couplePartners = new int[couplePartnerOffsets[elderlys.size()]];
+        int[] next = couplePartnerOffsets.clone();
+        for (int[] pair : pairs) {
+            couplePartners[next[pair[0]]++] = pair[1];
+            couplePartners[next[pair[1]]++] = pair[0];
+        }
+    }
+
+    public boolean isValid(ChromosomeV5 chromosome) {
+        for (int route = 0; route < chromosome.routeCount(); route++) {
+            if (!isRouteValid(chromosome, route)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isRouteValid(ChromosomeV5 chromosome, int route) {
+        return isCapacityValid(chromosome, route) &&
+                isFrontSeatValid(chromosome, route) &&
+                isFixedAssignmentValid(chromosome, route) &&
+                isCoupleValid(chromosome, route);
+    }
+
+    // 어르신이 한 명씩이면 초기 해부터 경로 길이가 최대 인원 이하이고 교환으로는 바뀌지 않으므로 정류장이 있을 때만 의미가 있다
+    private boolean isCapacityValid(ChromosomeV5 chromosome, int route) {
+        return !weighted || load(chromosome, route) <= capacities[route];
+    }
+
+    public int load(ChromosomeV5 chromosome, int route) {
+        int[] genes = chromosome.getGenes();
+        int load = 0;
+        for (int k = chromosome.routeStart(route); k < chromosome.routeEnd(route); k++) {
+            load += passengers[genes[k]];
+        }
+        return load;
+    }
+
+    public int passengers(int elderly) {
+        return passengers[elderly];
+    }
+
+    public int capacity(int route) {
+        return capacities[route];
+    }
+
+    // 앞좌석이 필요한 어르신은 차량당 한 명까지
+    private boolean isFrontSeatValid(ChromosomeV5 chromosome, int route) {
+        return countFrontSeats(chromosome, route) <= 1;
+    }
+
+    private int countFrontSeats(ChromosomeV5 chromosome, int route) {
+        int[] genes = chromosome.getGenes();
+        int count = 0;
+        for (int k = chromosome.routeStart(route); k < chromosome.routeEnd(route); k++) {
+            if (frontSeat[genes[k]]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean isFixedAssignmentValid(ChromosomeV5 chromosome, int route) {
+        int[] slots = fixedSlots[route];
+        if (slots == null) {
+            return true;
+        }
+        int[] genes = chromosome.getGenes();
+        int routeStart = chromosome.routeStart(route);
+        for (int i = 0; i < chromosome.routeLength(route); i++) {
+            if (genes[routeStart + i] != slots[i] && slots[i] != -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 경로 안의 부부 어르신은 배우자도 같은 경로에 있어야 한다
+    private boolean isCoupleValid(ChromosomeV5 chromosome, int route) {
+        int[] genes = chromosome.getGenes();
+        int routeStart = chromosome.routeStart(route);
+        int routeEnd = chromosome.routeEnd(route);
+        for (int k = routeStart; k < routeEnd; k++) {
+            int elderly = genes[k];
+            for (int p = couplePartnerOffsets[elderly]; p < couplePartnerOffsets[elderly + 1]; p++) {
+                if (!contains(genes, routeStart, routeEnd, couplePartners[p])) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 최대 인원 -> 고정 배정 -> 부부 -> 앞좌석 순서로 깨진 제약조건을 되살린다. 되살릴 수 없는 경우(옮길 자리가 없는 경우 등)는
+     * 그대로 둔다.
+     *
+     * @return 수리 후 모든 제약조건을 만족하면 true
+     */
+    public boolean repair(ChromosomeV5 chromosome) {
+        repairCapacities(chromosome);
+        repairFixedSlots(chromosome);
+        repairCouples(chromosome);
+        repairFrontSeats(chromosome);
+        return isValid(chromosome);
+    }
+
+    // 최대 인원을 넘긴 경로의 뒤쪽 정류장을 자리가 남는 경로 끝으로 옮긴다. 뒤에 고정 자리가 있으면 순번이 밀리므로 거기서 멈춘다
+    private void repairCapacities(ChromosomeV5 chromosome) {
+        if (!weighted) {
+            return;
+        }
+        for (int route = 0; route < chromosome.routeCount(); route++) {
+            int excess = load(chromosome, route) - capacities[route];
+            for (int k = chromosome.routeEnd(route) - 1; k >= chromosome.routeStart(route) && excess > 0; k--) {
+                if (isFixedSlot(chromosome, k)) {
+                    break;
+                }
+                int elderly = chromosome.getGenes()[k];
+                // 경로를 비우면 돌연변이가 고를 자리가 없어진다
+                if (!isMovable(chromosome, k) || chromosome.routeLength(route) == 1) {
+                    continue;
+                }
+                int target = findCapacityTarget(chromosome, route, passengers[elderly]);
+                if (target >= 0) {
+                    chromosome.relocate(k, target, chromosome.routeLength(target));
+                    excess -= passengers[elderly];
+                    // 앞쪽 경로로 옮기면 이 경로의 위치가 밀리므로 끝에서 다시 찾는다
+                    k = chromosome.routeEnd(route);
+                }
+            }
+        }
+    }
+
+    private int findCapacityTarget(ChromosomeV5 chromosome, int excludedRoute, int required) {
+        for (int route = 0; route < chromosome.routeCount(); route++) {
+            if (route != excludedRoute && load(chromosome, route) + required <= capacities[route]) {
+                return route;
+            }
+        }
+        return -1;
+    }
+
+    // 고정 자리에 다른 어르신이 있으면 고정 어르신이 있는 자리와 맞바꾼다
+    private void repairFixedSlots(ChromosomeV5 chromosome) {
+        int[] genes = chromosome.getGenes();
+        for (int route = 0; route < chromosome.routeCount(); route++) {
+            int[] slots = fixedSlots[route];
+            if (slots == null) {
+                continue;
+            }
+            int routeStart = chromosome.routeStart(route);
+            for (int i = 0; i < Math.min(slots.length, chromosome.routeLength(route)); i++) {
+                if (slots[i] == -1 || genes[routeStart + i] == slots[i]) {
+                    continue;
+                }
+                int position = indexOf(genes, 0, chromosome.geneCount(), slots[i]);
+                if (position >= 0) {
+                    chromosome.swapGenes(routeStart + i, position);
+                }
+            }
+        }
+    }
+
+    // 배우자가 다른 경로에 있으면 배우자를 이쪽 경로로 (안 되면 이쪽을 배우자 경로로) 옮긴다
+    private void repairCouples(ChromosomeV5 chromosome) {
+        int[] genes = chromosome.getGenes();
+        for (int elderly = 0; elderly < frontSeat.length; elderly++) {
+            for (int p = couplePartnerOffsets[elderly]; p < couplePartnerOffsets[elderly + 1]; p++) {
+                int partner = couplePartners[p];
+                if (partner < elderly) {
+                    continue;   // 쌍마다 한 번만
+                }
+                int elderlyPosition = indexOf(genes, 0, chromosome.geneCount(), elderly);
+                int partnerPosition = indexOf(genes, 0, chromosome.geneCount(), partner);
+                // 초기 해에서 빠진 어르신은 옮길 수 없다 (고정 배정 경로에 놓였던 부부를 ChromosomeV3 가 덮어쓴 경우)
+                if (elderlyPosition < 0 || partnerPosition < 0) {
+                    continue;
+                }
+                if (chromosome.routeOf(elderlyPosition) == chromosome.routeOf(partnerPosition)) {
+                    continue;
+                }
+                if (!moveNextTo(chromosome, partnerPosition, elderlyPosition)) {
+                    moveNextTo(chromosome, elderlyPosition, partnerPosition);
+                }
+            }
+        }
+    }
+
+    // from 자리의 어르신을 anchor 가 있는 경로로 옮긴다. anchor 바로 뒤, 바로 앞, 나머지 순서로 맞바꿀 자리를 찾는다.
+    private boolean moveNextTo(ChromosomeV5 chromosome, int from, int anchor) {
+        if (isFixedSlot(chromosome, from)) {
+            return false;
+        }
+        int route = chromosome.routeOf(anchor);
+        int routeStart = chromosome.routeStart(route);
+        int routeEnd = chromosome.routeEnd(route);
+        if (anchor + 1 < routeEnd && isMovable(chromosome, anchor + 1)) {
+            chromosome.swapGenes(from, anchor + 1);
+            return true;
+        }
+        if (anchor - 1 >= routeStart && isMovable(chromosome, anchor - 1)) {
+            chromosome.swapGenes(from, anchor - 1);
+            return true;
+        }
+        for (int k = routeStart; k < routeEnd; k++) {
+            if (k != anchor && isMovable(chromosome, k)) {
+                chromosome.swapGenes(from, k);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 앞좌석 어르신이 둘 이상인 경로에서, 앞좌석 어르신이 없는 경로의 일반 어르신과 맞바꾼다
+    private void repairFrontSeats(ChromosomeV5 chromosome) {
+        int[] genes = chromosome.getGenes();
+        for (int route = 0; route < chromosome.routeCount(); route++) {
+            int excess = countFrontSeats(chromosome, route) - 1;
+            for (int k = chromosome.routeStart(route); k < chromosome.routeEnd(route) && excess > 0; k++) {
+                if (!frontSeat[genes[k]] || !isMovable(chromosome, k)) {
+                    continue;
+                }
+                int target = findFrontSeatTarget(chromosome, route);
+                if (target < 0) {
+                    return;
+                }
+                chromosome.swapGenes(k, target);
+                excess--;
+            }
+        }
+    }
+
+    private int findFrontSeatTarget(ChromosomeV5 chromosome, int excludedRoute) {
+        int[] genes = chromosome.getGenes();
+        for (int route = 0; route < chromosome.routeCount(); route++) {
+            if (route == excludedRoute || countFrontSeats(chromosome, route) > 0) {
+                continue;
+            }
+            for (int k = chromosome.routeStart(route); k < chromosome.routeEnd(route); k++) {
+                if (!frontSeat[genes[k]] && isMovable(chromosome, k)) {
+                    return k;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // 고정 자리가 아니고 부부도 아닌 어르신이 있는 자리
+    private boolean isMovable(ChromosomeV5 chromosome, int position) {
+        int elderly = chromosome.getGenes()[position];
+        return couplePartnerOffsets[elderly] == couplePartnerOffsets[elderly + 1] && !isFixedSlot(chromosome, position);
+    }
+
+    private boolean isFixedSlot(ChromosomeV5 chromosome, int position) {
+        int route = chromosome.routeOf(position);
+        int[] slots = fixedSlots[route];
+        int slot = position - chromosome.routeStart(route);
+        return slots != null && slot < slots.length && slots[slot] != -1;
+    }
+
+    private static int indexOf(int[] genes, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
+            if (genes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean contains(int[] genes, int from, int to, int value) {
+        return indexOf(genes, from, to, value) >= 0;
+    }
+
+    private static int[] ones(int size) {
+        int[] ones = new int[size];
+        Arrays.fill(ones, 1);
+        return ones;
+    }
+
+    private static boolean[] compileFrontSeats(List<ElderlyDTO> elderlys) {
+        boolean[] frontSeat = new boolean[elderlys.size()];
+        for (int i = 0; i < elderlys.size(); i++) {
+            frontSeat[i] = elderlys.get(i).requiredFrontSeat();
+        }
+        return frontSeat;
+    }
+
+    private static int[][] compileFixedSlots(int employeeCount, FixedAssignmentsV2 fixedAssignments) {
+        int[][] slots = new int[employeeCount][];
+        for (Entry<Integer, List<Integer>> entry : fixedAssignments.getFixedAssignments().entrySet()) {
+            List<Integer> fixedElderlys = entry.getValue();
+            int[] employeeSlots = new int[fixedElderlys.size()];
+            for (int i = 0; i < employeeSlots.length; i++) {
+                employeeSlots[i] = fixedElderlys.get(i);
+            }
+            slots[entry.getKey()] = employeeSlots;
+        }
+        return slots;
+    }
+
+    private static int[][] compileCouplePairs(List<ElderlyDTO> elderlys, List<CoupleRequestDTO> couples) {
+        // Elderly ID를 인덱스로 매핑하는 맵 생성
+        Map<Long, Integer> elderlyIdToIndex = new HashMap<>();
+        for (int i = 0; i < elderlys.size(); i++) {
+            elderlyIdToIndex.put(elderlys.get(i).id(), i);
+        }
+
+        return couples.stream()
+                .map(couple -> new Integer[]{elderlyIdToIndex.get(couple.elderId1()),
+                        elderlyIdToIndex.get(couple.elderId2())})
+                // 인덱스 변환 실패시 건너뛰기
+                .filter(pair -> pair[0] != null && pair[1] != null)
+                .map(pair -> new int[]{pair[0], pair[1]})
+                .toArray(int[][]::new);
+    }
+}
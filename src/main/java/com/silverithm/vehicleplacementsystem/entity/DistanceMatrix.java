@@ -0,0 +1,119 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Company, Employee_i, Elderly_j 노드를 한 번만 int 슬롯으로 매핑한 밀집 거리 행렬.
+ * <p>
+ * 슬롯 배치: 0 = Company, 1..E = 직원, E+1..E+N = 어르신. 유전 알고리즘의 hot path 에서는 문자열 키 생성이나
+ * HashMap 조회 없이 {@link #get(int, int)} 배열 읽기 한 번으로 간선 값을 얻는다.
+ */
+public class DistanceMatrix {
+
+    public static final int COMPANY = 0;
+
+    private final int[][] matrix;
+    private final Map<Long, Integer> employeeSlots;
+    private final Map<Long, Integer> elderlySlots;
+
+    public DistanceMatrix(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys) {
+        this.employeeSlots = new HashMap<>();
+        this.elderlySlots = new HashMap<>();
+
+        int slot = COMPANY + 1;
+        for (EmployeeDTO employee : employees) {
+            employeeSlots.put(employee.id(), slot++);
+        }
+        for (ElderlyDTO elderly : elderlys) {
+            elderlySlots.put(elderly.id(), slot++);
+        }
+
+        this.matrix = new int[slot][slot];
+    }
+
+    /**
+     * 기존 "Company" / "Employee_{id}" / "Elderly_{id}" 문자열 키 행렬을 밀집 행렬로 변환한다.
+     */
+    public static DistanceMatrix from(Map<String, Map<String, Integer>> nodeMatrix, List<EmployeeDTO> employees,
+                                      List<ElderlyDTO> elderlys) {
+        DistanceMatrix distanceMatrix = new DistanceMatrix(employees, elderlys);
+
+        Map<String, Integer> nodeSlots = new HashMap<>();
+        nodeSlots.put("Company", COMPANY);
+        employees.forEach(employee -> nodeSlots.put("Employee_" + employee.id(),
+                distanceMatrix.employeeSlot(employee.id())));
+        elderlys.forEach(elderly -> nodeSlots.put("Elderly_" + elderly.id(),
+                distanceMatrix.elderlySlot(elderly.id())));
+
+        nodeMatrix.forEach((from, row) -> {
+            Integer fromSlot = nodeSlots.get(from);
+            if (fromSlot == null) {
+                return;
+            }
+            row.forEach((to, value) -> {
+                Integer toSlot = nodeSlots.get(to);
+                if (toSlot != null && value != null) {
+                    distanceMatrix.set(fromSlot, toSlot, value);
+                }
+            });
+        });
+
+        return distanceMatrix;
+    }
+
+    public int get(int from, int to) {
+        return matrix[from][to];
+    }
+
+    public void set(int from, int to, int value) {
+        matrix[from][to] = value;
+    }
+
+    public void setSymmetric(int from, int to, int value) {
+        matrix[from][to] = value;
+        matrix[to][from] = value;
+    }
+
+    public int size() {
+        return matrix.length;
+    }
+
+    public int employeeSlot(Long employeeId) {
+        Integer slot = employeeSlots.get(employeeId);
+        if (slot == null) {
+            throw new IllegalArgumentException("[ERROR] 거리 행렬에 없는 직원입니다. - " + employeeId);
+        }
+        return slot;
+    }
+
+    public int elderlySlot(Long elderlyId) {
+        Integer slot = elderlySlots.get(elderlyId);
+        if (slot == null) {
+            throw new IllegalArgumentException("[ERROR] 거리 행렬에 없는 어르신입니다. - " + elderlyId);
+        }
+        return slot;
+    }
+
+    /**
+     * 리스트 인덱스 → 슬롯 변환 테이블. 운전원 배정 이후처럼 부분 리스트로 유전 알고리즘을 돌릴 때도 작업당 한 번만 만든다.
+     */
+    public int[] employeeSlots(List<EmployeeDTO> employees) {
+        int[] slots = new int[employees.size()];
+        for (int i = 0; i < employees.size(); i++) {
+            slots[i] = employeeSlot(employees.get(i).id());
+        }
+        return slots;
+    }
+
+    public int[] elderlySlots(List<ElderlyDTO> elderlys) {
+        int[] slots = new int[elderlys.size()];
+        for (int i = 0; i < elderlys.size(); i++) {
+            slots[i] = elderlySlot(elderlys.get(i).id());
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,15 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+public enum DistanceMatrixMode {
+    // 카카오 모빌리티 길찾기를 쌍마다 호출 (실패 시 OSRM route 로 대체)
+    KAKAO,
+
+    // OSRM /table 서비스로 타일 단위 일괄 조회
+    OSRM_TABLE,
+
+    // 직선 거리 x 우회 계수로 만든 합성 행렬 (외부 호출 없음, 테스트/벤치마크용)
+    HAVERSINE,
+
+    // distance-matrix.recorded.path 에 기록해 둔 행렬 파일 (외부 호출 없음)
+    RECORDED
+}
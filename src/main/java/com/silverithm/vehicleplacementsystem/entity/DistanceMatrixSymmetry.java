@@ -0,0 +1,9 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+public enum DistanceMatrixSymmetry {
+    // A→B 를 한 번만 조회해 B→A 에도 같은 값을 쓴다 (조회 수 절반)
+    SYMMETRIC,
+
+    // 일방통행/유턴 차이를 반영하도록 A→B, B→A 를 따로 조회한다
+    ASYMMETRIC
+}
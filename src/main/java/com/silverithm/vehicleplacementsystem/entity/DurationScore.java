@@ -33,12 +33,25 @@ public enum DurationScore {
         this.score = score;
     }
 
+    // values() 는 호출마다 배열을 복사하므로 구간을 한 번만 표로 만들어 둔다
+    private static final ScoreTable TABLE = buildTable();
+
     public static double getScore(double distance) {
-        for (DurationScore ds : DurationScore.values()) {
-            if (distance <= ds.maxDuration) {
-                return ds.score;
-            }
+        return TABLE.score(distance);
+    }
+
+    public static ScoreTable table() {
+        return TABLE;
+    }
+
+    private static ScoreTable buildTable() {
+        DurationScore[] values = values();
+        int[] maxValues = new int[values.length];
+        double[] scores = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            maxValues[i] = values[i].maxDuration;
+            scores[i] = values[i].score;
         }
-        return 0; // Fallback if no range matches
+        return ScoreTable.of(maxValues, scores);
     }
-}
\ No newline at end of file
+}
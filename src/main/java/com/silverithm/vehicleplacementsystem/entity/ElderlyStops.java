@@ -0,0 +1,190 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import com.silverithm.vehicleplacementsystem.dto.CoupleRequestDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.FixedAssignmentsDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 같은 곳(부부, 같은 시설 입소자 등)에 사는 어르신을 정류장 하나로 합친 목록.
+ * <p>
+ * 거리 행렬과 유전 알고리즘은 어르신 대신 정류장({@link #stops()})을 다루고, 정류장마다 태우는 인원({@link #passengers()})을
+ * 최대 인원 제약에 반영한다. 배차 결과는 {@link #expand(int[][])} 로 다시 어르신 단위로 펼친다.
+ * <p>
+ * 좌표가 {@link CoordinateKey} 기준으로 같으면(radiusMeters 가 0 이하) 또는 첫 어르신과의 직선 거리가 radiusMeters 이내면 같은
+ * 정류장이다. 다음 경우는 합치지 않는다.
+ * <ul>
+ *     <li>고정 배정이 있는 어르신: 순번이 어르신마다 정해져 있으므로 혼자 정류장이 된다.</li>
+ *     <li>앞좌석이 필요한 어르신: 정류장마다 한 명까지.</li>
+ *     <li>maxPassengers 를 넘는 인원: 한 차에 못 타므로 다음 정류장으로 나눈다.</li>
+ * </ul>
+ * 정류장의 ID 는 첫 어르신의 ID 라서 고정 배정은 그대로 쓰고, 부부는 정류장 사이의 부부로 바꾼다 (같은 정류장이면 뺀다).
+ */
+public final class ElderlyStops {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000.0;
+
+    private final List<ElderlyDTO> stops;
+    private final int[] passengers;
+    private final int[][] members;      // 정류장 -> 원래 어르신 인덱스
+    private final List<CoupleRequestDTO> couples;
+
+    private ElderlyStops(List<ElderlyDTO> stops, int[] passengers, int[][] members, List<CoupleRequestDTO> couples) {
+        this.stops = stops;
+        this.passengers = passengers;
+        this.members = members;
+        this.couples = couples;
+    }
+
+    /**
+     * 합치지 않고 어르신 한 명을 정류장 하나로 둔다.
+     */
+    public static ElderlyStops of(List<ElderlyDTO> elderlys, List<CoupleRequestDTO> couples) {
+        int[] passengers = new int[elderlys.size()];
+        int[][] members = new int[elderlys.size()][];
+        for (int i = 0; i < elderlys.size(); i++) {
+            passengers[i] = 1;
+            members[i] = new int[]{i};
+        }
+        return new ElderlyStops(elderlys, passengers, members, couples);
+    }
+
+    public static ElderlyStops collapse(List<ElderlyDTO> elderlys, List<CoupleRequestDTO> couples,
+                                        List<FixedAssignmentsDTO> fixedAssignments, int maxPassengers,
+                                        double radiusMeters) {
+        Set<Long> fixedElderlyIds = new HashSet<>();
+        if (fixedAssignments != null) {
+            fixedAssignments.forEach(fixedAssignment -> fixedElderlyIds.add((long) fixedAssignment.elderly_id()));
+        }
+
+        List<List<Integer>> groups = new ArrayList<>();
+        Map<Long, List<Integer>> groupsByKey = new HashMap<>();     // 좌표 키 -> 그 좌표의 정류장 번호들
+        List<Integer> mergeableGroups = new ArrayList<>();          // 고정 배정이 아닌 정류장 번호 (만든 순서)
+        for (int i = 0; i < elderlys.size(); i++) {
+            ElderlyDTO elderly = elderlys.get(i);
+            int group = fixedElderlyIds.contains(elderly.id()) ? -1
+                    : findGroup(elderlys, groups, groupsByKey, mergeableGroups, elderly, maxPassengers,
+                            radiusMeters);
+            if (group < 0) {
+                group = groups.size();
+                groups.add(new ArrayList<>());
+                if (!fixedElderlyIds.contains(elderly.id())) {
+                    groupsByKey.computeIfAbsent(CoordinateKey.of(elderly.homeAddress()), key -> new ArrayList<>())
+                            .add(group);
+                    mergeableGroups.add(group);
+                }
+            }
+            groups.get(group).add(i);
+        }
+
+        List<ElderlyDTO> stops = new ArrayList<>();
+        int[] passengers = new int[groups.size()];
+        int[][] members = new int[groups.size()][];
+        Map<Long, Long> stopIds = new HashMap<>();      // 어르신 ID -> 정류장 ID
+        for (int g = 0; g < groups.size(); g++) {
+            List<Integer> group = groups.get(g);
+            ElderlyDTO first = elderlys.get(group.get(0));
+            boolean requiredFrontSeat = group.stream().anyMatch(i -> elderlys.get(i).requiredFrontSeat());
+            stops.add(new ElderlyDTO(first.id(), first.name(), first.homeAddress(), requiredFrontSeat,
+                    first.homeAddressName()));
+            passengers[g] = group.size();
+            members[g] = group.stream().mapToInt(Integer::intValue).toArray();
+            group.forEach(i -> stopIds.put(elderlys.get(i).id(), first.id()));
+        }
+
+        return new ElderlyStops(stops, passengers, members, collapseCouples(couples, stopIds));
+    }
+
+    public List<ElderlyDTO> stops() {
+        return stops;
+    }
+
+    public int[] passengers() {
+        return passengers;
+    }
+
+    public List<CoupleRequestDTO> couples() {
+        return couples;
+    }
+
+    public int passengerCount() {
+        return Arrays.stream(passengers).sum();
+    }
+
+    public boolean isCollapsed() {
+        return stops.size() < passengerCount();
+    }
+
+    /**
+     * 정류장 인덱스로 된 경로를 원래 어르신 인덱스로 펼친다. 같은 정류장의 어르신은 원래 순서대로 이어 붙인다.
+     */
+    public int[][] expand(int[][] routes) {
+        int[][] expanded = new int[routes.length][];
+        for (int route = 0; route < routes.length; route++) {
+            int length = 0;
+            for (int stop : routes[route]) {
+                length += members[stop].length;
+            }
+            expanded[route] = new int[length];
+            int k = 0;
+            for (int stop : routes[route]) {
+                for (int elderly : members[stop]) {
+                    expanded[route][k++] = elderly;
+                }
+            }
+        }
+        return expanded;
+    }
+
+    private static int findGroup(List<ElderlyDTO> elderlys, List<List<Integer>> groups,
+                                 Map<Long, List<Integer>> groupsByKey, List<Integer> mergeableGroups,
+                                 ElderlyDTO elderly, int maxPassengers, double radiusMeters) {
+        List<Integer> candidates = radiusMeters > 0 ? mergeableGroups
+                : groupsByKey.getOrDefault(CoordinateKey.of(elderly.homeAddress()), List.of());
+        for (int group : candidates) {
+            List<Integer> groupMembers = groups.get(group);
+            ElderlyDTO first = elderlys.get(groupMembers.get(0));
+            if (groupMembers.size() >= maxPassengers) {
+                continue;
+            }
+            if (elderly.requiredFrontSeat()
+                    && groupMembers.stream().anyMatch(i -> elderlys.get(i).requiredFrontSeat())) {
+                continue;
+            }
+            if (radiusMeters > 0 && meters(first.homeAddress(), elderly.homeAddress()) > radiusMeters) {
+                continue;
+            }
+            return group;
+        }
+        return -1;
+    }
+
+    private static List<CoupleRequestDTO> collapseCouples(List<CoupleRequestDTO> couples, Map<Long, Long> stopIds) {
+        Set<CoupleRequestDTO> collapsed = new LinkedHashSet<>();
+        for (CoupleRequestDTO couple : couples) {
+            Long stop1 = stopIds.getOrDefault(couple.elderId1(), couple.elderId1());
+            Long stop2 = stopIds.getOrDefault(couple.elderId2(), couple.elderId2());
+            if (!stop1.equals(stop2)) {
+                collapsed.add(new CoupleRequestDTO(stop1, stop2));
+            }
+        }
+        return new ArrayList<>(collapsed);
+    }
+
+    private static double meters(Location from, Location to) {
+        double latitude1 = Math.toRadians(from.getLatitude());
+        double latitude2 = Math.toRadians(to.getLatitude());
+        double sinLatitude = Math.sin((latitude2 - latitude1) / 2);
+        double sinLongitude = Math.sin(Math.toRadians(to.getLongitude() - from.getLongitude()) / 2);
+        double h = sinLatitude * sinLatitude + Math.cos(latitude1) * Math.cos(latitude2) * sinLongitude * sinLongitude;
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(h)));
+    }
+}
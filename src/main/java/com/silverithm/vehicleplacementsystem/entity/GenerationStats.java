@@ -0,0 +1,44 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import java.util.List;
+
+/**
+ * 유전 알고리즘 한 세대의 요약 (평가 직후 기준).
+ *
+ * @param jobId          배차 작업
+ * @param generation     세대 번호 (0 = 초기 해)
+ * @param bestFitness    최고 적합도
+ * @param meanFitness    평균 적합도
+ * @param worstFitness   최저 적합도
+ * @param diversity      최고 개체와 표본 개체들이 다른 유전자 위치 비율의 평균 (0 = 모두 같음)
+ * @param feasibleRatio  제약조건을 만족하는(적합도 &gt; 0) 개체 비율
+ * @param populationSize 개체 수
+ * @param timestamp      기록 시각 (epoch ms)
+ */
+public record GenerationStats(String jobId, int generation, double bestFitness, double meanFitness,
+                              double worstFitness, double diversity, double feasibleRatio, int populationSize,
+                              long timestamp) {
+
+    /**
+     * 섬 모델에서 같은 세대의 섬별 요약을 하나로 합친다. 평균과 비율은 개체 수로 가중 평균한다.
+     */
+    public static GenerationStats merge(String jobId, int generation, List<GenerationStats> islands) {
+        double best = 0.0;
+        double worst = Double.MAX_VALUE;
+        double fitnessSum = 0.0;
+        double diversitySum = 0.0;
+        double feasibleSum = 0.0;
+        int populationSize = 0;
+        for (GenerationStats island : islands) {
+            best = Math.max(best, island.bestFitness());
+            worst = Math.min(worst, island.worstFitness());
+            fitnessSum += island.meanFitness() * island.populationSize();
+            diversitySum += island.diversity() * island.populationSize();
+            feasibleSum += island.feasibleRatio() * island.populationSize();
+            populationSize += island.populationSize();
+        }
+        return new GenerationStats(jobId, generation, best, fitnessSum / populationSize, worst,
+                diversitySum / populationSize, feasibleSum / populationSize, populationSize,
+                System.currentTimeMillis());
+    }
+}
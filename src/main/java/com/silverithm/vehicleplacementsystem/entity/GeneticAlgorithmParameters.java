@@ -0,0 +1,29 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+/**
+ * 작업 하나에 쓰는 유전 알고리즘 크기와 확률.
+ *
+ * @param populationSize 세대당 개체 수
+ * @param maxGenerations 최대 세대 수
+ * @param crossoverRate  교차 확률
+ * @param mutationRate   돌연변이 확률
+ */
+public record GeneticAlgorithmParameters(int populationSize, int maxGenerations, double crossoverRate,
+                                         double mutationRate) {
+
+    // 자동 조정 이전의 고정값
+    public static final GeneticAlgorithmParameters DEFAULT = new GeneticAlgorithmParameters(20000, 300, 0.7, 0.9);
+
+    public GeneticAlgorithmParameters {
+        if (populationSize < 2) {
+            throw new IllegalArgumentException("[ERROR] 개체 수는 2 이상이어야 합니다. - " + populationSize);
+        }
+        if (maxGenerations < 1) {
+            throw new IllegalArgumentException("[ERROR] 세대 수는 1 이상이어야 합니다. - " + maxGenerations);
+        }
+        if (crossoverRate < 0 || crossoverRate > 1 || mutationRate < 0 || mutationRate > 1) {
+            throw new IllegalArgumentException(
+                    "[ERROR] 교차/돌연변이 확률은 0 과 1 사이여야 합니다. - " + crossoverRate + ", " + mutationRate);
+        }
+    }
+}
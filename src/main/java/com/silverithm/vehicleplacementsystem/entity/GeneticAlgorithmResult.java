@@ -0,0 +1,23 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import java.util.List;
+
+/**
+ * @param chromosomes       마지막 세대 (적합도 내림차순)
+ * @param stopReason        종료 이유
+ * @param generations       진행한 세대 수
+ * @param elapsedMillis     run 소요 시간
+ * @param producedOffspring 교차/돌연변이로 만든 자손 수
+ * @param feasibleOffspring 그중 수리 후 제약조건을 만족한 자손 수
+ */
+public record GeneticAlgorithmResult(List<ChromosomeV5> chromosomes, StopReason stopReason, int generations,
+                                     long elapsedMillis, long producedOffspring, long feasibleOffspring) {
+
+    public ChromosomeV5 best() {
+        return chromosomes.get(0);
+    }
+
+    public double feasibleOffspringRatio() {
+        return producedOffspring == 0 ? 1.0 : (double) feasibleOffspring / producedOffspring;
+    }
+}
@@ -0,0 +1,30 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+/**
+ * 유전 알고리즘 세대마다 상위 개체에 적용하는 지역 탐색(2-opt, relocate) 설정.
+ *
+ * @param eliteFraction    지역 탐색을 적용할 상위 개체 비율. 0 이면 지역 탐색을 하지 않는다.
+ * @param maxPasses        개체 하나에 대해 개선이 없을 때까지 반복하는 최대 횟수
+ * @param timeBudgetMillis 세대당 지역 탐색 시간 한도(ms). 0 이하면 제한 없음. 한도에 걸리면 결과가 실행 속도에 따라 달라진다.
+ */
+public record LocalSearchParameters(double eliteFraction, int maxPasses, long timeBudgetMillis) {
+
+    public static final LocalSearchParameters DISABLED = new LocalSearchParameters(0, 0, 0);
+
+    public LocalSearchParameters {
+        if (eliteFraction < 0 || eliteFraction > 1) {
+            throw new IllegalArgumentException("[ERROR] 지역 탐색 비율은 0 과 1 사이여야 합니다. - " + eliteFraction);
+        }
+        if (maxPasses < 0) {
+            throw new IllegalArgumentException("[ERROR] 지역 탐색 반복 횟수는 0 이상이어야 합니다. - " + maxPasses);
+        }
+    }
+
+    public boolean enabled() {
+        return eliteFraction > 0 && maxPasses > 0;
+    }
+
+    public int eliteCount(int populationCount) {
+        return enabled() ? Math.max(1, (int) (populationCount * eliteFraction)) : 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 좌표 쌍(출발 → 도착) 사이의 도로 거리/시간. 키는 {@link CoordinateKey} 로 만든다.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_road_distance_start_destination",
+        columnNames = {"start_key", "destination_key"}))
+@NoArgsConstructor
+@Getter
+public class RoadDistance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private long startKey;
+    private long destinationKey;
+
+    private int totalDistance;
+    private int totalTime;
+
+    private LocalDateTime updatedAt;
+
+    public RoadDistance(long startKey, long destinationKey, int totalDistance, int totalTime,
+                        LocalDateTime updatedAt) {
+        this.startKey = startKey;
+        this.destinationKey = destinationKey;
+        this.totalDistance = totalDistance;
+        this.totalTime = totalTime;
+        this.updatedAt = updatedAt;
+    }
+}
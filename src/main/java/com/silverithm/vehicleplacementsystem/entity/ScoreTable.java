@@ -0,0 +1,135 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import java.util.Arrays;
+
+/**
+ * 거리/시간 -> 근접도 점수 곡선. "값이 maxValues[i] 이하이면 scores[i]" 구간들을 작업 시작 시 한 번 primitive 배열로 만들어 두고,
+ * 간선마다 배열 조회 한 번으로 점수를 찾는다.
+ * <p>
+ * 구간 경계가 모두 step(경계들의 최대공약수)의 배수이므로 ceil(value / step) 번째 칸이 곧 value 가 속한 구간이다. 값을 0 ~ 마지막
+ * 칸으로 잘라(min/max) 인덱스로 쓰므로 구간 수만큼 비교하지 않는다. 칸 수가 {@link #MAX_BUCKETS} 를 넘는 곡선은 경계 배열에서
+ * 이진 탐색한다.
+ * <p>
+ * 마지막 유한 경계를 넘는 값은 Integer.MAX_VALUE 경계의 점수를 (없으면 0점을) 받는다.
+ */
+public final class ScoreTable {
+
+    static final int MAX_BUCKETS = 1 << 16;
+
+    private final int[] maxValues;
+    private final double[] scores;
+    private final double overflowScore;
+    private final int step;
+    private final double[] buckets;     // null 이면 이진 탐색
+
+    private ScoreTable(int[] maxValues, double[] scores) {
+        this.maxValues = maxValues;
+        this.scores = scores;
+
+        int finiteCount = maxValues.length;
+        double overflowScore = 0;
+        if (finiteCount > 0 && maxValues[finiteCount - 1] == Integer.MAX_VALUE) {
+            overflowScore = scores[finiteCount - 1];
+            finiteCount--;
+        }
+        this.overflowScore = overflowScore;
+
+        int step = 0;
+        for (int i = 0; i < finiteCount; i++) {
+            step = gcd(step, Math.abs(maxValues[i]));
+        }
+        this.step = Math.max(step, 1);
+
+        int lastFinite = finiteCount == 0 ? 0 : maxValues[finiteCount - 1];
+        if (maxValues.length > 0 && maxValues[0] >= 0 && lastFinite / this.step < MAX_BUCKETS) {
+            this.buckets = buildBuckets(lastFinite / this.step + 1);
+        } else {
+            this.buckets = null;
+        }
+    }
+
+    /**
+     * @param maxValues 구간 상한 (오름차순, 중복 없음). Integer.MAX_VALUE 는 마지막에만 올 수 있다.
+     * @param scores    구간별 점수
+     */
+    public static ScoreTable of(int[] maxValues, double[] scores) {
+        if (maxValues.length != scores.length) {
+            throw new IllegalArgumentException("maxValues and scores must have the same length: "
+                    + maxValues.length + " != " + scores.length);
+        }
+        for (int i = 1; i < maxValues.length; i++) {
+            if (maxValues[i] <= maxValues[i - 1]) {
+                throw new IllegalArgumentException("maxValues must be strictly increasing: " + Arrays.toString(maxValues));
+            }
+        }
+        return new ScoreTable(maxValues.clone(), scores.clone());
+    }
+
+    /**
+     * "상한:점수" 를 쉼표로 이은 문자열로 곡선을 만든다. 상한 자리에 MAX 를 쓰면 Integer.MAX_VALUE 이다.
+     * <p>
+     * 예) {@code 0:10000,100:950,200:900,MAX:0}
+     */
+    public static ScoreTable parse(String curve) {
+        String[] entries = curve.trim().split("\\s*,\\s*");
+        int[] maxValues = new int[entries.length];
+        double[] scores = new double[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            String[] entry = entries[i].split("\\s*:\\s*");
+            if (entry.length != 2) {
+                throw new IllegalArgumentException("invalid score curve entry: " + entries[i]);
+            }
+            try {
+                maxValues[i] = entry[0].equalsIgnoreCase("MAX") ? Integer.MAX_VALUE : Integer.parseInt(entry[0]);
+                scores[i] = Double.parseDouble(entry[1]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid score curve entry: " + entries[i], e);
+            }
+        }
+        return of(maxValues, scores);
+    }
+
+    public double score(int value) {
+        if (buckets != null) {
+            long bucket = Math.min(Math.max(((long) value + step - 1) / step, 0), buckets.length - 1);
+            return buckets[(int) bucket];
+        }
+        return searchScore(value);
+    }
+
+    // 정수가 아닌 값은 올림해도 "상한 이하" 판정이 같다
+    public double score(double value) {
+        return value <= Integer.MAX_VALUE ? score((int) Math.ceil(value)) : 0;
+    }
+
+    // 마지막 칸은 마지막 유한 경계를 넘는 값
+    private double[] buildBuckets(int finiteBuckets) {
+        double[] buckets = new double[finiteBuckets + 1];
+        int interval = 0;
+        for (int bucket = 0; bucket < finiteBuckets; bucket++) {
+            while (maxValues[interval] < bucket * step) {
+                interval++;
+            }
+            buckets[bucket] = scores[interval];
+        }
+        buckets[finiteBuckets] = overflowScore;
+        return buckets;
+    }
+
+    private double searchScore(int value) {
+        int index = Arrays.binarySearch(maxValues, value);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return index < maxValues.length ? scores[index] : 0;
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
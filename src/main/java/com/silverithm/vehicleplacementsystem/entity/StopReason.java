@@ -0,0 +1,15 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+public enum StopReason {
+    // 최대 세대 수까지 모두 진행
+    MAX_GENERATIONS,
+
+    // 정해진 세대 동안 최고 적합도가 오르지 않음
+    STAGNATION,
+
+    // 목표 적합도 도달
+    TARGET_FITNESS,
+
+    // 작업별 시간 예산 소진
+    TIME_BUDGET
+}
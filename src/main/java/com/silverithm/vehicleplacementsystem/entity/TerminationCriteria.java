@@ -0,0 +1,44 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+/**
+ * 유전 알고리즘 종료 조건. 0 이하인 값은 해당 조건을 쓰지 않는다는 뜻이다 (maxGenerations 제외).
+ *
+ * @param maxGenerations        최대 세대 수
+ * @param stagnationGenerations 최고 적합도가 이 세대 수 동안 오르지 않으면 종료
+ * @param targetFitness         최고 적합도가 이 값 이상이면 종료
+ * @param timeBudgetMillis      run 시작부터 이 시간(ms)이 지나면 종료
+ */
+public record TerminationCriteria(int maxGenerations, int stagnationGenerations, double targetFitness,
+                                  long timeBudgetMillis) {
+
+    public TerminationCriteria {
+        if (maxGenerations <= 0) {
+            throw new IllegalArgumentException("maxGenerations must be positive: " + maxGenerations);
+        }
+    }
+
+    // 항상 maxGenerations 세대를 모두 진행
+    public static TerminationCriteria generations(int maxGenerations) {
+        return new TerminationCriteria(maxGenerations, 0, 0, 0);
+    }
+
+    /**
+     * 세대 수 외의 조건으로 멈춰야 하면 그 이유를, 아니면 null 을 돌려준다.
+     *
+     * @param bestFitness         지금까지의 최고 적합도
+     * @param stagnantGenerations 최고 적합도가 마지막으로 오른 뒤 지난 세대 수
+     * @param elapsedMillis       run 시작부터 지난 시간
+     */
+    public StopReason checkEarlyStop(double bestFitness, int stagnantGenerations, long elapsedMillis) {
+        if (targetFitness > 0 && bestFitness >= targetFitness) {
+            return StopReason.TARGET_FITNESS;
+        }
+        if (stagnationGenerations > 0 && stagnantGenerations >= stagnationGenerations) {
+            return StopReason.STAGNATION;
+        }
+        if (timeBudgetMillis > 0 && elapsedMillis >= timeBudgetMillis) {
+            return StopReason.TIME_BUDGET;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.silverithm.vehicleplacementsystem.repository;
+
+import com.silverithm.vehicleplacementsystem.entity.RoadDistance;
+import com.silverithm.vehicleplacementsystem.repository.querydsl.RoadDistanceRepositoryCustom;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RoadDistanceRepository extends JpaRepository<RoadDistance, Long>, RoadDistanceRepositoryCustom {
+}
@@ -0,0 +1,18 @@
+package com.silverithm.vehicleplacementsystem.repository.querydsl;
+
+import com.silverithm.vehicleplacementsystem.entity.RoadDistance;
+import java.util.Collection;
+import java.util.List;
+
+public interface RoadDistanceRepositoryCustom {
+
+    /**
+     * 출발/도착 키가 모두 coordinateKeys 안에 있는 행을 한 번의 IN 조회로 가져온다. 배차 작업 하나의 거리 행렬 전체가 한 쿼리로 나온다.
+     */
+    List<RoadDistance> findAllBetween(Collection<Long> coordinateKeys);
+
+    /**
+     * JDBC batch insert. 다른 작업이 먼저 넣은 좌표 쌍은 건너뛴다.
+     */
+    void insertAll(List<RoadDistance> roadDistances);
+}
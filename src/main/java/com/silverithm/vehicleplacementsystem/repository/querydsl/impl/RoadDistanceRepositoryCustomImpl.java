@@ -0,0 +1,62 @@
+package com.silverithm.vehicleplacementsystem.repository.querydsl.impl;
+
+import static com.silverithm.vehicleplacementsystem.entity.QRoadDistance.roadDistance;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.silverithm.vehicleplacementsystem.entity.RoadDistance;
+import com.silverithm.vehicleplacementsystem.repository.querydsl.RoadDistanceRepositoryCustom;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@Slf4j
+@RequiredArgsConstructor
+public class RoadDistanceRepositoryCustomImpl implements RoadDistanceRepositoryCustom {
+
+    // MySQL 에서는 rewriteBatchedStatements=true 일 때 한 번의 multi-row INSERT 로 전송된다
+    private static final String INSERT_SQL = "INSERT INTO road_distance "
+            + "(start_key, destination_key, total_distance, total_time, updated_at) VALUES (?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 1000;
+
+    private final JPAQueryFactory jpaQueryFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<RoadDistance> findAllBetween(Collection<Long> coordinateKeys) {
+        if (coordinateKeys.isEmpty()) {
+            return List.of();
+        }
+
+        return jpaQueryFactory.selectFrom(roadDistance)
+                .where(roadDistance.startKey.in(coordinateKeys))
+                .where(roadDistance.destinationKey.in(coordinateKeys))
+                .fetch();
+    }
+
+    @Override
+    public void insertAll(List<RoadDistance> roadDistances) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, roadDistances, BATCH_SIZE, (ps, road) -> {
+                ps.setLong(1, road.getStartKey());
+                ps.setLong(2, road.getDestinationKey());
+                ps.setInt(3, road.getTotalDistance());
+                ps.setInt(4, road.getTotalTime());
+                ps.setTimestamp(5, Timestamp.valueOf(road.getUpdatedAt()));
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 돈 다른 배차 작업이 같은 쌍을 먼저 넣은 경우. 한 건씩 다시 넣으며 중복만 건너뛴다
+            log.info("road_distance batch insert 중 중복 발생, 건별로 재시도 - {}", e.getMessage());
+            for (RoadDistance road : roadDistances) {
+                try {
+                    jdbcTemplate.update(INSERT_SQL, road.getStartKey(), road.getDestinationKey(),
+                            road.getTotalDistance(), road.getTotalTime(), Timestamp.valueOf(road.getUpdatedAt()));
+                } catch (DataIntegrityViolationException ignored) {
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmParameters;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmResult;
+import com.silverithm.vehicleplacementsystem.entity.LocalSearchParameters;
+import com.silverithm.vehicleplacementsystem.entity.ScoreTable;
+import com.silverithm.vehicleplacementsystem.entity.TerminationCriteria;
+import java.util.random.RandomGenerator.SplittableGenerator;
+
+/**
+ * 배차용 유전 알고리즘. 단일 집단({@link GeneticAlgorithmV6})과 섬 모델({@link IslandGeneticAlgorithm})을 같은 순서로
+ * 설정하고 실행할 수 있게 한다.
+ * <p>
+ * initialize 를 먼저 호출한 뒤 나머지 설정을 하고 run 한다.
+ */
+public interface DispatchGeneticAlgorithm {
+
+    void initialize(DistanceMatrix distanceMatrix, DispatchType dispatchType, String userName,
+                    SplittableGenerator random);
+
+    void setParameters(GeneticAlgorithmParameters parameters);
+
+    void setTerminationCriteria(TerminationCriteria terminationCriteria);
+
+    void setTelemetry(GeneticAlgorithmTelemetry telemetry);
+
+    void setScoreTable(ScoreTable scoreTable);
+
+    void setLocalSearchParameters(LocalSearchParameters localSearchParameters);
+
+    GeneticAlgorithmResult run(String jobId) throws Exception;
+}
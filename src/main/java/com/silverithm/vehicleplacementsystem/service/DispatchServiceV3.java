@@ -13,6 +13,7 @@ import com.silverithm.vehicleplacementsystem.dto.OsrmApiResponseDTO;
 import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
 import com.silverithm.vehicleplacementsystem.entity.ChromosomeV3;
 import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
 import com.silverithm.vehicleplacementsystem.repository.LinkDistanceRepository;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -134,7 +135,8 @@ public class DispatchServiceV3 {
                 couples,
                 fixedAssignments,
                 sseService);
-        geneticAlgorithm.initialize(distanceMatrix, requestDispatchDTO.dispatchType(), requestDispatchDTO.userName());
+        geneticAlgorithm.initialize(DistanceMatrix.from(distanceMatrix, employees, elderlys),
+                requestDispatchDTO.dispatchType(), requestDispatchDTO.userName());
 
         List<ChromosomeV3> chromosomes = geneticAlgorithm.run(jobId);
         // 최적의 솔루션 추출
@@ -480,8 +482,8 @@ public class DispatchServiceV3 {
                         sseService
                 );
 
-                geneticAlgorithm.initialize(distanceMatrix, requestDispatchDTO.dispatchType(),
-                        requestDispatchDTO.userName());
+                geneticAlgorithm.initialize(DistanceMatrix.from(distanceMatrix, employees, elderlys),
+                        requestDispatchDTO.dispatchType(), requestDispatchDTO.userName());
 
                 List<ChromosomeV3> chromosomes = geneticAlgorithm.run(jobId);
                 ChromosomeV3 bestChromosome = chromosomes.get(0);
@@ -7,14 +7,23 @@ import com.silverithm.vehicleplacementsystem.dto.CoupleRequestDTO;
 import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
 import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
 import com.silverithm.vehicleplacementsystem.dto.FixedAssignmentsDTO;
-import com.silverithm.vehicleplacementsystem.dto.KakaoMapApiResponseDTO;
-import com.silverithm.vehicleplacementsystem.dto.Location;
-import com.silverithm.vehicleplacementsystem.dto.OsrmApiResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.GeneticAlgorithmOptionsDTO;
 import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
 import com.silverithm.vehicleplacementsystem.entity.ChromosomeV3;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV5;
 import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrixMode;
+import com.silverithm.vehicleplacementsystem.entity.ElderlyStops;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmParameters;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmResult;
+import com.silverithm.vehicleplacementsystem.entity.LocalSearchParameters;
+import com.silverithm.vehicleplacementsystem.entity.ScoreTable;
+import com.silverithm.vehicleplacementsystem.entity.TerminationCriteria;
 import com.silverithm.vehicleplacementsystem.repository.LinkDistanceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -23,8 +32,10 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -41,25 +52,84 @@ public class DispatchServiceV6 {
     private final LinkDistanceRepository linkDistanceRepository;
     private final SSEService sseService;
     private final DispatchHistoryService dispatchHistoryService;
-    private final OsrmService osrmService;
-    private final KakaoMapApiService kakaoMapApiService;
+    private final DistanceMatrixProvider distanceMatrixProvider;
+    private final Executor geneticAlgorithmExecutor;
+    private final GeneticAlgorithmSizingPolicy geneticAlgorithmSizingPolicy;
+    private final MeterRegistry meterRegistry;
+    private final GeneticAlgorithmTelemetry geneticAlgorithmTelemetry;
+    private final ScoreCurveRegistry scoreCurveRegistry;
+    private final GeneticAlgorithmRandomFactory geneticAlgorithmRandomFactory;
 
     private String key;
     private String kakaoKey;
+    private Long geneticAlgorithmSeed;
+    private DistanceMatrixMode distanceMatrixMode;
+    private int stagnationGenerations;
+    private double targetFitness;
+    private long timeBudgetMillis;
+    private int configuredIslandCount;
+    private int minIslandPopulation;
+    private int migrationInterval;
+    private double migrationRate;
+    private LocalSearchParameters localSearchParameters;
+    private boolean collapseElderlyStops;
+    private double elderlyStopRadiusMeters;
 
 
     public DispatchServiceV6(@Value("${tmap.key}") String key, @Value("${kakao.key}") String kakaoKey,
+                             @Value("${genetic-algorithm.seed:#{null}}") Long geneticAlgorithmSeed,
+                             @Value("${distance-matrix.mode:KAKAO}") DistanceMatrixMode distanceMatrixMode,
+                             @Value("${genetic-algorithm.stagnation-generations:50}") int stagnationGenerations,
+                             @Value("${genetic-algorithm.target-fitness:0}") double targetFitness,
+                             @Value("${genetic-algorithm.time-budget-ms:0}") long timeBudgetMillis,
+                             @Value("${genetic-algorithm.islands:0}") int configuredIslandCount,
+                             @Value("${genetic-algorithm.min-island-population:1000}") int minIslandPopulation,
+                             @Value("${genetic-algorithm.migration-interval:10}") int migrationInterval,
+                             @Value("${genetic-algorithm.migration-rate:0.02}") double migrationRate,
+                             @Value("${genetic-algorithm.local-search.elite-fraction:0}") double localSearchEliteFraction,
+                             @Value("${genetic-algorithm.local-search.max-passes:2}") int localSearchMaxPasses,
+                             @Value("${genetic-algorithm.local-search.time-budget-ms:50}") long localSearchTimeBudgetMillis,
+                             @Value("${elderly-stops.collapse:true}") boolean collapseElderlyStops,
+                             @Value("${elderly-stops.radius-meters:0}") double elderlyStopRadiusMeters,
                              LinkDistanceRepository linkDistanceRepository,
                              SSEService sseService, DispatchHistoryService dispatchHistoryService,
-                             OsrmService osrmService, KakaoMapApiService kakaoMapApiService
+                             List<DistanceMatrixProvider> distanceMatrixProviders,
+                             @Qualifier("geneticAlgorithmExecutor") Executor geneticAlgorithmExecutor,
+                             GeneticAlgorithmSizingPolicy geneticAlgorithmSizingPolicy,
+                             MeterRegistry meterRegistry,
+                             GeneticAlgorithmTelemetry geneticAlgorithmTelemetry,
+                             ScoreCurveRegistry scoreCurveRegistry,
+                             GeneticAlgorithmRandomFactory geneticAlgorithmRandomFactory
     ) {
         this.linkDistanceRepository = linkDistanceRepository;
         this.sseService = sseService;
         this.key = key;
         this.kakaoKey = kakaoKey;
+        this.geneticAlgorithmSeed = geneticAlgorithmSeed;
+        this.distanceMatrixMode = distanceMatrixMode;
+        this.stagnationGenerations = stagnationGenerations;
+        this.targetFitness = targetFitness;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.configuredIslandCount = configuredIslandCount;
+        this.minIslandPopulation = minIslandPopulation;
+        this.migrationInterval = migrationInterval;
+        this.migrationRate = migrationRate;
+        this.localSearchParameters = new LocalSearchParameters(localSearchEliteFraction, localSearchMaxPasses,
+                localSearchTimeBudgetMillis);
+        this.collapseElderlyStops = collapseElderlyStops;
+        this.elderlyStopRadiusMeters = elderlyStopRadiusMeters;
+        this.geneticAlgorithmSizingPolicy = geneticAlgorithmSizingPolicy;
+        this.meterRegistry = meterRegistry;
+        this.geneticAlgorithmTelemetry = geneticAlgorithmTelemetry;
+        this.scoreCurveRegistry = scoreCurveRegistry;
+        this.geneticAlgorithmRandomFactory = geneticAlgorithmRandomFactory;
         this.dispatchHistoryService = dispatchHistoryService;
-        this.osrmService = osrmService;
-        this.kakaoMapApiService = kakaoMapApiService;
+        this.distanceMatrixProvider = distanceMatrixProviders.stream()
+                .filter(provider -> provider.mode() == distanceMatrixMode)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "[ERROR] distance-matrix.mode 에 맞는 거리 행렬 구현이 없습니다. - " + distanceMatrixMode));
+        this.geneticAlgorithmExecutor = geneticAlgorithmExecutor;
     }
 
 
@@ -74,32 +144,77 @@ public class DispatchServiceV6 {
 
         sseService.notify(jobId, 5);
 
+        // 같은 곳에 사는 어르신을 정류장 하나로 합친다. 거리 행렬과 유전 알고리즘은 정류장 단위로 돈다
+        ElderlyStops elderlyStops = createElderlyStops(employees, elderlys, couples, fixedAssignments, jobId);
+        List<ElderlyDTO> stops = elderlyStops.stops();
+
         // 거리 행렬 계산
-        Map<String, Map<String, Integer>> distanceMatrix = calculateDistanceMatrix(employees, elderlys, company,
+        DistanceMatrix distanceMatrix = calculateDistanceMatrix(employees, stops, company,
                 requestDispatchDTO.dispatchType(), jobId);
         sseService.notify(jobId, 15);
 
         // 유전 알고리즘 실행
-        GeneticAlgorithmV6 geneticAlgorithm = new GeneticAlgorithmV6(employees, elderlys,
-                couples,
-                fixedAssignments,
-                sseService);
-        geneticAlgorithm.initialize(distanceMatrix, requestDispatchDTO.dispatchType(), requestDispatchDTO.userName());
-
-        List<ChromosomeV3> chromosomes = geneticAlgorithm.run(jobId);
+        GeneticAlgorithmParameters parameters = geneticAlgorithmSizingPolicy.parametersFor(employees.size(),
+                stops.size(), requestDispatchDTO.geneticAlgorithm());
+        TerminationCriteria terminationCriteria = new TerminationCriteria(parameters.maxGenerations(),
+                stagnationGenerations, targetFitness, timeBudgetMillis);
+        int islandCount = islandCount(parameters);
+        long seed = resolveSeed(requestDispatchDTO.geneticAlgorithm());
+        log.info("genetic algorithm seed : " + seed + ", job : " + jobId);
+        ScoreTable scoreTable = scoreCurveRegistry.tableFor(requestDispatchDTO.dispatchType(),
+                requestDispatchDTO.userName());
+
+        DispatchGeneticAlgorithm geneticAlgorithm = islandCount > 1
+                ? new IslandGeneticAlgorithm(
+                        employees,
+                        stops,
+                        elderlyStops.couples(),
+                        fixedAssignments,
+                        elderlyStops.passengers(),
+                        sseService,
+                        geneticAlgorithmExecutor,
+                        islandCount,
+                        migrationInterval,
+                        migrationRate)
+                : new GeneticAlgorithmV6(
+                        employees,
+                        stops,
+                        elderlyStops.couples(),
+                        fixedAssignments,
+                        elderlyStops.passengers(),
+                        sseService,
+                        geneticAlgorithmExecutor);
+        geneticAlgorithm.initialize(distanceMatrix, requestDispatchDTO.dispatchType(),
+                requestDispatchDTO.userName(), geneticAlgorithmRandomFactory.create(seed));
+        geneticAlgorithm.setParameters(parameters);
+        geneticAlgorithm.setTerminationCriteria(terminationCriteria);
+        geneticAlgorithm.setTelemetry(geneticAlgorithmTelemetry);
+        geneticAlgorithm.setScoreTable(scoreTable);
+        geneticAlgorithm.setLocalSearchParameters(localSearchParameters);
+        GeneticAlgorithmResult result = geneticAlgorithm.run(jobId);
+
+        meterRegistry.summary("dispatch.ga.feasible-offspring-ratio").record(result.feasibleOffspringRatio());
+        sseService.notifyStopReason(jobId, Map.of(
+                "reason", result.stopReason().name(),
+                "generations", result.generations(),
+                "elapsedMillis", result.elapsedMillis(),
+                "feasibleOffspringRatio", result.feasibleOffspringRatio(),
+                "seed", seed));
         // 최적의 솔루션 추출
-        ChromosomeV3 bestChromosome = chromosomes.get(0);
+        ChromosomeV5 bestChromosome = result.best();
 
-        List<Double> departureTimes = bestChromosome.getDepartureTimes();
+        List<Double> departureTimes = Arrays.stream(bestChromosome.getDepartureTimes()).boxed().toList();
         sseService.notify(jobId, 95);
 
+        // 정류장을 다시 어르신 단위로 펼친다
         List<AssignmentResponseDTO> assignmentResponseDTOS = createResult(
-                employees, elderlys, bestChromosome, departureTimes, requestDispatchDTO.dispatchType());
+                employees, elderlys, new ChromosomeV3(elderlyStops.expand(bestChromosome.toGenes())), departureTimes,
+                requestDispatchDTO.dispatchType());
 
         dispatchHistoryService.saveDispatchResult(assignmentResponseDTOS);
 
-        log.info("done : " + bestChromosome.getGenes().toString() + " " + bestChromosome.getFitness() + " "
-                + bestChromosome.getDepartureTimes());
+        log.info("done : " + Arrays.deepToString(bestChromosome.toGenes()) + " " + bestChromosome.getFitness() + " "
+                + departureTimes);
 
         log.info(assignmentResponseDTOS.toString());
 
@@ -109,10 +224,51 @@ public class DispatchServiceV6 {
         return assignmentResponseDTOS;
     }
 
+    private ElderlyStops createElderlyStops(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys,
+                                            List<CoupleRequestDTO> couples, List<FixedAssignmentsDTO> fixedAssignments,
+                                            String jobId) throws Exception {
+        if (!collapseElderlyStops) {
+            return ElderlyStops.of(elderlys, couples);
+        }
+
+        // 정류장 하나는 한 차에 다 타야 하므로 가장 큰 차의 최대 인원까지만 합친다
+        int maxPassengers = employees.stream().mapToInt(EmployeeDTO::maximumCapacity).max().orElse(1);
+        ElderlyStops elderlyStops = ElderlyStops.collapse(elderlys, couples, fixedAssignments, maxPassengers,
+                elderlyStopRadiusMeters);
+
+        // 정류장 수로는 초기 해를 만들 수 있어도 인원이 넘칠 수 있으므로 여기서 먼저 확인한다
+        int maximumCapacity = employees.stream().mapToInt(EmployeeDTO::maximumCapacity).sum();
+        if (maximumCapacity < elderlyStops.passengerCount()) {
+            log.info("maximumCapacity: " + maximumCapacity + ", totalElderly: " + elderlyStops.passengerCount());
+            throw new Exception("[ERROR] 배치 가능 인원을 초과하였습니다.");
+        }
+
+        log.info("jobId : {} / elderly stops : {} (elderlys : {})", jobId, elderlyStops.stops().size(),
+                elderlys.size());
+        return elderlyStops;
+    }
+
+    // 요청 seed -> genetic-algorithm.seed -> 새 seed
+    private long resolveSeed(GeneticAlgorithmOptionsDTO options) {
+        if (options != null && options.seed() != null) {
+            return options.seed();
+        }
+        if (geneticAlgorithmSeed != null) {
+            return geneticAlgorithmSeed;
+        }
+        return geneticAlgorithmRandomFactory.newSeed();
+    }
+
+    // 0 이하이면 코어 수만큼, 섬 하나가 min-island-population 보다 작아지지 않도록
+    private int islandCount(GeneticAlgorithmParameters parameters) {
+        int islands = configuredIslandCount > 0 ? configuredIslandCount : Runtime.getRuntime().availableProcessors();
+        return Math.max(1, Math.min(islands, parameters.populationSize() / minIslandPopulation));
+    }
+
     private int[][] performDriverClustering(
             List<EmployeeDTO> employees,
             List<ElderlyDTO> elderlys,
-            Map<String, Map<String, Integer>> distanceMatrix,
+            DistanceMatrix distanceMatrix,
             CompanyDTO company,
             RequestDispatchDTO requestDispatchDTO
     ) {
@@ -137,8 +293,8 @@ public class DispatchServiceV6 {
         // 거리순으로 어르신 정렬
         List<ElderlyDistance> availableElderly = new ArrayList<>();
         for (int i = 0; i < elderlys.size(); i++) {
-            String elderlyId = "Elderly_" + elderlys.get(i).id();
-            int distanceFromCompany = distanceMatrix.get("Company").get(elderlyId);
+            int elderlySlot = distanceMatrix.elderlySlot(elderlys.get(i).id());
+            int distanceFromCompany = distanceMatrix.get(DistanceMatrix.COMPANY, elderlySlot);
             availableElderly.add(new ElderlyDistance(i, distanceFromCompany));
         }
         availableElderly.sort((a, b) -> Integer.compare(b.distance, a.distance));
@@ -163,21 +319,21 @@ public class DispatchServiceV6 {
                 }
 
                 List<Integer> currentRoute = new ArrayList<>();
-                String currentLocation = "Company";
+                int currentLocation = DistanceMatrix.COMPANY;
                 int routeTime = 0;
 
                 // 가장 먼 거리의 어르신을 먼저 시도
                 Iterator<ElderlyDistance> iterator = availableElderly.iterator();
                 while (iterator.hasNext()) {
                     ElderlyDistance elderly = iterator.next();
-                    String elderlyId = "Elderly_" + elderlys.get(elderly.index).id();
+                    int elderlySlot = distanceMatrix.elderlySlot(elderlys.get(elderly.index).id());
 
                     // 시간 제한을 체크하기 전에 거리가 특정 임계값 이상인 경우 우선 배정 시도
-                    int distanceFromCompany = distanceMatrix.get("Company").get(elderlyId);
+                    int distanceFromCompany = distanceMatrix.get(DistanceMatrix.COMPANY, elderlySlot);
                     boolean isPriorityElderly = distanceFromCompany > TIME_LIMIT * 0.7; // 예: 70% 이상 거리는 우선 배정
 
-                    int timeToElderly = distanceMatrix.get(currentLocation).get(elderlyId);
-                    int timeToCompany = distanceMatrix.get(elderlyId).get("Company");
+                    int timeToElderly = distanceMatrix.get(currentLocation, elderlySlot);
+                    int timeToCompany = distanceMatrix.get(elderlySlot, DistanceMatrix.COMPANY);
                     int potentialTotalTime = driverTotalTimes.get(driver) + routeTime + timeToElderly + timeToCompany;
 
                     // 우선순위 어르신이면 시간 제한을 좀 더 여유있게 적용
@@ -187,14 +343,14 @@ public class DispatchServiceV6 {
                             currentRoute.size() < driver.maximumCapacity()) {
                         currentRoute.add(elderly.index);
                         routeTime += timeToElderly;
-                        currentLocation = elderlyId;
+                        currentLocation = elderlySlot;
                         iterator.remove();
                         assignedInThisRound = true;
                     }
                 }
 
                 if (!currentRoute.isEmpty()) {
-                    routeTime += distanceMatrix.get(currentLocation).get("Company");
+                    routeTime += distanceMatrix.get(currentLocation, DistanceMatrix.COMPANY);
                     driverTotalTimes.put(driver, driverTotalTimes.get(driver) + routeTime);
                     driverAssignedCounts.merge(driver, currentRoute.size(), Integer::sum);
                     totalAssigned += currentRoute.size();
@@ -315,17 +471,17 @@ public class DispatchServiceV6 {
     }
 
     private int findNearestElderly(
-            String currentLocation,
+            int currentLocation,
             List<Integer> possibleElderlys,
-            Map<String, Map<String, Integer>> distanceMatrix,
+            DistanceMatrix distanceMatrix,
             List<ElderlyDTO> elderlys
     ) {
         int nearestIndex = -1;
         int minDistance = Integer.MAX_VALUE;
 
         for (Integer elderlyIndex : possibleElderlys) {
-            String elderlyId = "Elderly_" + elderlys.get(elderlyIndex).id();
-            int distance = distanceMatrix.get(currentLocation).get(elderlyId);
+            int elderlySlot = distanceMatrix.elderlySlot(elderlys.get(elderlyIndex).id());
+            int distance = distanceMatrix.get(currentLocation, elderlySlot);
 
             if (distance < minDistance) {
                 minDistance = distance;
@@ -338,7 +494,7 @@ public class DispatchServiceV6 {
 
     private int calculateTotalRouteTime(
             List<Integer> route,
-            Map<String, Map<String, Integer>> distanceMatrix,
+            DistanceMatrix distanceMatrix,
             List<ElderlyDTO> elderlys,
             CompanyDTO company
     ) {
@@ -347,24 +503,24 @@ public class DispatchServiceV6 {
         }
 
         int totalTime = 0;
-        String currentLocation = "Company";
+        int currentLocation = DistanceMatrix.COMPANY;
 
         // 회사에서 시작하여 모든 어르신을 방문
         for (Integer elderlyIdx : route) {
-            String elderlyId = "Elderly_" + elderlys.get(elderlyIdx).id();
-            totalTime += distanceMatrix.get(currentLocation).get(elderlyId);
-            currentLocation = elderlyId;
+            int elderlySlot = distanceMatrix.elderlySlot(elderlys.get(elderlyIdx).id());
+            totalTime += distanceMatrix.get(currentLocation, elderlySlot);
+            currentLocation = elderlySlot;
         }
 
         // 마지막 어르신에서 회사로 돌아오는 시간 추가
-        totalTime += distanceMatrix.get(currentLocation).get("Company");
+        totalTime += distanceMatrix.get(currentLocation, DistanceMatrix.COMPANY);
 
         return totalTime;
     }
 
     private List<Integer> optimizeRoute(
             List<Integer> elderlyIndices,
-            Map<String, Map<String, Integer>> distanceMatrix,
+            DistanceMatrix distanceMatrix,
             List<ElderlyDTO> elderlys,
             CompanyDTO company
     ) {
@@ -408,7 +564,7 @@ public class DispatchServiceV6 {
 
     private List<Integer> optimizeDriverRoute(
             List<Integer> route,
-            Map<String, Map<String, Integer>> distanceMatrix,
+            DistanceMatrix distanceMatrix,
             List<ElderlyDTO> elderlys
     ) {
         if (route.size() <= 2) {
@@ -443,7 +599,7 @@ public class DispatchServiceV6 {
 
     private int calculateRouteTime(
             List<Integer> route,
-            Map<String, Map<String, Integer>> distanceMatrix,
+            DistanceMatrix distanceMatrix,
             List<ElderlyDTO> elderlys
     ) {
         if (route.isEmpty()) {
@@ -451,15 +607,15 @@ public class DispatchServiceV6 {
         }
 
         int totalTime = 0;
-        String currentLocation = "Company";
+        int currentLocation = DistanceMatrix.COMPANY;
 
         for (Integer elderlyIdx : route) {
-            String elderlyId = "Elderly_" + elderlys.get(elderlyIdx).id();
-            totalTime += distanceMatrix.get(currentLocation).get(elderlyId);
-            currentLocation = elderlyId;
+            int elderlySlot = distanceMatrix.elderlySlot(elderlys.get(elderlyIdx).id());
+            totalTime += distanceMatrix.get(currentLocation, elderlySlot);
+            currentLocation = elderlySlot;
         }
 
-        totalTime += distanceMatrix.get(currentLocation).get("Company");
+        totalTime += distanceMatrix.get(currentLocation, DistanceMatrix.COMPANY);
         return totalTime;
     }
 
@@ -484,7 +640,7 @@ public class DispatchServiceV6 {
 
         sseService.notify(jobId, 5);
 
-        Map<String, Map<String, Integer>> distanceMatrix = calculateDistanceMatrix(
+        DistanceMatrix distanceMatrix = calculateDistanceMatrix(
                 employees, elderlys, company, requestDispatchDTO.dispatchType(), jobId
         );
 
@@ -608,182 +764,20 @@ public class DispatchServiceV6 {
         return assignmentResponseDTOS;
     }
 
-    private Map<String, Map<String, Integer>> calculateDistanceMatrix(List<EmployeeDTO> employees,
-                                                                      List<ElderlyDTO> elderlys,
-                                                                      CompanyDTO company, DispatchType dispatchType,
-                                                                      String jobId) {
+    private DistanceMatrix calculateDistanceMatrix(List<EmployeeDTO> employees,
+                                                   List<ElderlyDTO> elderlys,
+                                                   CompanyDTO company, DispatchType dispatchType,
+                                                   String jobId) {
 
         long startTime = System.currentTimeMillis();
 //        log.info("jobId : {} / calculateDistanceMatrix start", jobId);
-        Map<String, Map<String, Integer>> distanceMatrix = new HashMap<>();
-
-        distanceMatrix.put("Company", new HashMap<>());
-
-        for (EmployeeDTO employee : employees) {
-            distanceMatrix.put("Employee_" + employee.id(), new HashMap<>());
-        }
-
-        for (ElderlyDTO elderly : elderlys) {
-            distanceMatrix.put("Elderly_" + elderly.id(), new HashMap<>());
-        }
-
-        sseService.notify(jobId, 7.5);
-
-        for (int i = 0; i < elderlys.size(); i++) {
-
-            String startNodeId = "Company";
-            String destinationNodeId = "Elderly_" + elderlys.get(i).id();
-
-//            Optional<LinkDistance> linkDistance = linkDistanceRepository.findNodeByStartNodeIdAndDestinationNodeId(
-//                    startNodeId, destinationNodeId);
-//            if (linkDistance.isPresent()) {
-//
-//                if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
-//                    distanceMatrix.get(startNodeId).put(destinationNodeId, linkDistance.get().getTotalDistance());
-//                    distanceMatrix.get(destinationNodeId).put(startNodeId, linkDistance.get().getTotalDistance());
-//                }
-//
-//                if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-//                    distanceMatrix.get(startNodeId).put(destinationNodeId, linkDistance.get().getTotalTime());
-//                    distanceMatrix.get(destinationNodeId).put(startNodeId, linkDistance.get().getTotalTime());
-//                }
-//
-//            } else {
-            KakaoMapApiResponseDTO kakaoMapApiResponseDTO = kakaoMapApiService.getDistanceTotalTimeWithKakaoMapApi(
-                    company.companyAddress(),
-                    elderlys.get(i).homeAddress());
-//            log.info("{} : {} / {}", company, elderlys.get(i).homeAddressName(),
-//                    osrmApiResponseDTO.toString());
-
-            if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
-                distanceMatrix.get(startNodeId).put(destinationNodeId, kakaoMapApiResponseDTO.distance());
-                distanceMatrix.get(destinationNodeId).put(startNodeId, kakaoMapApiResponseDTO.distance());
-            }
-
-            if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-                distanceMatrix.get(startNodeId).put(destinationNodeId, kakaoMapApiResponseDTO.duration());
-                distanceMatrix.get(destinationNodeId).put(startNodeId, kakaoMapApiResponseDTO.duration());
-            }
-
-//                linkDistanceRepository.save(
-//                        new LinkDistance(startNodeId, destinationNodeId, osrmApiResponseDTO.duration(),
-//                                osrmApiResponseDTO.distance()));
-//                linkDistanceRepository.save(
-//                        new LinkDistance(destinationNodeId, startNodeId, osrmApiResponseDTO.duration(),
-//                                osrmApiResponseDTO.distance()));
-//            }
-
-        }
-        sseService.notify(jobId, 10);
-        for (int i = 0; i < elderlys.size(); i++) {
-            for (int j = 0; j < elderlys.size(); j++) {
-                if (i == j) {
-                    continue;
-                }
-
-                String startNodeId = "Elderly_" + elderlys.get(i).id();
-                String destinationNodeId = "Elderly_" + elderlys.get(j).id();
-
-//                Optional<LinkDistance> linkDistance = linkDistanceRepository.findNodeByStartNodeIdAndDestinationNodeId(
-//                        startNodeId, destinationNodeId);
-//
-//                if (linkDistance.isPresent()) {
-//
-//                    if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
-//                        distanceMatrix.get(startNodeId).put(destinationNodeId, linkDistance.get().getTotalDistance());
-//                        distanceMatrix.get(destinationNodeId).put(startNodeId, linkDistance.get().getTotalDistance());
-//                    }
-//
-//                    if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-//                        distanceMatrix.get(startNodeId).put(destinationNodeId, linkDistance.get().getTotalTime());
-//                        distanceMatrix.get(destinationNodeId).put(startNodeId, linkDistance.get().getTotalTime());
-//                    }
-//
-//                } else {
-                KakaoMapApiResponseDTO kakaoMapApiResponseDTO = kakaoMapApiService.getDistanceTotalTimeWithKakaoMapApi(
-                        elderlys.get(i).homeAddress(),
-                        elderlys.get(j).homeAddress());
-
-//                log.info("{} : {} / {}", elderlys.get(i).homeAddressName(), elderlys.get(j).homeAddressName(),
-//                        osrmApiResponseDTO.toString());
-
-                if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
-                    distanceMatrix.get(startNodeId).put(destinationNodeId, kakaoMapApiResponseDTO.distance());
-                    distanceMatrix.get(destinationNodeId).put(startNodeId, kakaoMapApiResponseDTO.distance());
-                }
-
-                if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-                    distanceMatrix.get(startNodeId).put(destinationNodeId, kakaoMapApiResponseDTO.duration());
-                    distanceMatrix.get(destinationNodeId).put(startNodeId, kakaoMapApiResponseDTO.duration());
-                }
-
-//                    linkDistanceRepository.save(
-//                            new LinkDistance(startNodeId, destinationNodeId, osrmApiResponseDTO.duration(),
-//                                    osrmApiResponseDTO.distance()));
-//                    linkDistanceRepository.save(
-//                            new LinkDistance(destinationNodeId, startNodeId, osrmApiResponseDTO.duration(),
-//                                    osrmApiResponseDTO.distance()));
-//                }
-
-            }
-
-        }
-        sseService.notify(jobId, 12.5);
-        for (int i = 0; i < employees.size(); i++) {
-            for (int j = 0; j < elderlys.size(); j++) {
-
-                String startNodeId = "Employee_" + employees.get(i).id();
-                String destinationNodeId = "Elderly_" + elderlys.get(j).id();
-
-//                Optional<LinkDistance> linkDistance = linkDistanceRepository.findNodeByStartNodeIdAndDestinationNodeId(
-//                        startNodeId, destinationNodeId);
-//
-//                if (linkDistance.isPresent()) {
-//
-//                    if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
-//                        distanceMatrix.get(startNodeId).put(destinationNodeId, linkDistance.get().getTotalDistance());
-//                        distanceMatrix.get(destinationNodeId).put(startNodeId, linkDistance.get().getTotalDistance());
-//                    }
-//
-//                    if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-//                        distanceMatrix.get(startNodeId).put(destinationNodeId, linkDistance.get().getTotalTime());
-//                        distanceMatrix.get(destinationNodeId).put(startNodeId, linkDistance.get().getTotalTime());
-//                    }
-//
-//                } else {
-
-                KakaoMapApiResponseDTO kakaoMapApiResponseDTO = kakaoMapApiService.getDistanceTotalTimeWithKakaoMapApi(
-                        employees.get(i).homeAddress(),
-                        elderlys.get(j).homeAddress());
-
-//                log.info("{} : {} / {}", employees.get(i).homeAddressName(), elderlys.get(j).homeAddressName(),
-//                        osrmApiResponseDTO.toString());
-
-                if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
-                    distanceMatrix.get(startNodeId).put(destinationNodeId, kakaoMapApiResponseDTO.distance());
-                    distanceMatrix.get(destinationNodeId).put(startNodeId, kakaoMapApiResponseDTO.distance());
-                }
-
-                if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-                    distanceMatrix.get(startNodeId).put(destinationNodeId, kakaoMapApiResponseDTO.duration());
-                    distanceMatrix.get(destinationNodeId).put(startNodeId, kakaoMapApiResponseDTO.duration());
-                }
-
-//                    linkDistanceRepository.save(
-//                            new LinkDistance(startNodeId, destinationNodeId, osrmApiResponseDTO.duration(),
-//                                    osrmApiResponseDTO.distance()));
-//                    linkDistanceRepository.save(
-//                            new LinkDistance(destinationNodeId, startNodeId, osrmApiResponseDTO.duration(),
-//                                    osrmApiResponseDTO.distance()));
-//                }
-            }
-
-        }
-        sseService.notify(jobId, 15);
+        DistanceMatrix distanceMatrix = distanceMatrixProvider.build(employees, elderlys, company, dispatchType,
+                jobId);
 
         long endTime = System.currentTimeMillis();
-        log.info("jobId : {} / calculateDistanceMatrix end / execution time : {}ms",
+        log.info("jobId : {} / calculateDistanceMatrix({}) end / execution time : {}ms",
                 jobId,
+                distanceMatrixMode,
                 endTime - startTime);
         return distanceMatrix;
     }
@@ -0,0 +1,300 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.config.LayeredCache;
+import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.KakaoMapApiResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.entity.CoordinateKey;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrixMode;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrixSymmetry;
+import com.silverithm.vehicleplacementsystem.service.RoadDistanceService.Route;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+/**
+ * 카카오 모빌리티 길찾기 API 로 배차 작업 하나의 거리 행렬을 만든다.
+ * <p>
+ * 먼저 {@link RoadDistanceService} 에 저장된 좌표 쌍을 한 번에 읽고, 없는 쌍은 "kakaomap" 캐시를 일괄 조회한 뒤 그래도 없는
+ * 쌍만 외부 API 로 조회한다. 조회한 쌍은 모아서 저장소에 저장한다. 쌍 조회는
+ * distanceMatrixExecutor 에서 동시에 실행하고(호출 수 제한은 KakaoMapApiService 의 토큰 버킷), 결과는 호출 스레드에서
+ * 기존 순차 조회와 같은 순서로 행렬에 기록해 결과가 실행 순서에 따라 달라지지 않도록 한다. 단계별 소요 시간은
+ * dispatch.distance-matrix.phase 타이머와 SSE "phase" 이벤트로 보낸다.
+ * <p>
+ * 조회 단위는 슬롯 쌍이 아니라 좌표({@link com.silverithm.vehicleplacementsystem.entity.CoordinateKey}) 쌍이다. 같은 좌표끼리는
+ * 조회하지 않고 0 으로 두며, 여러 슬롯이 같은 좌표 쌍을 가리키면(같은 집에 사는 어르신, 회사에 사는 직원 등) 한 번만 조회한다.
+ * distance-matrix.symmetry 가 SYMMETRIC(기본)이면 A→B 와 B→A 를 같은 쌍으로 보고 한쪽만 조회해 양방향에 쓰고,
+ * ASYMMETRIC 이면 두 방향을 각각 조회한다.
+ */
+@Slf4j
+@Service
+public class DistanceMatrixBuilder implements DistanceMatrixProvider {
+
+    private static final String KAKAO_CACHE = "kakaomap";
+
+    private final KakaoMapApiService kakaoMapApiService;
+    private final RoadDistanceService roadDistanceService;
+    private final SSEService sseService;
+    private final MeterRegistry meterRegistry;
+    private final CacheManager cacheManager;
+    private final Executor distanceMatrixExecutor;
+    private final DistanceMatrixSymmetry symmetry;
+
+    public DistanceMatrixBuilder(KakaoMapApiService kakaoMapApiService, RoadDistanceService roadDistanceService,
+                                 SSEService sseService, MeterRegistry meterRegistry, CacheManager cacheManager,
+                                 @Qualifier("distanceMatrixExecutor") Executor distanceMatrixExecutor,
+                                 @Value("${distance-matrix.symmetry:SYMMETRIC}") DistanceMatrixSymmetry symmetry) {
+        this.kakaoMapApiService = kakaoMapApiService;
+        this.roadDistanceService = roadDistanceService;
+        this.sseService = sseService;
+        this.meterRegistry = meterRegistry;
+        this.cacheManager = cacheManager;
+        this.distanceMatrixExecutor = distanceMatrixExecutor;
+        this.symmetry = symmetry;
+    }
+
+    @Override
+    public DistanceMatrixMode mode() {
+        return DistanceMatrixMode.KAKAO;
+    }
+
+    @Override
+    public DistanceMatrix build(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys, CompanyDTO company,
+                                DispatchType dispatchType, String jobId) {
+        DistanceMatrix distanceMatrix = new DistanceMatrix(employees, elderlys);
+        Map<String, Long> phaseTimes = new LinkedHashMap<>();
+
+        sseService.notify(jobId, 7.5);
+
+        List<Pair> companyToElderly = new ArrayList<>();
+        for (ElderlyDTO elderly : elderlys) {
+            companyToElderly.add(Pair.of(DistanceMatrix.COMPANY, distanceMatrix.elderlySlot(elderly.id()),
+                    company.companyAddress(), elderly.homeAddress()));
+        }
+
+        // 역방향은 fetchPhase 가 대칭 여부에 따라 채우므로 i < j 만 만든다
+        List<Pair> elderlyToElderly = new ArrayList<>();
+        for (int i = 0; i < elderlys.size(); i++) {
+            for (int j = i + 1; j < elderlys.size(); j++) {
+                elderlyToElderly.add(Pair.of(distanceMatrix.elderlySlot(elderlys.get(i).id()),
+                        distanceMatrix.elderlySlot(elderlys.get(j).id()),
+                        elderlys.get(i).homeAddress(), elderlys.get(j).homeAddress()));
+            }
+        }
+
+        List<Pair> employeeToElderly = new ArrayList<>();
+        for (EmployeeDTO employee : employees) {
+            for (ElderlyDTO elderly : elderlys) {
+                employeeToElderly.add(Pair.of(distanceMatrix.employeeSlot(employee.id()),
+                        distanceMatrix.elderlySlot(elderly.id()), employee.homeAddress(), elderly.homeAddress()));
+            }
+        }
+
+        long storeStartTime = System.nanoTime();
+        List<Location> locations = new ArrayList<>();
+        locations.add(company.companyAddress());
+        employees.forEach(employee -> locations.add(employee.homeAddress()));
+        elderlys.forEach(elderly -> locations.add(elderly.homeAddress()));
+        Map<Route, KakaoMapApiResponseDTO> stored = roadDistanceService.findAll(locations);
+        Map<Route, KakaoMapApiResponseDTO> fetched = new HashMap<>();
+        // 단계를 넘어 공유해서 앞 단계에서 구한 좌표 쌍은 다시 조회하지 않는다
+        Map<Route, KakaoMapApiResponseDTO> resolved = new HashMap<>();
+        recordPhase("store-read", System.nanoTime() - storeStartTime, phaseTimes);
+
+        fetchPhase("company-elderly", companyToElderly, stored, fetched, resolved, distanceMatrix, dispatchType,
+                phaseTimes);
+        sseService.notify(jobId, 10);
+
+        fetchPhase("elderly-elderly", elderlyToElderly, stored, fetched, resolved, distanceMatrix, dispatchType,
+                phaseTimes);
+        sseService.notify(jobId, 12.5);
+
+        fetchPhase("employee-elderly", employeeToElderly, stored, fetched, resolved, distanceMatrix, dispatchType,
+                phaseTimes);
+
+        storeStartTime = System.nanoTime();
+        roadDistanceService.saveAll(fetched);
+        recordPhase("store-write", System.nanoTime() - storeStartTime, phaseTimes);
+        sseService.notify(jobId, 15);
+
+        long uniqueLocations = locations.stream().map(CoordinateKey::of).distinct().count();
+        log.info("jobId : {} / distance matrix {} nodes : {}, unique locations : {}, unique pairs : {}, "
+                        + "fetched pairs : {}", jobId, symmetry, locations.size(), uniqueLocations, resolved.size(),
+                fetched.size());
+        log.info("jobId : {} / distance matrix phase times(ms) : {}", jobId, phaseTimes);
+        sseService.notifyPhaseTimes(jobId, phaseTimes);
+
+        return distanceMatrix;
+    }
+
+    private void fetchPhase(String phase, List<Pair> edges, Map<Route, KakaoMapApiResponseDTO> stored,
+                            Map<Route, KakaoMapApiResponseDTO> fetched, Map<Route, KakaoMapApiResponseDTO> resolved,
+                            DistanceMatrix distanceMatrix, DispatchType dispatchType, Map<String, Long> phaseTimes) {
+        long startTime = System.nanoTime();
+
+        // 이번 단계에서 처음 나온 좌표 쌍만 모은다. 같은 좌표끼리는 조회하지 않는다
+        Map<Route, Pair> needed = new LinkedHashMap<>();
+        Set<Route> seen = new HashSet<>(resolved.keySet());
+        for (Pair edge : edges) {
+            for (Pair pair : directions(edge)) {
+                if (!pair.sameLocation() && seen.add(key(pair))) {
+                    needed.put(key(pair), pair);
+                }
+            }
+        }
+
+        // 저장소에 없는 쌍만 캐시 → 외부 API 순서로 조회
+        Map<String, Pair> missing = new LinkedHashMap<>();
+        for (Map.Entry<Route, Pair> entry : needed.entrySet()) {
+            KakaoMapApiResponseDTO kakaoMapApiResponseDTO = findStored(entry.getValue(), stored);
+            if (kakaoMapApiResponseDTO != null) {
+                resolved.put(entry.getKey(), kakaoMapApiResponseDTO);
+                continue;
+            }
+            Pair pair = entry.getValue();
+            missing.putIfAbsent(KakaoMapApiService.cacheKey(pair.start(), pair.destination()), pair);
+        }
+        Map<String, KakaoMapApiResponseDTO> responses = lookup(missing);
+
+        for (Map.Entry<Route, Pair> entry : needed.entrySet()) {
+            if (resolved.containsKey(entry.getKey())) {
+                continue;
+            }
+            Pair pair = entry.getValue();
+            KakaoMapApiResponseDTO kakaoMapApiResponseDTO = responses.get(
+                    KakaoMapApiService.cacheKey(pair.start(), pair.destination()));
+            resolved.put(entry.getKey(), kakaoMapApiResponseDTO);
+            fetched.put(pair.route(), kakaoMapApiResponseDTO);
+        }
+
+        // 칸마다 값이 하나로 정해지므로 기록 순서와 무관하다
+        for (Pair edge : edges) {
+            for (Pair pair : directions(edge)) {
+                int value = pair.sameLocation() ? 0 : metric(resolved.get(key(pair)), dispatchType);
+                if (symmetry == DistanceMatrixSymmetry.SYMMETRIC) {
+                    distanceMatrix.setSymmetric(pair.startSlot(), pair.destinationSlot(), value);
+                } else {
+                    distanceMatrix.set(pair.startSlot(), pair.destinationSlot(), value);
+                }
+            }
+        }
+
+        recordPhase(phase, System.nanoTime() - startTime, phaseTimes);
+    }
+
+    private List<Pair> directions(Pair edge) {
+        if (symmetry == DistanceMatrixSymmetry.SYMMETRIC) {
+            return List.of(edge);
+        }
+        return List.of(edge, edge.reversed());
+    }
+
+    // 대칭이면 A→B 와 B→A 가 같은 키가 되도록 좌표 키가 작은 쪽을 앞에 둔다
+    private Route key(Pair pair) {
+        Route route = pair.route();
+        if (symmetry == DistanceMatrixSymmetry.SYMMETRIC && route.startKey() > route.destinationKey()) {
+            return new Route(route.destinationKey(), route.startKey());
+        }
+        return route;
+    }
+
+    private KakaoMapApiResponseDTO findStored(Pair pair, Map<Route, KakaoMapApiResponseDTO> stored) {
+        KakaoMapApiResponseDTO kakaoMapApiResponseDTO = stored.get(pair.route());
+        if (kakaoMapApiResponseDTO == null && symmetry == DistanceMatrixSymmetry.SYMMETRIC) {
+            return stored.get(new Route(pair.route().destinationKey(), pair.route().startKey()));
+        }
+        return kakaoMapApiResponseDTO;
+    }
+
+    private static int metric(KakaoMapApiResponseDTO kakaoMapApiResponseDTO, DispatchType dispatchType) {
+        if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
+            return kakaoMapApiResponseDTO.distance();
+        }
+        return kakaoMapApiResponseDTO.duration();
+    }
+
+    private Map<String, KakaoMapApiResponseDTO> lookup(Map<String, Pair> missing) {
+        if (missing.isEmpty()) {
+            return Map.of();
+        }
+
+        // 2단 캐시면 L1 → L2(MGET) 를 일괄 조회하고, 그래도 없는 키만 API 로 조회해 한 번에 캐시에 넣는다
+        if (cacheManager.getCache(KAKAO_CACHE) instanceof LayeredCache layeredCache) {
+            return layeredCache.getAll(missing.keySet(), keys -> request(keys, missing,
+                    pair -> kakaoMapApiService.requestDistanceTotalTime(pair.start(), pair.destination())));
+        }
+
+        return request(missing.keySet(), missing,
+                pair -> kakaoMapApiService.getDistanceTotalTimeWithKakaoMapApi(pair.start(), pair.destination()));
+    }
+
+    private Map<String, KakaoMapApiResponseDTO> request(Collection<String> keys, Map<String, Pair> pairs,
+                                                        Function<Pair, KakaoMapApiResponseDTO> api) {
+        Map<String, CompletableFuture<KakaoMapApiResponseDTO>> futures = new LinkedHashMap<>();
+        for (String key : keys) {
+            Pair pair = pairs.get(key);
+            futures.put(key, CompletableFuture.supplyAsync(() -> api.apply(pair), distanceMatrixExecutor));
+        }
+
+        Map<String, KakaoMapApiResponseDTO> responses = new HashMap<>();
+        futures.forEach((key, future) -> responses.put(key, join(future)));
+        return responses;
+    }
+
+    private void recordPhase(String phase, long elapsedNanos, Map<String, Long> phaseTimes) {
+        Timer.builder("dispatch.distance-matrix.phase")
+                .tag("phase", phase)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        phaseTimes.put(phase, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    private KakaoMapApiResponseDTO join(CompletableFuture<KakaoMapApiResponseDTO> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // 순차 조회 때와 같은 예외(NullPointerException 등)가 그대로 올라가도록 풀어서 던진다
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Pair(int startSlot, int destinationSlot, Location start, Location destination, Route route) {
+
+        static Pair of(int startSlot, int destinationSlot, Location start, Location destination) {
+            return new Pair(startSlot, destinationSlot, start, destination, Route.of(start, destination));
+        }
+
+        Pair reversed() {
+            return new Pair(destinationSlot, startSlot, destination, start,
+                    new Route(route.destinationKey(), route.startKey()));
+        }
+
+        boolean sameLocation() {
+            return route.startKey() == route.destinationKey();
+        }
+    }
+}
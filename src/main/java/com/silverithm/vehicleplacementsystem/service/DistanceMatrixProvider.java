@@ -0,0 +1,22 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrixMode;
+import java.util.List;
+
+/**
+ * 배차 작업 하나의 거리 행렬을 만든다. 구현마다 {@link DistanceMatrixMode} 하나를 맡고, distance-matrix.mode 설정으로 고른다.
+ * <p>
+ * 배차 유형이 DISTANCE_* 면 거리(m), DURATION_* 면 소요 시간(초)을 채운다.
+ */
+public interface DistanceMatrixProvider {
+
+    DistanceMatrixMode mode();
+
+    DistanceMatrix build(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys, CompanyDTO company,
+                         DispatchType dispatchType, String jobId);
+}
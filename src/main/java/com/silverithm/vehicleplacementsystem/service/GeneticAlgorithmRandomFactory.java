@@ -0,0 +1,43 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 유전 알고리즘 난수 생성기를 만든다.
+ * <p>
+ * 작업마다 seed 하나로 생성기를 만들고, 유전 알고리즘은 청크/섬마다 split() 한 생성기를 쓴다. 공유 Random 을 여러 스레드가
+ * 잡지 않으며, 같은 요청과 seed 면 스레드 수와 관계없이 같은 배차가 나온다.
+ * <p>
+ * 알고리즘은 genetic-algorithm.rng 로 바꿀 수 있다 (SplittableRandom, L64X128MixRandom 등 split 을 지원하는 것만).
+ */
+@Slf4j
+@Component
+public class GeneticAlgorithmRandomFactory {
+
+    private final RandomGeneratorFactory<SplittableGenerator> factory;
+
+    public GeneticAlgorithmRandomFactory(@Value("${genetic-algorithm.rng:SplittableRandom}") String algorithm) {
+        RandomGeneratorFactory<?> candidate = RandomGeneratorFactory.of(algorithm);
+        if (!candidate.isSplittable()) {
+            throw new IllegalArgumentException("genetic-algorithm.rng must be splittable: " + algorithm);
+        }
+        @SuppressWarnings("unchecked")
+        RandomGeneratorFactory<SplittableGenerator> splittable = (RandomGeneratorFactory<SplittableGenerator>) candidate;
+        this.factory = splittable;
+        log.info("genetic algorithm rng : " + algorithm);
+    }
+
+    public SplittableGenerator create(long seed) {
+        return factory.create(seed);
+    }
+
+    // 요청에도 설정에도 seed 가 없을 때 쓸 seed. 결과와 함께 알려 주면 같은 실행을 다시 재현할 수 있다.
+    public long newSeed() {
+        return ThreadLocalRandom.current().nextLong();
+    }
+}
@@ -0,0 +1,96 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.dto.GeneticAlgorithmOptionsDTO;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmParameters;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 문제 크기(직원 수, 어르신 수)와 실행 환경(코어 수, 최대 힙)으로 유전 알고리즘 크기를 정한다.
+ * <p>
+ * <ul>
+ *     <li>개체 수: 어르신 1명당 population-per-elder 개. 코어당 population-per-core 개, 최대 힙의 heap-fraction 비율,
+ *     max-population 을 넘지 않는다.</li>
+ *     <li>세대 수: 어르신 1명당 generations-per-elder 세대에 기본 min-generations 를 더하고 max-generations 를 넘지 않는다.
+ *     정체되면 종료 조건(stagnation)이 먼저 멈추므로 상한에 가깝게 잡아도 된다.</li>
+ *     <li>교차 확률: 경로(직원)가 3개 미만이면 두 점 교차가 부모를 거의 그대로 복사하므로 낮춘다.</li>
+ * </ul>
+ * 요청에 값이 있으면 그 값을 쓰되, 개체 수는 힙 한도를 넘지 않도록 자른다.
+ */
+@Slf4j
+@Component
+public class GeneticAlgorithmSizingPolicy {
+
+    // 세대마다 유지하는 염색체 버퍼 수 (현재/다음 세대, 교차 결과, 돌연변이 결과)
+    private static final int BUFFERS_PER_INDIVIDUAL = 4;
+
+    private final int populationPerElder;
+    private final int populationPerCore;
+    private final int minPopulation;
+    private final int maxPopulation;
+    private final double heapFraction;
+    private final int generationsPerElder;
+    private final int minGenerations;
+    private final int maxGenerations;
+
+    public GeneticAlgorithmSizingPolicy(@Value("${genetic-algorithm.population-per-elder:100}") int populationPerElder,
+                                        @Value("${genetic-algorithm.population-per-core:5000}") int populationPerCore,
+                                        @Value("${genetic-algorithm.min-population:500}") int minPopulation,
+                                        @Value("${genetic-algorithm.max-population:20000}") int maxPopulation,
+                                        @Value("${genetic-algorithm.heap-fraction:0.25}") double heapFraction,
+                                        @Value("${genetic-algorithm.generations-per-elder:3}") int generationsPerElder,
+                                        @Value("${genetic-algorithm.min-generations:50}") int minGenerations,
+                                        @Value("${genetic-algorithm.max-generations:300}") int maxGenerations) {
+        this.populationPerElder = populationPerElder;
+        this.populationPerCore = populationPerCore;
+        this.minPopulation = minPopulation;
+        this.maxPopulation = maxPopulation;
+        this.heapFraction = heapFraction;
+        this.generationsPerElder = generationsPerElder;
+        this.minGenerations = minGenerations;
+        this.maxGenerations = maxGenerations;
+    }
+
+    public GeneticAlgorithmParameters parametersFor(int employeeCount, int elderlyCount,
+                                                    GeneticAlgorithmOptionsDTO options) {
+        int availableProcessors = Runtime.getRuntime().availableProcessors();
+        long maxHeapBytes = Runtime.getRuntime().maxMemory();
+        int heapLimit = heapPopulationLimit(employeeCount, elderlyCount, maxHeapBytes);
+
+        int populationSize = Math.min(maxPopulation,
+                Math.min(populationPerCore * availableProcessors, populationPerElder * elderlyCount));
+        populationSize = Math.max(minPopulation, populationSize);
+        int generations = Math.min(maxGenerations, minGenerations + generationsPerElder * elderlyCount);
+        double crossoverRate = employeeCount < 3 ? 0.3 : GeneticAlgorithmParameters.DEFAULT.crossoverRate();
+        double mutationRate = GeneticAlgorithmParameters.DEFAULT.mutationRate();
+
+        if (options != null) {
+            populationSize = options.populationSize() != null ? options.populationSize() : populationSize;
+            generations = options.maxGenerations() != null ? options.maxGenerations() : generations;
+            crossoverRate = options.crossoverRate() != null ? options.crossoverRate() : crossoverRate;
+            mutationRate = options.mutationRate() != null ? options.mutationRate() : mutationRate;
+        }
+
+        if (populationSize > heapLimit) {
+            log.warn("개체 수 {} 가 힙 한도를 넘어 {} 로 줄입니다. (max heap {}MB)", populationSize, heapLimit,
+                    maxHeapBytes / (1024 * 1024));
+            populationSize = heapLimit;
+        }
+        // 교차는 이웃한 두 개체를 짝지으므로 짝수로 맞춘다
+        populationSize = Math.max(2, populationSize & ~1);
+
+        GeneticAlgorithmParameters parameters = new GeneticAlgorithmParameters(populationSize, generations,
+                crossoverRate, mutationRate);
+        log.info("genetic algorithm parameters : employees " + employeeCount + ", elderlys " + elderlyCount
+                + ", cores " + availableProcessors + " -> " + parameters);
+        return parameters;
+    }
+
+    private int heapPopulationLimit(int employeeCount, int elderlyCount, long maxHeapBytes) {
+        // ChromosomeV5 한 개: genes(int) + offsets(int) + departureTimes/routeScores(double) + 플래그 2개 + 헤더
+        long chromosomeBytes = 4L * elderlyCount + 22L * employeeCount + 160;
+        long limit = (long) (maxHeapBytes * heapFraction) / (BUFFERS_PER_INDIVIDUAL * chromosomeBytes);
+        return (int) Math.max(2, Math.min(Integer.MAX_VALUE, limit));
+    }
+}
@@ -0,0 +1,65 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.entity.GenerationStats;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 유전 알고리즘 세대별 요약을 최근 capacity 개까지 메모리 링 버퍼에 보관한다. 개체 단위 로그 대신 이 요약을 actuator
+ * (ga-telemetry 엔드포인트) 와 SSE "generation" 이벤트(genetic-algorithm.telemetry.sse=true 일 때)로 본다.
+ * <p>
+ * 세대당 한 번, sample-interval 세대마다만 기록하므로 평가 경로에는 영향을 주지 않는다.
+ */
+@Component
+public class GeneticAlgorithmTelemetry {
+
+    private final GenerationStats[] buffer;
+    private final int sampleInterval;
+    private final boolean streamToSse;
+    private final SSEService sseService;
+    private long recorded;
+
+    public GeneticAlgorithmTelemetry(@Value("${genetic-algorithm.telemetry.capacity:2000}") int capacity,
+                                     @Value("${genetic-algorithm.telemetry.sample-interval:1}") int sampleInterval,
+                                     @Value("${genetic-algorithm.telemetry.sse:false}") boolean streamToSse,
+                                     SSEService sseService) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("[ERROR] 텔레메트리 보관 개수는 0 보다 커야 합니다. - " + capacity);
+        }
+        this.buffer = new GenerationStats[capacity];
+        this.sampleInterval = Math.max(1, sampleInterval);
+        this.streamToSse = streamToSse;
+        this.sseService = sseService;
+    }
+
+    public boolean isSampled(int generation) {
+        return generation % sampleInterval == 0;
+    }
+
+    public void record(GenerationStats stats) {
+        synchronized (this) {
+            buffer[(int) (recorded % buffer.length)] = stats;
+            recorded++;
+        }
+        if (streamToSse) {
+            sseService.notifyGenerationStats(stats.jobId(), stats);
+        }
+    }
+
+    /**
+     * 오래된 것부터 최근 순으로. jobId 가 null 이면 전체.
+     */
+    public synchronized List<GenerationStats> recent(String jobId) {
+        int size = (int) Math.min(recorded, buffer.length);
+        List<GenerationStats> stats = new ArrayList<>(size);
+        for (long i = recorded - size; i < recorded; i++) {
+            GenerationStats entry = buffer[(int) (i % buffer.length)];
+            if (jobId == null || jobId.equals(entry.jobId())) {
+                stats.add(entry);
+            }
+        }
+        return stats;
+    }
+}
@@ -6,6 +6,7 @@ import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
 import com.silverithm.vehicleplacementsystem.dto.FixedAssignmentsDTO;
 import com.silverithm.vehicleplacementsystem.entity.ChromosomeV3;
 import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
 import com.silverithm.vehicleplacementsystem.entity.DistanceScore;
 import com.silverithm.vehicleplacementsystem.entity.DurationScore;
 import com.silverithm.vehicleplacementsystem.entity.FixedAssignmentsV2;
@@ -16,7 +17,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.Set;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
@@ -29,7 +30,8 @@ import org.springframework.stereotype.Service;
 public class GeneticAlgorithmV3 {
 
 
-    private static final Random rand = new Random();
+    // 인스턴스(작업)마다 따로 두어 스레드 간에 공유하지 않는다
+    private SplittableRandom rand = new SplittableRandom();
 
     private static final int MAX_ITERATIONS = 300;
     private static final int POPULATION_SIZE = 20000;
@@ -41,7 +43,9 @@ public class GeneticAlgorithmV3 {
     private final List<ElderlyDTO> elderlys;
     private final List<CoupleRequestDTO> couples;
     private final FixedAssignmentsV2 fixedAssignments;
-    private Map<String, Map<String, Integer>> distanceMatrix;
+    private DistanceMatrix distanceMatrix;
+    private int[] employeeSlots;
+    private int[] elderlySlots;
     private DispatchType dispatchType;
     private String userName;
 
@@ -60,9 +64,16 @@ public class GeneticAlgorithmV3 {
         this.sseService = sseService;
     }
 
-    public void initialize(Map<String, Map<String, Integer>> distanceMatrix, DispatchType dispatchType,
+    // 결과를 재현해야 할 때(골든 데이터셋 비교 등) run 전에 호출한다
+    public void setSeed(long seed) {
+        this.rand = new SplittableRandom(seed);
+    }
+
+    public void initialize(DistanceMatrix distanceMatrix, DispatchType dispatchType,
                            String userName) {
         this.distanceMatrix = distanceMatrix;
+        this.employeeSlots = distanceMatrix.employeeSlots(employees);
+        this.elderlySlots = distanceMatrix.elderlySlots(elderlys);
         this.dispatchType = dispatchType;
         this.userName = userName;
     }
@@ -126,7 +137,7 @@ public class GeneticAlgorithmV3 {
 
         List<ChromosomeV3> chromosomes = new ArrayList<>();
         for (int i = 0; i < POPULATION_SIZE; i++) {
-            chromosomes.add(new ChromosomeV3(couples, employees, elderlys, fixedAssignments.getFixedAssignments()));
+            chromosomes.add(new ChromosomeV3(couples, employees, elderlys, fixedAssignments.getFixedAssignments(), rand));
         }
         return chromosomes;
     }
@@ -222,8 +233,8 @@ public class GeneticAlgorithmV3 {
                 for (int j = 0; j < chromosome.getGenes()[i].length - 1; j++) {
                     int elderlyIndex1 = chromosome.getGenes()[i][j];
                     int elderlyIndex2 = chromosome.getGenes()[i][j + 1];
-                    fitness += calculateFitnessForFromAndTo("Elderly_" + elderlys.get(elderlyIndex1).id(),
-                            "Elderly_" + elderlys.get(elderlyIndex2).id());
+                    fitness += calculateFitnessForFromAndTo(elderlySlots[elderlyIndex1],
+                            elderlySlots[elderlyIndex2]);
                 }
                 fitness = addFitnessForDispatchTypes(chromosome, fitness, i);
             }
@@ -235,13 +246,12 @@ public class GeneticAlgorithmV3 {
                     int elderlyIndex1 = chromosome.getGenes()[i][j];
                     int elderlyIndex2 = chromosome.getGenes()[i][j + 1];
 
-                    if (calculateFitnessForFromAndTo("Elderly_" + elderlys.get(elderlyIndex1).id(),
-                            "Elderly_" + elderlys.get(elderlyIndex2).id()) == 10000) {
+                    if (calculateFitnessForFromAndTo(elderlySlots[elderlyIndex1],
+                            elderlySlots[elderlyIndex2]) == 10000) {
                         fitness += 10000;
                     } else {
 
-                        fitness += calculateFitnessForFromAndTo("Employee_" + employees.get(i).id(),
-                                "Elderly_" + elderlys.get(elderlyIndex1).id());
+                        fitness += calculateFitnessForFromAndTo(employeeSlots[i], elderlySlots[elderlyIndex1]);
                     }
 
                 }
@@ -272,45 +282,42 @@ public class GeneticAlgorithmV3 {
     }
 
     private double addFitnessForDispatchTypes(ChromosomeV3 chromosome, double fitness, int i) {
+        int[] gene = chromosome.getGenes()[i];
+        int firstElderlySlot = elderlySlots[gene[0]];
+        int lastElderlySlot = elderlySlots[gene[gene.length - 1]];
+
         if (dispatchType.equals(DispatchType.DISTANCE_OUT) || dispatchType.equals(DispatchType.DURATION_OUT)) {
             if (employees.get(i).isDriver()) {
-                fitness += calculateFitnessForFromAndTo("Elderly_" + elderlys.get(
-                        chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id(), "Company");
+                fitness += calculateFitnessForFromAndTo(lastElderlySlot, DistanceMatrix.COMPANY);
             }
 
             if (!employees.get(i).isDriver()) {
-                fitness += calculateFitnessForFromAndTo("Elderly_" + elderlys.get(
-                                chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id(),
-                        "Employee_" + employees.get(i).id());
+                fitness += calculateFitnessForFromAndTo(lastElderlySlot, employeeSlots[i]);
             }
         }
 
         if (dispatchType.equals(DispatchType.DURATION_IN) || dispatchType.equals(DispatchType.DISTANCE_IN)) {
             if (employees.get(i).isDriver()) {
-                fitness += calculateFitnessForFromAndTo("Company",
-                        "Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
+                fitness += calculateFitnessForFromAndTo(DistanceMatrix.COMPANY, firstElderlySlot);
             }
             if (!employees.get(i).isDriver()) {
-                fitness += calculateFitnessForFromAndTo("Employee_" + employees.get(i).id(),
-                        "Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
+                fitness += calculateFitnessForFromAndTo(employeeSlots[i], firstElderlySlot);
             }
-            fitness += calculateFitnessForFromAndTo(
-                    "Elderly_" + elderlys.get(chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1])
-                            .id(), "Company");
+            fitness += calculateFitnessForFromAndTo(lastElderlySlot, DistanceMatrix.COMPANY);
         }
         return fitness;
     }
 
-    private double calculateFitnessForFromAndTo(String from, String to) {
+    private double calculateFitnessForFromAndTo(int from, int to) {
 
         double score = 0;
 
         if (dispatchType == DispatchType.DURATION_OUT || dispatchType == DispatchType.DURATION_IN) {
-            score = DurationScore.getScore(distanceMatrix.get(from).get(to));
+            score = DurationScore.getScore(distanceMatrix.get(from, to));
         }
 
         if (dispatchType == DispatchType.DISTANCE_OUT || dispatchType == DispatchType.DISTANCE_IN) {
-            score = DistanceScore.getScore(distanceMatrix.get(from).get(to));
+            score = DistanceScore.getScore(distanceMatrix.get(from, to));
         }
 
         return score;
@@ -322,29 +329,22 @@ public class GeneticAlgorithmV3 {
 
         if (dispatchType.equals(DispatchType.DISTANCE_OUT) || dispatchType.equals(DispatchType.DURATION_OUT)) {
             for (int i = 0; i < chromosome.getGenes().length; i++) {
+                int[] gene = chromosome.getGenes()[i];
+                int lastElderlySlot = elderlySlots[gene[gene.length - 1]];
                 double departureTime = 0.0;
-                String company = "Company";
-                departureTime += distanceMatrix.get(company)
-                        .get("Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
+                departureTime += distanceMatrix.get(DistanceMatrix.COMPANY, elderlySlots[gene[0]]);
 
-                for (int j = 0; j < chromosome.getGenes()[i].length - 1; j++) {
-
-                    String startNodeId = "Elderly_" + elderlys.get(chromosome.getGenes()[i][j]).id();
-                    String destinationNodeId = "Elderly_" + elderlys.get(chromosome.getGenes()[i][j + 1]).id();
-                    departureTime += distanceMatrix.get(startNodeId).get(destinationNodeId);
+                for (int j = 0; j < gene.length - 1; j++) {
+                    departureTime += distanceMatrix.get(elderlySlots[gene[j]], elderlySlots[gene[j + 1]]);
                 }
 
 
                 if (employees.get(i).isDriver()) {
-                    departureTime += distanceMatrix.get("Elderly_" + elderlys.get(
-                                    chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id())
-                            .get("Company");
+                    departureTime += distanceMatrix.get(lastElderlySlot, DistanceMatrix.COMPANY);
                 }
 
                 if (!employees.get(i).isDriver()) {
-                    departureTime += distanceMatrix.get("Elderly_" + elderlys.get(
-                                    chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id())
-                            .get("Employee_" + employees.get(i).id());
+                    departureTime += distanceMatrix.get(lastElderlySlot, employeeSlots[i]);
                 }
 
                 departureTimes.add(departureTime);
@@ -353,28 +353,24 @@ public class GeneticAlgorithmV3 {
 
         if (dispatchType.equals(DispatchType.DURATION_IN) || dispatchType.equals(DispatchType.DISTANCE_IN)) {
             for (int i = 0; i < chromosome.getGenes().length; i++) {
-                String company = "Company";
+                int[] gene = chromosome.getGenes()[i];
+                int firstElderlySlot = elderlySlots[gene[0]];
                 double departureTime = 0.0;
 
                 if (employees.get(i).isDriver()) {
-                    departureTime += distanceMatrix.get("Company")
-                            .get("Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
+                    departureTime += distanceMatrix.get(DistanceMatrix.COMPANY, firstElderlySlot);
                 }
 
                 if (!employees.get(i).isDriver()) {
-                    departureTime += distanceMatrix.get("Employee_" + employees.get(i).id())
-                            .get("Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
+                    departureTime += distanceMatrix.get(employeeSlots[i], firstElderlySlot);
                 }
 
-                for (int j = 0; j < chromosome.getGenes()[i].length - 1; j++) {
-                    String startNodeId = "Elderly_" + elderlys.get(chromosome.getGenes()[i][j]).id();
-                    String destinationNodeId = "Elderly_" + elderlys.get(chromosome.getGenes()[i][j + 1]).id();
-                    departureTime += distanceMatrix.get(startNodeId).get(destinationNodeId);
+                for (int j = 0; j < gene.length - 1; j++) {
+                    departureTime += distanceMatrix.get(elderlySlots[gene[j]], elderlySlots[gene[j + 1]]);
                 }
 
 
-                departureTime += distanceMatrix.get("Elderly_" + elderlys.get(
-                        chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id()).get(company);
+                departureTime += distanceMatrix.get(elderlySlots[gene[gene.length - 1]], DistanceMatrix.COMPANY);
 
                 departureTimes.add(departureTime);
             }
@@ -16,7 +16,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.Set;
 import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
@@ -29,7 +29,8 @@ import org.springframework.stereotype.Service;
 public class GeneticAlgorithmV4 {
 
 
-    private static final Random rand = new Random();
+    // 인스턴스(작업)마다 따로 두어 스레드 간에 공유하지 않는다
+    private SplittableRandom rand = new SplittableRandom();
 
     private final StringBuilder elderlyBuilder = new StringBuilder("Elderly_");
     private final StringBuilder employeeBuilder = new StringBuilder("Employee_");
@@ -64,6 +65,11 @@ public class GeneticAlgorithmV4 {
         this.sseService = sseService;
     }
 
+    // 결과를 재현해야 할 때(골든 데이터셋 비교 등) run 전에 호출한다
+    public void setSeed(long seed) {
+        this.rand = new SplittableRandom(seed);
+    }
+
     public void initialize(Map<String, Map<String, Integer>> distanceMatrix, DispatchType dispatchType,
                            String userName) {
         this.distanceMatrix = distanceMatrix;
@@ -130,7 +136,7 @@ public class GeneticAlgorithmV4 {
 
         List<ChromosomeV3> chromosomes = new ArrayList<>();
         for (int i = 0; i < POPULATION_SIZE; i++) {
-            chromosomes.add(new ChromosomeV3(couples, employees, elderlys, fixedAssignments.getFixedAssignments()));
+            chromosomes.add(new ChromosomeV3(couples, employees, elderlys, fixedAssignments.getFixedAssignments(), rand));
         }
         return chromosomes;
     }
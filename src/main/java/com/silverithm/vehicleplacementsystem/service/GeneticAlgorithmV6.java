@@ -5,91 +5,247 @@ import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
 import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
 import com.silverithm.vehicleplacementsystem.dto.FixedAssignmentsDTO;
 import com.silverithm.vehicleplacementsystem.entity.ChromosomeV3;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV5;
+import com.silverithm.vehicleplacementsystem.entity.DispatchConstraints;
 import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
 import com.silverithm.vehicleplacementsystem.entity.DistanceScore;
 import com.silverithm.vehicleplacementsystem.entity.DurationScore;
 import com.silverithm.vehicleplacementsystem.entity.FixedAssignmentsV2;
+import com.silverithm.vehicleplacementsystem.entity.GenerationStats;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmParameters;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmResult;
+import com.silverithm.vehicleplacementsystem.entity.LocalSearchParameters;
+import com.silverithm.vehicleplacementsystem.entity.ScoreTable;
+import com.silverithm.vehicleplacementsystem.entity.StopReason;
+import com.silverithm.vehicleplacementsystem.entity.TerminationCriteria;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
-import java.util.Set;
-import java.util.stream.Stream;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.stereotype.Service;
 
+/**
+ * 작업(배차 요청)마다 생성해서 사용하는 유전 알고리즘.
+ * <p>
+ * 초기 해 생성, 평가, 교차, 돌연변이는 고정 크기({@link #CHUNK_SIZE}) 청크로 나누어 executor 에서 병렬로 수행한다. 각 청크는
+ * 호출 스레드에서 순서대로 split 한 자체 RNG 를 사용하므로, 같은 seed 를 주면 스레드 수와 관계없이 같은 결과가 나온다.
+ * <p>
+ * 염색체는 {@link ChromosomeV5} (펼친 int[] + 경로 offset) 로 다룬다. 초기 해만 ChromosomeV3 생성 로직으로 만든 뒤 변환한다.
+ * <p>
+ * 세대 반복 중에는 염색체를 새로 만들지 않는다. 현재/다음 세대, 교차 결과, 돌연변이 결과 버퍼를 시작할 때 한 번 만들어 두고,
+ * 다음 세대는 선택된 염색체를 nextPopulation 에 복사한 뒤 population 과 교체한다(double buffering).
+ * <p>
+ * {@link LocalSearchParameters} 를 지정하면 세대마다 평가 직후 상위 개체에 {@link RouteLocalSearch} (2-opt, relocate)를
+ * 적용한다(memetic).
+ */
 @Slf4j
-@Service
-@EnableCaching
-public class GeneticAlgorithmV6 {
+public class GeneticAlgorithmV6 implements DispatchGeneticAlgorithm {
 
 
-    private static final Random rand = new Random();
-
-    private static final int MAX_ITERATIONS = 300;
-    private static final int POPULATION_SIZE = 20000;
-    private static final double MUTATION_RATE = 0.9;
-    private static final double CROSSOVER_RATE = 0.7;
     private static final int BATCH_SIZE = 200;
+    // 청크 경계가 스레드 수에 따라 달라지면 RNG 분배가 바뀌므로 고정 크기를 사용
+    private static final int CHUNK_SIZE = 500;
+    private static final int DIVERSITY_SAMPLES = 64;
+    // 지역 탐색은 개체당 비용이 커서 작은 청크로 나눈다
+    private static final int LOCAL_SEARCH_CHUNK_SIZE = 8;
+
+    private static final Comparator<ChromosomeV5> BY_FITNESS_DESC =
+            (c1, c2) -> Double.compare(c2.getFitness(), c1.getFitness());
 
     private final List<EmployeeDTO> employees;
     private final List<ElderlyDTO> elderlys;
     private final List<CoupleRequestDTO> couples;
     private final FixedAssignmentsV2 fixedAssignments;
-    private Map<String, Map<String, Integer>> distanceMatrix;
+    private final DispatchConstraints constraints;
+    // 교차/돌연변이로 만든 자손 수와 그중 수리 후 제약조건을 만족한 수
+    private final LongAdder producedOffspring = new LongAdder();
+    private final LongAdder feasibleOffspring = new LongAdder();
+    private DistanceMatrix distanceMatrix;
+    private int[] employeeSlots;
+    private int[] elderlySlots;
     private DispatchType dispatchType;
+    private ScoreTable scoreTable;      // 간선(from -> to) 근접도 점수 곡선
     private String userName;
 
+    private SplittableGenerator random;
+    private int populationSize = GeneticAlgorithmParameters.DEFAULT.populationSize();
+    private double crossoverRate = GeneticAlgorithmParameters.DEFAULT.crossoverRate();
+    private double mutationRate = GeneticAlgorithmParameters.DEFAULT.mutationRate();
+    private TerminationCriteria terminationCriteria = TerminationCriteria.generations(
+            GeneticAlgorithmParameters.DEFAULT.maxGenerations());
+    private GeneticAlgorithmTelemetry telemetry;
+    private LocalSearchParameters localSearchParameters = LocalSearchParameters.DISABLED;
+    private RouteLocalSearch localSearch;
+
+    // 세대마다 재사용하는 염색체 버퍼 (run 시작 시 한 번 생성)
+    private ChromosomeV5[] population;
+    private ChromosomeV5[] nextPopulation;
+    private int populationCount;
+    private ChromosomeV5[] offspringBuffer;
+    private ChromosomeV5[] offspring;   // 이번 세대 자손. 교차하지 않은 쌍은 부모를 그대로 가리킨다
+    private int offspringCount;
+    private ChromosomeV5[] mutatedBuffer;
+    private ChromosomeV5[] candidates;
+    private int[] uniqueTable;          // 중복 제거용 open addressing 테이블 (candidates 인덱스 + 1)
+    private double[] fitnessBuffer;     // 상위 선택(quickselect)용
+
     private final SSEService sseService;
+    private final Executor executor;
 
     public GeneticAlgorithmV6(List<EmployeeDTO> employees,
                               List<ElderlyDTO> elderly,
                               List<CoupleRequestDTO> couples,
                               List<FixedAssignmentsDTO> fixedAssignments,
-                              SSEService sseService
+                              SSEService sseService,
+                              Executor executor
+    ) {
+        this(employees, elderly, couples, fixedAssignments, null, sseService, executor);
+    }
+
+    /**
+     * @param passengers 어르신 대신 {@link com.silverithm.vehicleplacementsystem.entity.ElderlyStops} 의 정류장을 넘길 때
+     *                   정류장별 인원. null 이면 모두 1명
+     */
+    public GeneticAlgorithmV6(List<EmployeeDTO> employees,
+                              List<ElderlyDTO> elderly,
+                              List<CoupleRequestDTO> couples,
+                              List<FixedAssignmentsDTO> fixedAssignments,
+                              int[] passengers,
+                              SSEService sseService,
+                              Executor executor
     ) {
         this.employees = employees;
         this.elderlys = elderly;
         this.couples = couples;
         this.fixedAssignments = generateFixedAssignmentMap(fixedAssignments, elderlys, employees);
+        this.constraints = new DispatchConstraints(employees, elderlys, couples, this.fixedAssignments, passengers);
         this.sseService = sseService;
+        this.executor = executor;
     }
 
-    public void initialize(Map<String, Map<String, Integer>> distanceMatrix, DispatchType dispatchType,
-                           String userName) {
+    public void initialize(DistanceMatrix distanceMatrix, DispatchType dispatchType,
+                           String userName, Long seed) {
+        initialize(distanceMatrix, dispatchType, userName,
+                seed == null ? new SplittableRandom() : new SplittableRandom(seed));
+    }
+
+    /**
+     * @param random 작업 seed 로 만든 생성기. 청크마다 split() 해서 쓰므로 같은 seed 면 executor 스레드 수와 관계없이 결과가 같다.
+     */
+    @Override
+    public void initialize(DistanceMatrix distanceMatrix, DispatchType dispatchType,
+                           String userName, SplittableGenerator random) {
         this.distanceMatrix = distanceMatrix;
+        this.employeeSlots = distanceMatrix.employeeSlots(employees);
+        this.elderlySlots = distanceMatrix.elderlySlots(elderlys);
         this.dispatchType = dispatchType;
+        this.scoreTable = dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT
+                ? DurationScore.table() : DistanceScore.table();
         this.userName = userName;
+        this.random = random;
     }
 
 
-    public List<ChromosomeV3> run(String jobId) throws Exception {
+    /**
+     * 개체 수와 교차/돌연변이 확률을 지정한다. 지정하지 않으면 {@link GeneticAlgorithmParameters#DEFAULT} 를 쓴다. 세대 수는
+     * {@link #setTerminationCriteria(TerminationCriteria)} 로 정한다.
+     */
+    @Override
+    public void setParameters(GeneticAlgorithmParameters parameters) {
+        this.populationSize = parameters.populationSize();
+        this.crossoverRate = parameters.crossoverRate();
+        this.mutationRate = parameters.mutationRate();
+    }
+
+    /**
+     * 세대별 요약을 기록할 곳. 지정하지 않으면 기록하지 않는다.
+     */
+    @Override
+    public void setTelemetry(GeneticAlgorithmTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    /**
+     * 세대마다 상위 개체에 적용할 지역 탐색. 지정하지 않으면 지역 탐색을 하지 않는다.
+     */
+    @Override
+    public void setLocalSearchParameters(LocalSearchParameters localSearchParameters) {
+        this.localSearchParameters = localSearchParameters;
+        this.localSearch = new RouteLocalSearch(this::calculateFitness, constraints,
+                localSearchParameters.maxPasses());
+    }
+
+    /**
+     * 근접도 점수 곡선을 바꾼다. initialize 후에 호출해야 하며, 지정하지 않으면 배차 유형에 맞는 기본 곡선
+     * ({@link DurationScore} / {@link DistanceScore})을 쓴다.
+     */
+    @Override
+    public void setScoreTable(ScoreTable scoreTable) {
+        this.scoreTable = scoreTable;
+    }
+
+    /**
+     * 종료 조건을 지정한다. 지정하지 않으면 {@link GeneticAlgorithmParameters#DEFAULT} 의 세대 수를 모두 진행한다.
+     */
+    @Override
+    public void setTerminationCriteria(TerminationCriteria terminationCriteria) {
+        this.terminationCriteria = terminationCriteria;
+    }
+
+    @Override
+    public GeneticAlgorithmResult run(String jobId) throws Exception {
+        long startTime = System.currentTimeMillis();
+        int maxGenerations = terminationCriteria.maxGenerations();
+        StopReason stopReason = StopReason.MAX_GENERATIONS;
+        int generations = 0;
+        double bestFitness = 0.0;
+        int stagnantGenerations = 0;
+
         // 초기 솔루션 생성
-        List<ChromosomeV3> chromosomes;
         try {
 
-            chromosomes = generateInitialPopulation(fixedAssignments);
+            allocateBuffers(generateInitialPopulation(fixedAssignments));
             sseService.notify(jobId, 20);
 
-            for (int i = 0; i < MAX_ITERATIONS; i++) {
+            for (int i = 0; i < maxGenerations; i++) {
 
-                sseService.notify(jobId, String.format("%.1f", 20 + ((i / (double) MAX_ITERATIONS) * 75)));
+                sseService.notify(jobId, String.format("%.1f", 20 + ((i / (double) maxGenerations) * 75)));
 
                 // 평가
-                evaluatePopulation(chromosomes);
-                // 선택
-                List<ChromosomeV3> selectedChromosomes = selectChromosomes(chromosomes);
-                // 교차
-                List<ChromosomeV3> offspringChromosomes = crossover(selectedChromosomes);
-                // 돌연변이
-                List<ChromosomeV3> mutatedChromosomes = mutate(offspringChromosomes);
-                // 다음 세대 생성
-                chromosomes = combinePopulations(selectedChromosomes, offspringChromosomes, mutatedChromosomes);
+                evaluatePopulation();
+                improveElites();
+
+                if (telemetry != null && telemetry.isSampled(i)) {
+                    telemetry.record(generationStats(jobId, i));
+                }
+
+                // 종료 조건 검사 (방금 평가한 세대 기준)
+                double generationBest = bestFitness();
+                if (generationBest > bestFitness) {
+                    bestFitness = generationBest;
+                    stagnantGenerations = 0;
+                } else {
+                    stagnantGenerations++;
+                }
+                StopReason earlyStop = terminationCriteria.checkEarlyStop(bestFitness, stagnantGenerations,
+                        System.currentTimeMillis() - startTime);
+                if (earlyStop != null) {
+                    stopReason = earlyStop;
+                    break;
+                }
+                generations++;
+
+                // 선택: combinePopulations 에서 이미 상위 populationSize 개로 잘라 두었으므로 현재 세대 전체
+                breed();
 //                log.info(chromosomes.get(0).getFitness() + " " + chromosomes.get(0).getGenes());
 
             }
@@ -101,112 +257,362 @@ public class GeneticAlgorithmV6 {
         }
         // 반복
 
+        List<ChromosomeV5> chromosomes = new ArrayList<>(Arrays.asList(population).subList(0, populationCount));
         Collections.sort(chromosomes, (c1, c2) -> Double.compare(c2.getFitness(), c1.getFitness()));
+
+        long elapsedMillis = System.currentTimeMillis() - startTime;
+        log.info("genetic algorithm stopped : " + stopReason + ", generations : " + generations + ", elapsed : "
+                + elapsedMillis + "ms, best fitness : " + chromosomes.get(0).getFitness());
         // 최적의 솔루션 추출
-        return chromosomes;
+        return new GeneticAlgorithmResult(chromosomes, stopReason, generations, elapsedMillis,
+                producedOffspring.sum(), feasibleOffspring.sum());
 
     }
 
-    private List<ChromosomeV3> selectChromosomes(List<ChromosomeV3> chromosomes) {
-        if (chromosomes.size() < POPULATION_SIZE) {
-            return chromosomes;
-        }
+    /**
+     * 섬 모델({@link IslandGeneticAlgorithm})용. 초기 해를 만들고 평가한다.
+     */
+    void seedPopulation() throws Exception {
+        seedPopulation(generateInitialPopulation(fixedAssignments));
+    }
 
-        return chromosomes.subList(0, POPULATION_SIZE);
+    /**
+     * 주어진 초기 해(길이 populationSize)로 시작한다. 테스트에서 특정 세대를 만들어 교차/돌연변이를 검사할 때 쓴다.
+     */
+    void seedPopulation(ChromosomeV5[] initialPopulation) {
+        allocateBuffers(initialPopulation);
+        evaluatePopulation();
+        improveElites();
     }
 
-    private FixedAssignmentsV2 generateFixedAssignmentMap(List<FixedAssignmentsDTO> fixedAssignmentDtos,
-                                                          List<ElderlyDTO> elderlys,
-                                                          List<EmployeeDTO> employees) {
-        FixedAssignmentsV2 fixedAssignments = new FixedAssignmentsV2(fixedAssignmentDtos, employees, elderlys);
-        return fixedAssignments;
+    /**
+     * 섬 모델용. 세대를 최대 generations 번 진행한다. 호출 전후 모두 현재 세대는 평가된 상태다.
+     * <p>
+     * deadline(System.currentTimeMillis 기준, 0 이하면 없음)이 지나거나 이 섬의 최고 적합도가 targetFitness(0 이하면 없음)에
+     * 닿으면 그 세대에서 멈춘다. 진행한 세대마다 최고 적합도를, telemetry 가 표본으로 고른 세대는 통계도 함께 돌려준다.
+     *
+     * @param firstGeneration 이번 호출 직전 세대 번호 (진행한 i 번째 세대는 firstGeneration + i + 1)
+     */
+    Epoch advance(int generations, long deadline, double targetFitness, GeneticAlgorithmTelemetry telemetry,
+                  String jobId, int firstGeneration) {
+        double[] bestFitness = new double[generations];
+        GenerationStats[] stats = new GenerationStats[generations];
+        int advanced = 0;
+        while (advanced < generations) {
+            breed();
+            evaluatePopulation();
+            improveElites();
+
+            int generation = firstGeneration + advanced + 1;
+            bestFitness[advanced] = bestFitness();
+            if (telemetry != null && telemetry.isSampled(generation)) {
+                stats[advanced] = generationStats(jobId, generation);
+            }
+            advanced++;
+
+            if (targetFitness > 0 && bestFitness[advanced - 1] >= targetFitness) {
+                break;
+            }
+            if (deadline > 0 && System.currentTimeMillis() >= deadline) {
+                break;
+            }
+        }
+        return new Epoch(Arrays.copyOf(bestFitness, advanced), Arrays.copyOf(stats, advanced));
     }
 
-    private List<ChromosomeV3> generateInitialPopulation(FixedAssignmentsV2 fixedAssignments) throws Exception {
+    /**
+     * {@link #advance} 결과. 배열 길이가 실제로 진행한 세대 수다.
+     *
+     * @param bestFitness 세대별 이 섬의 최고 적합도
+     * @param stats       세대별 통계 (표본이 아닌 세대는 null)
+     */
+    record Epoch(double[] bestFitness, GenerationStats[] stats) {
+
+        int generations() {
+            return bestFitness.length;
+        }
+    }
 
-        List<ChromosomeV3> chromosomes = new ArrayList<>();
-        for (int i = 0; i < POPULATION_SIZE; i++) {
-            chromosomes.add(new ChromosomeV3(couples, employees, elderlys, fixedAssignments.getFixedAssignments()));
+    /**
+     * 섬 모델용. 적합도 상위 count 개의 복사본 (적합도 내림차순).
+     */
+    ChromosomeV5[] elites(int count) {
+        ChromosomeV5[] sorted = Arrays.copyOf(population, populationCount);
+        Arrays.sort(sorted, BY_FITNESS_DESC);
+        ChromosomeV5[] elites = new ChromosomeV5[Math.min(count, populationCount)];
+        for (int i = 0; i < elites.length; i++) {
+            elites[i] = ChromosomeV5.copy(sorted[i]);
         }
+        return elites;
+    }
+
+    /**
+     * 섬 모델용. 적합도가 가장 낮은 개체부터 이주해 온 개체로 덮어쓴다. 이미 같은 경로 구성이 있는 개체는 받지 않는다.
+     */
+    void acceptMigrants(ChromosomeV5[] migrants) {
+        for (ChromosomeV5 migrant : migrants) {
+            int worst = 0;
+            boolean duplicate = false;
+            for (int i = 0; i < populationCount && !duplicate; i++) {
+                duplicate = population[i].getRoutesHash() == migrant.getRoutesHash()
+                        && population[i].sameRoutes(migrant);
+                if (population[i].getFitness() < population[worst].getFitness()) {
+                    worst = i;
+                }
+            }
+            if (!duplicate && migrant.getFitness() > population[worst].getFitness()) {
+                population[worst].copyFrom(migrant);
+            }
+        }
+    }
+
+    /**
+     * 섬 모델용. 현재 세대를 적합도 내림차순으로.
+     */
+    List<ChromosomeV5> sortedPopulation() {
+        List<ChromosomeV5> chromosomes = new ArrayList<>(Arrays.asList(population).subList(0, populationCount));
+        Collections.sort(chromosomes, BY_FITNESS_DESC);
         return chromosomes;
     }
 
-    private void evaluatePopulation(List<ChromosomeV3> chromosomes) {
-        for (ChromosomeV3 chromosome : chromosomes) {
-            chromosome.setFitness(calculateFitness(chromosome));
+    private void breed() {
+        // 교차
+        crossover();
+        // 돌연변이
+        mutate();
+        // 다음 세대 생성
+        combinePopulations();
+    }
+
+    /**
+     * 현재(평가된) 세대의 요약. 다양성은 최고 개체와 최대 DIVERSITY_SAMPLES 개 표본의 유전자 위치별 차이 비율 평균이다.
+     */
+    GenerationStats generationStats(String jobId, int generation) {
+        int bestIndex = 0;
+        double worst = Double.MAX_VALUE;
+        double sum = 0.0;
+        int feasible = 0;
+        for (int i = 0; i < populationCount; i++) {
+            double fitness = population[i].getFitness();
+            if (fitness > population[bestIndex].getFitness()) {
+                bestIndex = i;
+            }
+            worst = Math.min(worst, fitness);
+            sum += fitness;
+            if (fitness > 0) {
+                feasible++;
+            }
+        }
+
+        ChromosomeV5 best = population[bestIndex];
+        int samples = Math.min(DIVERSITY_SAMPLES, populationCount);
+        double diversity = 0.0;
+        for (int s = 0; s < samples; s++) {
+            ChromosomeV5 sample = population[(int) ((long) s * populationCount / samples)];
+            int different = 0;
+            for (int k = 0; k < best.geneCount(); k++) {
+                if (best.getGenes()[k] != sample.getGenes()[k]) {
+                    different++;
+                }
+            }
+            diversity += different / (double) Math.max(1, best.geneCount());
         }
+
+        return new GenerationStats(jobId, generation, best.getFitness(), sum / populationCount, worst,
+                diversity / samples, feasible / (double) populationCount, populationCount,
+                System.currentTimeMillis());
     }
 
-    public double calculateFitness(ChromosomeV3 chromosome) {
-        double fitness = 0.0;
+    long producedOffspring() {
+        return producedOffspring.sum();
+    }
+
+    long feasibleOffspring() {
+        return feasibleOffspring.sum();
+    }
 
-        if (!isValidChromosome(chromosome)) {
-            return 0.0;
+    double bestFitness() {
+        double best = 0.0;
+        for (int i = 0; i < populationCount; i++) {
+            best = Math.max(best, population[i].getFitness());
         }
+        return best;
+    }
 
-        fitness += calculateFitnessForDepartureTimes(chromosome);
-        fitness += addFitnessForProximity(chromosome);
+    private void allocateBuffers(ChromosomeV5[] initialPopulation) {
+        int geneCapacity = 0;
+        for (ChromosomeV5 chromosome : initialPopulation) {
+            geneCapacity = Math.max(geneCapacity, chromosome.geneCount());
+        }
+        int routeCount = employees.size();
+
+        // 초기 해의 유전자 수는 다를 수 있다 (ChromosomeV3 가 고정 배정 경로에 놓인 부부를 덮어쓰는 경우). 세대가 바뀌면
+        // population 과 nextPopulation 이 교체되므로 초기 해도 모두 같은 길이의 버퍼로 맞춘다.
+        for (int i = 0; i < initialPopulation.length; i++) {
+            if (initialPopulation[i].getGenes().length < geneCapacity) {
+                ChromosomeV5 buffer = ChromosomeV5.buffer(geneCapacity, routeCount);
+                buffer.copyFrom(initialPopulation[i]);
+                initialPopulation[i] = buffer;
+            }
+        }
+        population = initialPopulation;
+        populationCount = initialPopulation.length;
+        nextPopulation = newBuffers(populationSize, geneCapacity, routeCount);
+        offspringBuffer = newBuffers(populationSize, geneCapacity, routeCount);
+        offspring = new ChromosomeV5[populationSize];
+        mutatedBuffer = newBuffers(populationSize, geneCapacity, routeCount);
+        candidates = new ChromosomeV5[populationSize * 3];
+        uniqueTable = new int[Integer.highestOneBit(candidates.length * 2 - 1) << 1];
+        fitnessBuffer = new double[candidates.length];
+    }
 
-        chromosome.getDepartureTimes().forEach((departureTime) -> {
-            log.info("departure time : " + departureTime);
-        });
+    private ChromosomeV5[] newBuffers(int size, int geneCapacity, int routeCount) {
+        ChromosomeV5[] buffers = new ChromosomeV5[size];
+        for (int i = 0; i < size; i++) {
+            buffers[i] = ChromosomeV5.buffer(geneCapacity, routeCount);
+        }
+        return buffers;
+    }
 
-        return fitness;
+    private FixedAssignmentsV2 generateFixedAssignmentMap(List<FixedAssignmentsDTO> fixedAssignmentDtos,
+                                                          List<ElderlyDTO> elderlys,
+                                                          List<EmployeeDTO> employees) {
+        FixedAssignmentsV2 fixedAssignments = new FixedAssignmentsV2(fixedAssignmentDtos, employees, elderlys);
+        return fixedAssignments;
     }
 
-    private boolean isValidChromosome(ChromosomeV3 chromosome) {
-        // 모든 제약조건 검사
-        return evaluateFrontSeatAssignments(chromosome) &&
-                evaluateFixedAssignments(chromosome) &&
-                evaluateCoupleAssignments(chromosome);
+    private ChromosomeV5[] generateInitialPopulation(FixedAssignmentsV2 fixedAssignments) {
+
+        ChromosomeV5[] chromosomes = new ChromosomeV5[populationSize];
+        forEachChunk(populationSize, (from, to, chunkRandom) -> {
+            for (int i = from; i < to; i++) {
+                try {
+                    chromosomes[i] = ChromosomeV5.from(new ChromosomeV3(couples, employees, elderlys,
+                            fixedAssignments.getFixedAssignments(), chunkRandom).getGenes());
+                    constraints.repair(chromosomes[i]);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }
+        });
+        return chromosomes;
     }
 
+    private void evaluatePopulation() {
+        forEachChunk(populationCount, (from, to, chunkRandom) -> {
+            for (int i = from; i < to; i++) {
+                ChromosomeV5 chromosome = population[i];
+                chromosome.setFitness(calculateFitness(chromosome));
+            }
+        });
+    }
 
-    private boolean evaluateCoupleAssignments(ChromosomeV3 chromosome) {
-        // Elderly ID를 인덱스로 매핑하는 맵 생성
-        Map<Long, Integer> elderlyIdToIndex = new HashMap<>();
-        for (int i = 0; i < elderlys.size(); i++) {
-            elderlyIdToIndex.put(elderlys.get(i).id(), i);
+    /**
+     * 현재(평가된) 세대의 적합도 상위 개체에 지역 탐색을 적용한다. 세대당 시간 한도는 모든 청크가 함께 쓴다.
+     */
+    private void improveElites() {
+        int eliteCount = Math.min(populationCount, localSearchParameters.eliteCount(populationCount));
+        if (eliteCount == 0) {
+            return;
         }
+        int[] elites = topIndices(eliteCount);
+        long deadline = localSearchParameters.timeBudgetMillis() > 0
+                ? System.nanoTime() + localSearchParameters.timeBudgetMillis() * 1_000_000L : Long.MAX_VALUE;
+        forEachChunk(eliteCount, LOCAL_SEARCH_CHUNK_SIZE, (from, to, chunkRandom) -> {
+            for (int i = from; i < to; i++) {
+                localSearch.improve(population[elites[i]], deadline);
+            }
+        });
+    }
 
-        // 각 부부 어르신에 대해 평가
-        for (CoupleRequestDTO couple : couples) {
-            long elderly1Id = couple.elderId1();
-            long elderly2Id = couple.elderId2();
+    // population 중 적합도 상위 count 개의 인덱스 (keepTop 과 같은 방식으로 동점은 앞쪽 우선)
+    private int[] topIndices(int count) {
+        for (int i = 0; i < populationCount; i++) {
+            fitnessBuffer[i] = population[i].getFitness();
+        }
+        double threshold = selectDescending(fitnessBuffer, populationCount, count - 1);
 
-            // 실제 ID를 인덱스로 변환
-            Integer elderly1Index = elderlyIdToIndex.get(elderly1Id);
-            Integer elderly2Index = elderlyIdToIndex.get(elderly2Id);
+        int above = 0;
+        for (int i = 0; i < populationCount; i++) {
+            if (population[i].getFitness() > threshold) {
+                above++;
+            }
+        }
 
-            if (elderly1Index == null || elderly2Index == null) {
-                // 인덱스 변환 실패시 다음 부부로 건너뛰기
-                continue;
+        int tiesLeft = count - above;
+        int[] indices = new int[count];
+        int kept = 0;
+        for (int i = 0; i < populationCount && kept < count; i++) {
+            double fitness = population[i].getFitness();
+            if (fitness > threshold || (fitness == threshold && tiesLeft-- > 0)) {
+                indices[kept++] = i;
             }
+        }
+        return indices;
+    }
 
-            boolean found = false;
+    private void forEachChunk(int size, ChunkTask task) {
+        forEachChunk(size, CHUNK_SIZE, task);
+    }
 
-            // 부부가 같은 차량에 배정되었는지 확인
-            for (int[] gene : chromosome.getGenes()) {
-                if (Arrays.stream(gene).boxed().filter(e -> e == elderly1Index).count() >= 1
-                        && Arrays.stream(gene).boxed().filter(e -> e == elderly2Index).count() >= 1) {
-                    found = true;
-                    break;
-                }
+    /**
+     * [0, size) 구간을 chunkSize 단위로 나누어 executor 에서 실행하고 모두 끝날 때까지 기다린다. 청크별 RNG 는 호출 스레드에서
+     * 청크 순서대로 split 하므로 실행 순서와 무관하게 결정적이다.
+     */
+    private void forEachChunk(int size, int chunkSize, ChunkTask task) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int start = 0; start < size; start += chunkSize) {
+            int from = start;
+            int to = Math.min(size, start + chunkSize);
+            RandomGenerator chunkRandom = random.split();
+            futures.add(CompletableFuture.runAsync(() -> task.run(from, to, chunkRandom), executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    @FunctionalInterface
+    private interface ChunkTask {
+        void run(int from, int to, RandomGenerator random);
+    }
+
+    /**
+     * 바뀐(dirty) 경로만 다시 계산하고, 경로별로 캐시된 출발 시간과 근접도 점수를 더해 적합도를 만든다.
+     * <p>
+     * 점수와 거리는 모두 정수 값이라 경로별로 나누어 더해도 전체를 한 번에 더한 것과 같은 값이 나온다.
+     */
+    public double calculateFitness(ChromosomeV5 chromosome) {
+        for (int route = 0; route < chromosome.routeCount(); route++) {
+            if (chromosome.isRouteDirty(route)) {
+                evaluateRoute(chromosome, route);
             }
+        }
 
-            // 부부가 다른 차량에 배정된 경우
-            if (!found) {
-                return false;
+        double totalDepartureTime = 0.0;
+        double proximity = 0.0;
+        double[] departureTimes = chromosome.getDepartureTimes();
+        for (int route = 0; route < chromosome.routeCount(); route++) {
+            // 제약조건을 하나라도 어기면 0
+            if (!chromosome.isRouteValid(route)) {
+                return 0.0;
             }
+            totalDepartureTime += departureTimes[route];
+            proximity += chromosome.routeScore(route);
         }
-        return true; // 모든 부부가 같은 차량에 배정됨
+
+        return calculateFitnessForDepartureTimes(totalDepartureTime) + proximity;
     }
 
-    private double calculateFitnessForDepartureTimes(ChromosomeV3 chromosome) {
+    private void evaluateRoute(ChromosomeV5 chromosome, int route) {
+        if (!constraints.isRouteValid(chromosome, route)) {
+            chromosome.setRouteScore(route, false, 0.0, 0.0);
+            return;
+        }
+        chromosome.setRouteScore(route, true, calculateDepartureTime(chromosome, route),
+                calculateFitnessForProximity(chromosome, route));
+    }
+
+    private double calculateFitnessForDepartureTimes(double totalDepartureTime) {
         double fitness;
-        List<Double> departureTimes = calculateDepartureTimes(chromosome);
-        chromosome.setDepartureTimes(departureTimes);
-        double totalDepartureTime = departureTimes.stream().mapToDouble(Double::doubleValue).sum();
 
         if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
             fitness = 10000000 / ((totalDepartureTime + 1.0));
@@ -218,253 +624,225 @@ public class GeneticAlgorithmV6 {
         return fitness;
     }
 
-    private double addFitnessForProximity(ChromosomeV3 chromosome) {
+    private double calculateFitnessForProximity(ChromosomeV5 chromosome, int i) {
 
         double fitness = 0.0;
+        int[] genes = chromosome.getGenes();
 
         if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
-            for (int i = 0; i < chromosome.getGenes().length; i++) {
-                for (int j = 0; j < chromosome.getGenes()[i].length - 1; j++) {
-                    int elderlyIndex1 = chromosome.getGenes()[i][j];
-                    int elderlyIndex2 = chromosome.getGenes()[i][j + 1];
-                    fitness += calculateFitnessForFromAndTo("Elderly_" + elderlys.get(elderlyIndex1).id(),
-                            "Elderly_" + elderlys.get(elderlyIndex2).id());
-                }
-                fitness = addFitnessForDispatchTypes(chromosome, fitness, i);
+            for (int j = chromosome.routeStart(i); j < chromosome.routeEnd(i) - 1; j++) {
+                int elderlyIndex1 = genes[j];
+                int elderlyIndex2 = genes[j + 1];
+                fitness += calculateFitnessForFromAndTo(elderlySlots[elderlyIndex1],
+                        elderlySlots[elderlyIndex2]);
             }
+            fitness = addFitnessForDispatchTypes(chromosome, fitness, i);
         }
 
         if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
-            for (int i = 0; i < chromosome.getGenes().length; i++) {
-                for (int j = 0; j < chromosome.getGenes()[i].length - 1; j++) {
-                    int elderlyIndex1 = chromosome.getGenes()[i][j];
-                    int elderlyIndex2 = chromosome.getGenes()[i][j + 1];
-
-                    if (calculateFitnessForFromAndTo("Elderly_" + elderlys.get(elderlyIndex1).id(),
-                            "Elderly_" + elderlys.get(elderlyIndex2).id()) == 10000) {
-                        fitness += 10000;
-                    } else {
+            for (int j = chromosome.routeStart(i); j < chromosome.routeEnd(i) - 1; j++) {
+                int elderlyIndex1 = genes[j];
+                int elderlyIndex2 = genes[j + 1];
 
-                        fitness += calculateFitnessForFromAndTo("Employee_" + employees.get(i).id(),
-                                "Elderly_" + elderlys.get(elderlyIndex1).id());
-                    }
+                if (calculateFitnessForFromAndTo(elderlySlots[elderlyIndex1],
+                        elderlySlots[elderlyIndex2]) == 10000) {
+                    fitness += 10000;
+                } else {
 
+                    fitness += calculateFitnessForFromAndTo(employeeSlots[i], elderlySlots[elderlyIndex1]);
                 }
-                fitness = addFitnessForDispatchTypes(chromosome, fitness, i);
+
             }
+            fitness = addFitnessForDispatchTypes(chromosome, fitness, i);
         }
 
         return fitness;
     }
 
-    private boolean evaluateFixedAssignments(ChromosomeV3 chromosome) {
-        return fixedAssignments.evaluateFitness(chromosome);
-    }
+    private double addFitnessForDispatchTypes(ChromosomeV5 chromosome, double fitness, int i) {
+        int[] genes = chromosome.getGenes();
+        int firstElderlySlot = elderlySlots[genes[chromosome.routeStart(i)]];
+        int lastElderlySlot = elderlySlots[genes[chromosome.routeEnd(i) - 1]];
 
-    private boolean evaluateFrontSeatAssignments(ChromosomeV3 chromosome) {
-        for (int i = 0; i < employees.size(); i++) {
-            boolean frontSeatAssigned = false;
-            for (int j = 0; j < chromosome.getGenes()[i].length; j++) {
-                if (elderlys.get(j).requiredFrontSeat()) {
-                    if (frontSeatAssigned) {
-                        return false;
-                    }
-                    frontSeatAssigned = true;
-                }
-            }
-        }
-        return true;
-    }
-
-    private double addFitnessForDispatchTypes(ChromosomeV3 chromosome, double fitness, int i) {
         if (dispatchType.equals(DispatchType.DISTANCE_OUT) || dispatchType.equals(DispatchType.DURATION_OUT)) {
             if (employees.get(i).isDriver()) {
-                fitness += calculateFitnessForFromAndTo("Elderly_" + elderlys.get(
-                        chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id(), "Company");
+                fitness += calculateFitnessForFromAndTo(lastElderlySlot, DistanceMatrix.COMPANY);
             }
 
             if (!employees.get(i).isDriver()) {
-                fitness += calculateFitnessForFromAndTo("Elderly_" + elderlys.get(
-                                chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id(),
-                        "Employee_" + employees.get(i).id());
+                fitness += calculateFitnessForFromAndTo(lastElderlySlot, employeeSlots[i]);
             }
         }
 
         if (dispatchType.equals(DispatchType.DURATION_IN) || dispatchType.equals(DispatchType.DISTANCE_IN)) {
             if (employees.get(i).isDriver()) {
-                fitness += calculateFitnessForFromAndTo("Company",
-                        "Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
+                fitness += calculateFitnessForFromAndTo(DistanceMatrix.COMPANY, firstElderlySlot);
             }
             if (!employees.get(i).isDriver()) {
-                fitness += calculateFitnessForFromAndTo("Employee_" + employees.get(i).id(),
-                        "Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
+                fitness += calculateFitnessForFromAndTo(employeeSlots[i], firstElderlySlot);
             }
-            fitness += calculateFitnessForFromAndTo(
-                    "Elderly_" + elderlys.get(chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1])
-                            .id(), "Company");
+            fitness += calculateFitnessForFromAndTo(lastElderlySlot, DistanceMatrix.COMPANY);
         }
         return fitness;
     }
 
-    private double calculateFitnessForFromAndTo(String from, String to) {
-
-        double score = 0;
-
-        if (dispatchType == DispatchType.DURATION_OUT || dispatchType == DispatchType.DURATION_IN) {
-            score = DurationScore.getScore(distanceMatrix.get(from).get(to));
-        }
+    private double calculateFitnessForFromAndTo(int from, int to) {
+        return scoreTable.score(distanceMatrix.get(from, to));
+    }
 
-        if (dispatchType == DispatchType.DISTANCE_OUT || dispatchType == DispatchType.DISTANCE_IN) {
-            score = DistanceScore.getScore(distanceMatrix.get(from).get(to));
+    /**
+     * 직원별 출발 시간을 계산해 chromosome.departureTimes 에 채우고 그 배열을 돌려준다.
+     */
+    public double[] calculateDepartureTimes(ChromosomeV5 chromosome) {
+        double[] departureTimes = chromosome.getDepartureTimes();
+        for (int i = 0; i < chromosome.routeCount(); i++) {
+            departureTimes[i] = calculateDepartureTime(chromosome, i);
         }
-
-        return score;
+        return departureTimes;
     }
 
-    public List<Double> calculateDepartureTimes(ChromosomeV3 chromosome) {
+    private double calculateDepartureTime(ChromosomeV5 chromosome, int i) {
 
-        List<Double> departureTimes = new ArrayList<>();
+        int[] genes = chromosome.getGenes();
+        int routeStart = chromosome.routeStart(i);
+        int routeEnd = chromosome.routeEnd(i);
+        double departureTime = 0.0;
 
         if (dispatchType.equals(DispatchType.DISTANCE_OUT) || dispatchType.equals(DispatchType.DURATION_OUT)) {
-            for (int i = 0; i < chromosome.getGenes().length; i++) {
-                double departureTime = 0.0;
-                for (int j = 0; j < chromosome.getGenes()[i].length - 1; j++) {
-                    String company = "Company";
-
-                    String startNodeId = "Elderly_" + elderlys.get(chromosome.getGenes()[i][j]).id();
-                    String destinationNodeId = "Elderly_" + elderlys.get(chromosome.getGenes()[i][j + 1]).id();
-
-                    if (j == 0) {
-                        departureTime += distanceMatrix.get(company)
-                                .get("Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
-                    }
-
-                    departureTime += distanceMatrix.get(startNodeId).get(destinationNodeId);
+            int lastElderlySlot = elderlySlots[genes[routeEnd - 1]];
+            for (int j = routeStart; j < routeEnd - 1; j++) {
+                if (j == routeStart) {
+                    departureTime += distanceMatrix.get(DistanceMatrix.COMPANY, elderlySlots[genes[routeStart]]);
                 }
 
-                departureTime += distanceMatrix.get("Elderly_" + elderlys.get(
-                                chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id())
-                        .get("Employee_" + employees.get(i).id());
+                departureTime += distanceMatrix.get(elderlySlots[genes[j]], elderlySlots[genes[j + 1]]);
+            }
 
-                if (employees.get(i).isDriver()) {
-                    departureTime += distanceMatrix.get("Elderly_" + elderlys.get(
-                                    chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id())
-                            .get("Company");
-                }
+            departureTime += distanceMatrix.get(lastElderlySlot, employeeSlots[i]);
 
-                if (!employees.get(i).isDriver()) {
-                    departureTime += distanceMatrix.get("Elderly_" + elderlys.get(
-                                    chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id())
-                            .get("Employee_" + employees.get(i).id());
-                }
+            if (employees.get(i).isDriver()) {
+                departureTime += distanceMatrix.get(lastElderlySlot, DistanceMatrix.COMPANY);
+            }
 
-                departureTimes.add(departureTime);
+            if (!employees.get(i).isDriver()) {
+                departureTime += distanceMatrix.get(lastElderlySlot, employeeSlots[i]);
             }
         }
 
         if (dispatchType.equals(DispatchType.DURATION_IN) || dispatchType.equals(DispatchType.DISTANCE_IN)) {
-            for (int i = 0; i < chromosome.getGenes().length; i++) {
-                String company = "Company";
-                double departureTime = 0.0;
-
-                for (int j = 0; j < chromosome.getGenes()[i].length - 1; j++) {
-                    String startNodeId = "Elderly_" + elderlys.get(chromosome.getGenes()[i][j]).id();
-                    String destinationNodeId = "Elderly_" + elderlys.get(chromosome.getGenes()[i][j + 1]).id();
-                    if (j == 0) {
-                        departureTime += distanceMatrix.get("Employee_" + employees.get(i).id())
-                                .get("Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
-                    }
+            int firstElderlySlot = elderlySlots[genes[routeStart]];
 
-                    departureTime += distanceMatrix.get(startNodeId).get(destinationNodeId);
+            for (int j = routeStart; j < routeEnd - 1; j++) {
+                if (j == routeStart) {
+                    departureTime += distanceMatrix.get(employeeSlots[i], firstElderlySlot);
                 }
 
-                if (employees.get(i).isDriver()) {
-                    departureTime += distanceMatrix.get("Company")
-                            .get("Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
-                }
-
-                if (!employees.get(i).isDriver()) {
-                    departureTime += distanceMatrix.get("Employee_" + employees.get(i).id())
-                            .get("Elderly_" + elderlys.get(chromosome.getGenes()[i][0]).id());
-                }
+                departureTime += distanceMatrix.get(elderlySlots[genes[j]], elderlySlots[genes[j + 1]]);
+            }
 
-                departureTime += distanceMatrix.get("Elderly_" + elderlys.get(
-                        chromosome.getGenes()[i][chromosome.getGenes()[i].length - 1]).id()).get(company);
+            if (employees.get(i).isDriver()) {
+                departureTime += distanceMatrix.get(DistanceMatrix.COMPANY, firstElderlySlot);
+            }
 
-                departureTimes.add(departureTime);
+            if (!employees.get(i).isDriver()) {
+                departureTime += distanceMatrix.get(employeeSlots[i], firstElderlySlot);
             }
+
+            departureTime += distanceMatrix.get(elderlySlots[genes[routeEnd - 1]], DistanceMatrix.COMPANY);
         }
 
-        return departureTimes;
+        return departureTime;
     }
 
+    // crossover / mutate / combinePopulations 는 벤치마크(src/jmh)에서 단계별로 재기 위해 패키지 공개
+    void crossover() {
+        int pairCount = populationCount / 2;
+
+        forEachChunk(pairCount, (from, to, chunkRandom) -> {
+            for (int pair = from; pair < to; pair++) {
+                int i = pair * 2;
+                // 부모는 읽기만 하므로 복사하지 않는다
+                ChromosomeV5 parent1 = population[i];
+                ChromosomeV5 parent2 = population[i + 1];
+                // Crossover 확률에 따라 진행
+                if (chunkRandom.nextDouble() < crossoverRate) {
+                    ChromosomeV5 child1 = offspringBuffer[i];
+                    ChromosomeV5 child2 = offspringBuffer[i + 1];
+                    child1.copyFrom(parent1);
+                    child2.copyFrom(parent2);
+                    multiPointCrossover(parent1, parent2, child1, child2, chunkRandom);
+                    repairOffspring(child1);
+                    repairOffspring(child2);
+                    offspring[i] = child1;
+                    offspring[i + 1] = child2;
+                    continue;
+                }
 
-    private List<ChromosomeV3> crossover(List<ChromosomeV3> selectedChromosomes) {
-        List<ChromosomeV3> offspring = new ArrayList<>(selectedChromosomes.size());
+                // 교차하지 않은 부모는 다음 단계(돌연변이)에서 복사하므로 그대로 넘긴다
+                if (chunkRandom.nextDouble() >= crossoverRate) {
+                    offspring[i] = parent1;
+                    offspring[i + 1] = parent2;
+                    continue;
+                }
 
-        for (int i = 0; i < selectedChromosomes.size(); i += 2) {
-            ChromosomeV3 parent1 = ChromosomeV3.copy(selectedChromosomes.get(i));
-            ChromosomeV3 parent2 = ChromosomeV3.copy(selectedChromosomes.get(i + 1));
-            // Crossover 확률에 따라 진행
-            if (rand.nextDouble() < CROSSOVER_RATE) {
-                offspring.addAll(multiPointCrossover(parent1, parent2));
-                continue;
+                offspring[i] = null;
+                offspring[i + 1] = null;
             }
+        });
 
-            if (rand.nextDouble() >= CROSSOVER_RATE) {
-                offspring.add(parent1);
-                offspring.add(parent2);
-                continue;
+        // 빈 쌍을 제외하고 순서대로 앞으로 모은다
+        offspringCount = 0;
+        for (int i = 0; i < pairCount * 2; i++) {
+            if (offspring[i] != null) {
+                offspring[offspringCount++] = offspring[i];
             }
-
         }
-
-        return offspring;
     }
 
 
-    private List<ChromosomeV3> multiPointCrossover(ChromosomeV3 parent1, ChromosomeV3 parent2) {
-        int[] crossoverPoints = createSortedRandomCrossoverPoints(parent1);
-
-        ChromosomeV3 child1 = ChromosomeV3.copy(parent1);
-        ChromosomeV3 child2 = ChromosomeV3.copy(parent2);
+    private void multiPointCrossover(ChromosomeV5 parent1, ChromosomeV5 parent2, ChromosomeV5 child1,
+                                     ChromosomeV5 child2, RandomGenerator rand) {
+        int[] crossoverPoints = createSortedRandomCrossoverPoints(parent1, rand);
 
         swapGeneticSegments(parent1, parent2, crossoverPoints, child1, child2);
 
         fixDuplicateAssignments(child1, elderlys);
         fixDuplicateAssignments(child2, elderlys);
-
-        return Arrays.asList(child1, child2);
     }
 
-    private int[] createSortedRandomCrossoverPoints(ChromosomeV3 parent1) {
+    private int[] createSortedRandomCrossoverPoints(ChromosomeV5 parent1, RandomGenerator rand) {
         int[] crossoverPoints = new int[2];
         for (int i = 0; i < crossoverPoints.length; i++) {
-            crossoverPoints[i] = rand.nextInt(parent1.getGenes().length);
+            crossoverPoints[i] = rand.nextInt(parent1.routeCount());
         }
         Arrays.sort(crossoverPoints);
         return crossoverPoints;
     }
 
-    private void swapGeneticSegments(ChromosomeV3 parent1, ChromosomeV3 parent2, int[] crossoverPoints,
-                                     ChromosomeV3 child1,
-                                     ChromosomeV3 child2) {
+    private void swapGeneticSegments(ChromosomeV5 parent1, ChromosomeV5 parent2, int[] crossoverPoints,
+                                     ChromosomeV5 child1,
+                                     ChromosomeV5 child2) {
+        int[] parent1Genes = parent1.getGenes();
+        int[] parent2Genes = parent2.getGenes();
+
         for (int i = 0; i < crossoverPoints.length; i++) {
             int start = i == 0 ? 0 : crossoverPoints[i - 1];
             int end = crossoverPoints[i];
             for (int j = start; j < end; j++) {
-                int[] parent1Gene = parent1.getGenes()[j];
-                int[] parent2Gene = parent2.getGenes()[j];
-                int minLength = Math.min(parent1Gene.length, parent2Gene.length);
+                int parent1Start = parent1.routeStart(j);
+                int parent2Start = parent2.routeStart(j);
+                int child1Start = child1.routeStart(j);
+                int child2Start = child2.routeStart(j);
+                int minLength = Math.min(parent1.routeLength(j), parent2.routeLength(j));
                 for (int k = 0; k < minLength; k++) {
                     if (i % 2 == 0) {
-                        child1.getGenes()[j][k] = parent1Gene[k];
-                        child2.getGenes()[j][k] = parent2Gene[k];
+                        child1.setGene(child1Start + k, parent1Genes[parent1Start + k]);
+                        child2.setGene(child2Start + k, parent2Genes[parent2Start + k]);
                         continue;
                     }
                     if (i % 2 != 0) {
-                        child1.getGenes()[j][k] = parent2Gene[k];
-                        child2.getGenes()[j][k] = parent1Gene[k];
+                        child1.setGene(child1Start + k, parent2Genes[parent2Start + k]);
+                        child2.setGene(child2Start + k, parent1Genes[parent1Start + k]);
                         continue;
                     }
                 }
@@ -473,8 +851,8 @@ public class GeneticAlgorithmV6 {
 
     }
 
-    private int indexOf(int[] array, int value) {
-        for (int i = 0; i < array.length; i++) {
+    private int indexOf(int[] array, int from, int to, int value) {
+        for (int i = from; i < to; i++) {
             if (array[i] == value) {
                 return i;
             }
@@ -483,20 +861,22 @@ public class GeneticAlgorithmV6 {
     }
 
 
-    private void fixDuplicateAssignments(ChromosomeV3 child, List<ElderlyDTO> elderlys) {
+    private void fixDuplicateAssignments(ChromosomeV5 child, List<ElderlyDTO> elderlys) {
         int totalElderly = elderlys.size();
+        int[] genes = child.getGenes();
         // 1. 빠른 조회를 위한 boolean 배열 사용
         boolean[] used = new boolean[totalElderly];
-        // 2. 미사용 어르신 인덱스 추적
-        List<Integer> unusedIndices = new ArrayList<>(totalElderly);
 
         // 첫 번째 패스: 사용된 어르신 체크
-        for (int[] gene : child.getGenes()) {
-            for (int elderlyId : gene) {
+        for (int route = 0; route < child.routeCount(); route++) {
+            int routeStart = child.routeStart(route);
+            int routeEnd = child.routeEnd(route);
+            for (int k = routeStart; k < routeEnd; k++) {
+                int elderlyId = genes[k];
                 if (elderlyId >= 0 && elderlyId < totalElderly) {
                     if (used[elderlyId]) {
-                        // 중복된 경우 나중에 재할당하기 위해 -1로 마킹
-                        gene[indexOf(gene, elderlyId)] = -1;
+                        // 중복된 경우 나중에 재할당하기 위해 -1로 마킹 (같은 경로 안에서 처음 나온 위치)
+                        child.setGene(indexOf(genes, routeStart, routeEnd, elderlyId), -1);
                     } else {
                         used[elderlyId] = true;
                     }
@@ -504,72 +884,183 @@ public class GeneticAlgorithmV6 {
             }
         }
 
-        // 미사용 어르신 인덱스 수집
-        for (int i = 0; i < totalElderly; i++) {
-            if (!used[i]) {
-                unusedIndices.add(i);
-            }
-        }
-
-        // 중복 제거된 위치에 미사용 어르신 할당
+        // 중복 제거된 위치에 미사용 어르신을 작은 인덱스부터 할당
         int unusedIndex = 0;
-        for (int[] gene : child.getGenes()) {
-            for (int i = 0; i < gene.length; i++) {
-                if (gene[i] == -1) {
-                    gene[i] = unusedIndices.get(unusedIndex++);
+        for (int k = 0; k < child.geneCount(); k++) {
+            if (genes[k] == -1) {
+                while (used[unusedIndex]) {
+                    unusedIndex++;
                 }
+                child.setGene(k, unusedIndex++);
             }
         }
     }
 
-    private List<ChromosomeV3> mutate(List<ChromosomeV3> offspringChromosomes) throws Exception {
-        List<ChromosomeV3> mutatedChromosomes = new ArrayList<>();
-
-        for (ChromosomeV3 chromosome : offspringChromosomes) {
-            // 염색체 깊은 복사
-            ChromosomeV3 newChromosome = ChromosomeV3.copy(chromosome);
+    /**
+     * 제약조건을 되살린 자손은 바뀐 경로만 다시 계산해 적합도를 매기고, 되살리지 못한 자손은 적합도를 0 으로 두어 평가하지 않고
+     * 다음 세대 선택에서 빠지게 한다. 복사해 온 부모(또는 수리에 실패한 자손)의 적합도가 남지 않도록 성공한 경우에도 항상 덮어쓴다.
+     */
+    private void repairOffspring(ChromosomeV5 child) {
+        producedOffspring.increment();
+        if (constraints.repair(child)) {
+            feasibleOffspring.increment();
+            child.setFitness(calculateFitness(child));
+            return;
+        }
+        child.setFitness(0.0);
+    }
 
-            if (rand.nextDouble() < MUTATION_RATE) {
-                int mutationPoint1 = rand.nextInt(newChromosome.getGenes().length);
-                int[] employeeAssignment = newChromosome.getGenes()[mutationPoint1];
-                int mutationPoint2 = rand.nextInt(employeeAssignment.length);
+    void mutate() {
+        forEachChunk(offspringCount, (from, to, rand) -> {
+            for (int i = from; i < to; i++) {
+                ChromosomeV5 newChromosome = mutatedBuffer[i];
+                newChromosome.copyFrom(offspring[i]);
 
-                int mutationPoint3 = rand.nextInt(newChromosome.getGenes().length);
-                int[] employeeAssignment2 = newChromosome.getGenes()[mutationPoint3];
-                int mutationPoint4 = rand.nextInt(employeeAssignment2.length);
+                if (rand.nextDouble() < mutationRate) {
+                    int mutationPoint1 = rand.nextInt(newChromosome.routeCount());
+                    int mutationPoint2 = rand.nextInt(newChromosome.routeLength(mutationPoint1));
 
-                // 염색
-                int tempElderly = employeeAssignment2[mutationPoint4];
+                    int mutationPoint3 = rand.nextInt(newChromosome.routeCount());
+                    int mutationPoint4 = rand.nextInt(newChromosome.routeLength(mutationPoint3));
 
-                employeeAssignment2[mutationPoint4] = employeeAssignment[mutationPoint2];
-                employeeAssignment[mutationPoint2] = tempElderly;
+                    // 염색
+                    int position1 = newChromosome.routeStart(mutationPoint1) + mutationPoint2;
+                    int position2 = newChromosome.routeStart(mutationPoint3) + mutationPoint4;
+                    newChromosome.swapGenes(position1, position2);
+                    repairOffspring(newChromosome);
+                }
+            }
+        });
+    }
 
+    /**
+     * 현재 세대 + 자손 + 돌연변이 중 유효하고(적합도 &gt; 0) 중복이 없는 염색체에서 적합도 상위 populationSize 개를 골라
+     * nextPopulation 에 복사한 뒤 population 과 교체한다.
+     * <p>
+     * 후보 전체를 정렬하지 않는다. quickselect 로 populationSize 번째 적합도를 구해 그 이상인 것만 (같은 값은 앞에 나온 순서로)
+     * 남기고, 남긴 것만 정렬한다. 교차가 이웃한 두 개체를 짝짓기 때문에 다음 세대는 적합도 순서를 유지해야 한다.
+     */
+    void combinePopulations() {
+        int candidateCount = 0;
+        for (int i = 0; i < populationCount; i++) {
+            candidates[candidateCount++] = population[i];
+        }
+        for (int i = 0; i < offspringCount; i++) {
+            candidates[candidateCount++] = offspring[i];
+        }
+        for (int i = 0; i < offspringCount; i++) {
+            candidates[candidateCount++] = mutatedBuffer[i];
+        }
 
+        // 유효한 해결책만, 처음 나온 것만 남기며 앞으로 모은다
+        Arrays.fill(uniqueTable, 0);
+        int uniqueCount = 0;
+        for (int i = 0; i < candidateCount; i++) {
+            ChromosomeV5 candidate = candidates[i];
+            if (candidate.getFitness() > 0 && addUnique(candidate, uniqueCount)) {
+                candidates[uniqueCount++] = candidate;
             }
+        }
+
+        int nextCount = Math.min(uniqueCount, populationSize);
+        if (uniqueCount > nextCount) {
+            keepTop(candidates, fitnessBuffer, uniqueCount, nextCount);
+        }
 
-            mutatedChromosomes.add(newChromosome); // 변이된 염색체를 리스트에 추가
+        // 적합도 기준 정렬 (안정 정렬이라 같은 적합도는 먼저 나온 순서 유지)
+        Arrays.sort(candidates, 0, nextCount, BY_FITNESS_DESC);
+
+        for (int i = 0; i < nextCount; i++) {
+            nextPopulation[i].copyFrom(candidates[i]);
         }
+        Arrays.fill(candidates, 0, candidateCount, null);
+
+        ChromosomeV5[] previousPopulation = population;
+        population = nextPopulation;
+        populationCount = nextCount;
+        // 초기 해 배열은 크기가 populationSize 로 같으므로 그대로 다음 버퍼로 쓴다
+        nextPopulation = previousPopulation;
+    }
 
-        return mutatedChromosomes; // 변이된 새로운 염색체 리스트 반환
+    private boolean addUnique(ChromosomeV5 candidate, int candidateIndex) {
+        long hash = candidate.getRoutesHash();
+        int mask = uniqueTable.length - 1;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (uniqueTable[slot] != 0) {
+            ChromosomeV5 existing = candidates[uniqueTable[slot] - 1];
+            if (existing.getRoutesHash() == hash && existing.sameRoutes(candidate)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        uniqueTable[slot] = candidateIndex + 1;
+        return true;
     }
 
-    private List<ChromosomeV3> combinePopulations(List<ChromosomeV3> chromosomes,
-                                                  List<ChromosomeV3> offspringChromosomes,
-                                                  List<ChromosomeV3> mutatedChromosomes) {
-        List<ChromosomeV3> combinedChromosomes = new ArrayList<>(POPULATION_SIZE);
-        Set<String> uniqueGenes = new HashSet<>();
+    /**
+     * candidates[0, count) 중 적합도 상위 k 개를 원래 순서대로 candidates[0, k) 로 모은다. 안정 정렬 후 앞에서 k 개를 자른 것과
+     * 같은 집합이 된다. fitnessBuffer 는 count 이상 길이의 작업 공간이다.
+     */
+    static void keepTop(ChromosomeV5[] candidates, double[] fitnessBuffer, int count, int k) {
+        for (int i = 0; i < count; i++) {
+            fitnessBuffer[i] = candidates[i].getFitness();
+        }
+        double threshold = selectDescending(fitnessBuffer, count, k - 1);
+
+        int above = 0;
+        for (int i = 0; i < count; i++) {
+            if (candidates[i].getFitness() > threshold) {
+                above++;
+            }
+        }
 
-        // 1. 모든 염색체를 하나의 스트림으로 처리
-        Stream.of(chromosomes, offspringChromosomes, mutatedChromosomes)
-                .flatMap(List::stream)
-                .filter(c -> c.getFitness() > 0)  // 유효한 해결책만 필터링
-                .filter(c -> uniqueGenes.add(c.getGenes().toString()))  // 중복 제거
-                .sorted((c1, c2) -> Double.compare(c2.getFitness(), c1.getFitness()))  // 적합도 기준 정렬
-                .limit(POPULATION_SIZE)  // 상위 N개만 선택
-                .forEach(combinedChromosomes::add);
+        int tiesLeft = k - above;
+        int kept = 0;
+        for (int i = 0; i < count && kept < k; i++) {
+            double fitness = candidates[i].getFitness();
+            if (fitness > threshold || (fitness == threshold && tiesLeft-- > 0)) {
+                candidates[kept++] = candidates[i];
+            }
+        }
+    }
 
-        return combinedChromosomes;
+    // values[0, count) 를 내림차순으로 놓았을 때 rank 번째 값 (values 순서는 바뀐다)
+    static double selectDescending(double[] values, int count, int rank) {
+        int left = 0;
+        int right = count - 1;
+        while (left < right) {
+            int mid = (left + right) >>> 1;
+            double pivot = medianOfThree(values[left], values[mid], values[right]);
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[i] > pivot) {
+                    i++;
+                }
+                while (values[j] < pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double temp = values[i];
+                    values[i] = values[j];
+                    values[j] = temp;
+                    i++;
+                    j--;
+                }
+            }
+            if (rank <= j) {
+                right = j;
+            } else if (rank >= i) {
+                left = i;
+            } else {
+                return values[rank];
+            }
+        }
+        return values[rank];
     }
 
+    private static double medianOfThree(double a, double b, double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
 
 }
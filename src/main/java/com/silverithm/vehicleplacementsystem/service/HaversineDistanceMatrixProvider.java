@@ -0,0 +1,82 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrixMode;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 외부 API 없이 좌표만으로 만드는 합성 거리 행렬. 직선(대원) 거리에 우회 계수를 곱해 도로 거리로, 그 값을 평균 속도로 나눠
+ * 소요 시간으로 쓴다.
+ * <p>
+ * 실제 도로망과는 다르지만 가까운 곳은 가깝게 나오므로, 테스트/벤치마크/부하 테스트에서 1,000 개 이상 노드의 행렬을 네트워크
+ * 없이 만들 때 쓴다. 대칭 행렬이다.
+ */
+@Component
+public class HaversineDistanceMatrixProvider implements DistanceMatrixProvider {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_000.0;
+
+    private final double detourFactor;
+    private final double metersPerSecond;
+
+    public HaversineDistanceMatrixProvider(@Value("${distance-matrix.haversine.detour-factor:1.3}") double detourFactor,
+                                           @Value("${distance-matrix.haversine.speed-kmh:30}") double speedKmh) {
+        if (detourFactor < 1.0) {
+            throw new IllegalArgumentException("[ERROR] 우회 계수는 1 이상이어야 합니다. - " + detourFactor);
+        }
+        if (speedKmh <= 0) {
+            throw new IllegalArgumentException("[ERROR] 평균 속도는 0 보다 커야 합니다. - " + speedKmh);
+        }
+        this.detourFactor = detourFactor;
+        this.metersPerSecond = speedKmh / 3.6;
+    }
+
+    @Override
+    public DistanceMatrixMode mode() {
+        return DistanceMatrixMode.HAVERSINE;
+    }
+
+    @Override
+    public DistanceMatrix build(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys, CompanyDTO company,
+                                DispatchType dispatchType, String jobId) {
+        DistanceMatrix distanceMatrix = new DistanceMatrix(employees, elderlys);
+
+        Location[] locations = new Location[distanceMatrix.size()];
+        locations[DistanceMatrix.COMPANY] = company.companyAddress();
+        for (EmployeeDTO employee : employees) {
+            locations[distanceMatrix.employeeSlot(employee.id())] = employee.homeAddress();
+        }
+        for (ElderlyDTO elderly : elderlys) {
+            locations[distanceMatrix.elderlySlot(elderly.id())] = elderly.homeAddress();
+        }
+
+        // 노드마다 라디안 변환과 cos(위도)를 한 번만 계산해 둔다
+        double[] latitudes = new double[locations.length];
+        double[] longitudes = new double[locations.length];
+        double[] cosLatitudes = new double[locations.length];
+        for (int i = 0; i < locations.length; i++) {
+            latitudes[i] = Math.toRadians(locations[i].getLatitude());
+            longitudes[i] = Math.toRadians(locations[i].getLongitude());
+            cosLatitudes[i] = Math.cos(latitudes[i]);
+        }
+
+        boolean duration = dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT;
+        for (int i = 0; i < locations.length; i++) {
+            for (int j = i + 1; j < locations.length; j++) {
+                double sinLatitude = Math.sin((latitudes[j] - latitudes[i]) / 2);
+                double sinLongitude = Math.sin((longitudes[j] - longitudes[i]) / 2);
+                double h = sinLatitude * sinLatitude + cosLatitudes[i] * cosLatitudes[j] * sinLongitude * sinLongitude;
+                double meters = 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1.0, Math.sqrt(h))) * detourFactor;
+                distanceMatrix.setSymmetric(i, j, (int) Math.round(duration ? meters / metersPerSecond : meters));
+            }
+        }
+        return distanceMatrix;
+    }
+}
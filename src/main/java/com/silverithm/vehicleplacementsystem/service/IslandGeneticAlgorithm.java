@@ -0,0 +1,304 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.dto.CoupleRequestDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.FixedAssignmentsDTO;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV5;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.GenerationStats;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmParameters;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmResult;
+import com.silverithm.vehicleplacementsystem.entity.LocalSearchParameters;
+import com.silverithm.vehicleplacementsystem.entity.ScoreTable;
+import com.silverithm.vehicleplacementsystem.entity.StopReason;
+import com.silverithm.vehicleplacementsystem.entity.TerminationCriteria;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 섬 모델 유전 알고리즘. 전체 개체 수를 섬 개수로 나눈 {@link GeneticAlgorithmV6} 여러 개를 각자의 스레드에서 독립적으로
+ * 진행시키고, migrationInterval 세대마다 각 섬의 상위 개체를 고리 모양(i -> i + 1)으로 다음 섬에 보낸다.
+ * <p>
+ * 섬 하나는 스레드 하나에서만 돈다 (섬 안의 청크 병렬화는 쓰지 않는다). 섬이 executor 스레드를 잡은 채 같은 executor 의 청크
+ * 작업을 기다리면 스레드가 모자랄 때 교착되기 때문이다. 섬별 생성기는 작업 생성기에서 순서대로 split() 하고 이주는 모든 섬이 멈춘
+ * 뒤에만 하므로, 같은 seed 면 스레드 수와 관계없이 같은 결과가 나온다.
+ * <p>
+ * 종료 조건은 {@link GeneticAlgorithmV6#run} 과 같은 기준이다. 목표 적합도와 시간 한도는 섬마다 세대가 끝날 때 확인해 이주 주기
+ * 중간에도 멈추고, 정체는 이주 주기가 끝난 뒤 섬들의 세대별 최고 적합도를 합쳐 세대 단위로 센다 (이주 주기는 남은 정체 한도보다 길게
+ * 잡지 않는다). 통계 표본도 세대마다 섬 안에서 모아 같은 세대끼리 합친다.
+ */
+@Slf4j
+public class IslandGeneticAlgorithm implements DispatchGeneticAlgorithm {
+
+    private final List<EmployeeDTO> employees;
+    private final List<ElderlyDTO> elderlys;
+    private final List<CoupleRequestDTO> couples;
+    private final List<FixedAssignmentsDTO> fixedAssignments;
+    private final int[] passengers;
+    private final SSEService sseService;
+    private final Executor executor;
+    private final int islandCount;
+    private final int migrationInterval;
+    private final double migrationRate;
+
+    private List<GeneticAlgorithmV6> islands;
+    private GeneticAlgorithmParameters parameters = GeneticAlgorithmParameters.DEFAULT;
+    private TerminationCriteria terminationCriteria = TerminationCriteria.generations(
+            GeneticAlgorithmParameters.DEFAULT.maxGenerations());
+    private GeneticAlgorithmTelemetry telemetry;
+
+    public IslandGeneticAlgorithm(List<EmployeeDTO> employees,
+                                  List<ElderlyDTO> elderly,
+                                  List<CoupleRequestDTO> couples,
+                                  List<FixedAssignmentsDTO> fixedAssignments,
+                                  SSEService sseService,
+                                  Executor executor,
+                                  int islandCount,
+                                  int migrationInterval,
+                                  double migrationRate
+    ) {
+        this(employees, elderly, couples, fixedAssignments, null, sseService, executor, islandCount, migrationInterval,
+                migrationRate);
+    }
+
+    // passengers 는 GeneticAlgorithmV6 와 같다 (정류장별 인원, null 이면 모두 1명)
+    public IslandGeneticAlgorithm(List<EmployeeDTO> employees,
+                                  List<ElderlyDTO> elderly,
+                                  List<CoupleRequestDTO> couples,
+                                  List<FixedAssignmentsDTO> fixedAssignments,
+                                  int[] passengers,
+                                  SSEService sseService,
+                                  Executor executor,
+                                  int islandCount,
+                                  int migrationInterval,
+                                  double migrationRate
+    ) {
+        this.employees = employees;
+        this.elderlys = elderly;
+        this.couples = couples;
+        this.fixedAssignments = fixedAssignments;
+        this.passengers = passengers;
+        this.sseService = sseService;
+        this.executor = executor;
+        this.islandCount = islandCount;
+        this.migrationInterval = migrationInterval;
+        this.migrationRate = migrationRate;
+    }
+
+    public void initialize(DistanceMatrix distanceMatrix, DispatchType dispatchType,
+                           String userName, Long seed) {
+        initialize(distanceMatrix, dispatchType, userName,
+                seed == null ? new SplittableRandom() : new SplittableRandom(seed));
+    }
+
+    // 섬마다 작업 생성기에서 순서대로 split() 한 생성기를 준다
+    @Override
+    public void initialize(DistanceMatrix distanceMatrix, DispatchType dispatchType,
+                           String userName, SplittableGenerator random) {
+        islands = new ArrayList<>();
+        for (int i = 0; i < islandCount; i++) {
+            // 섬 안에서는 호출 스레드에서 바로 실행
+            GeneticAlgorithmV6 island = new GeneticAlgorithmV6(employees, elderlys, couples, fixedAssignments,
+                    passengers, sseService, Runnable::run);
+            island.initialize(distanceMatrix, dispatchType, userName, random.split());
+            islands.add(island);
+        }
+    }
+
+    @Override
+    public void setParameters(GeneticAlgorithmParameters parameters) {
+        this.parameters = parameters;
+    }
+
+    @Override
+    public void setTelemetry(GeneticAlgorithmTelemetry telemetry) {
+        this.telemetry = telemetry;
+    }
+
+    // initialize 후에 호출
+    @Override
+    public void setLocalSearchParameters(LocalSearchParameters localSearchParameters) {
+        for (GeneticAlgorithmV6 island : islands) {
+            island.setLocalSearchParameters(localSearchParameters);
+        }
+    }
+
+    // initialize 후에 호출
+    @Override
+    public void setScoreTable(ScoreTable scoreTable) {
+        for (GeneticAlgorithmV6 island : islands) {
+            island.setScoreTable(scoreTable);
+        }
+    }
+
+    @Override
+    public void setTerminationCriteria(TerminationCriteria terminationCriteria) {
+        this.terminationCriteria = terminationCriteria;
+    }
+
+    @Override
+    public GeneticAlgorithmResult run(String jobId) throws Exception {
+        long startTime = System.currentTimeMillis();
+        int maxGenerations = terminationCriteria.maxGenerations();
+        int islandPopulation = Math.max(2, (parameters.populationSize() / islandCount) & ~1);
+        int migrantCount = Math.max(1, (int) (islandPopulation * migrationRate));
+        StopReason stopReason = null;
+        int generations = 0;
+        double bestFitness = 0.0;
+        int stagnantGenerations = 0;
+
+        try {
+            GeneticAlgorithmParameters islandParameters = new GeneticAlgorithmParameters(islandPopulation,
+                    maxGenerations, parameters.crossoverRate(), parameters.mutationRate());
+            for (GeneticAlgorithmV6 island : islands) {
+                island.setParameters(islandParameters);
+            }
+
+            forEachIsland(island -> {
+                island.seedPopulation();
+                return null;
+            });
+            sseService.notify(jobId, 20);
+
+            for (GeneticAlgorithmV6 island : islands) {
+                bestFitness = Math.max(bestFitness, island.bestFitness());
+            }
+            if (telemetry != null && telemetry.isSampled(0)) {
+                List<GenerationStats> islandStats = new ArrayList<>();
+                for (GeneticAlgorithmV6 island : islands) {
+                    islandStats.add(island.generationStats(jobId, 0));
+                }
+                telemetry.record(GenerationStats.merge(jobId, 0, islandStats));
+            }
+            stopReason = terminationCriteria.checkEarlyStop(bestFitness, stagnantGenerations,
+                    System.currentTimeMillis() - startTime);
+            long deadline = terminationCriteria.timeBudgetMillis() > 0
+                    ? startTime + terminationCriteria.timeBudgetMillis() : 0;
+
+            while (stopReason == null && generations < maxGenerations) {
+                // 정체 한도를 넘겨 진행하지 않도록 남은 세대만큼만 한 번에 진행한다
+                int epoch = Math.min(migrationInterval, maxGenerations - generations);
+                if (terminationCriteria.stagnationGenerations() > 0) {
+                    epoch = Math.min(epoch, terminationCriteria.stagnationGenerations() - stagnantGenerations);
+                }
+                int epochGenerations = epoch;
+                int firstGeneration = generations;
+                List<GeneticAlgorithmV6.Epoch> epochs = forEachIsland(island -> island.advance(epochGenerations,
+                        deadline, terminationCriteria.targetFitness(), telemetry, jobId, firstGeneration));
+
+                // 섬들의 세대별 최고 적합도를 합쳐 단일 집단(GeneticAlgorithmV6.run)과 같은 방식으로 세대마다 종료 조건을 본다.
+                // 먼저 멈춘 섬은 마지막 세대 값을 그대로 쓴다. 시간은 섬들이 각자 확인했으므로 여기서는 세대 수로만 본다.
+                int advanced = 0;
+                for (GeneticAlgorithmV6.Epoch islandEpoch : epochs) {
+                    advanced = Math.max(advanced, islandEpoch.generations());
+                }
+                for (int i = 0; i < advanced && stopReason == null; i++) {
+                    double generationBest = 0.0;
+                    List<GenerationStats> islandStats = new ArrayList<>();
+                    for (GeneticAlgorithmV6.Epoch islandEpoch : epochs) {
+                        int last = Math.min(i, islandEpoch.generations() - 1);
+                        generationBest = Math.max(generationBest, islandEpoch.bestFitness()[last]);
+                        if (i < islandEpoch.generations() && islandEpoch.stats()[i] != null) {
+                            islandStats.add(islandEpoch.stats()[i]);
+                        }
+                    }
+                    if (generationBest > bestFitness) {
+                        bestFitness = generationBest;
+                        stagnantGenerations = 0;
+                    } else {
+                        stagnantGenerations++;
+                    }
+                    generations++;
+                    if (telemetry != null && !islandStats.isEmpty()) {
+                        telemetry.record(GenerationStats.merge(jobId, generations, islandStats));
+                    }
+                    stopReason = terminationCriteria.checkEarlyStop(bestFitness, stagnantGenerations, 0);
+                }
+
+                if (stopReason == null) {
+                    stopReason = terminationCriteria.checkEarlyStop(bestFitness, stagnantGenerations,
+                            System.currentTimeMillis() - startTime);
+                }
+                if (stopReason == null && generations < maxGenerations) {
+                    migrate(migrantCount);
+                }
+
+                sseService.notify(jobId, String.format("%.1f", 20 + ((generations / (double) maxGenerations) * 75)));
+            }
+            if (stopReason == null) {
+                stopReason = StopReason.MAX_GENERATIONS;
+            }
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            throw new Exception("island genetic algorithm run exception : " + e);
+        }
+
+        List<ChromosomeV5> chromosomes = new ArrayList<>();
+        for (GeneticAlgorithmV6 island : islands) {
+            chromosomes.addAll(island.sortedPopulation());
+        }
+        chromosomes.sort((c1, c2) -> Double.compare(c2.getFitness(), c1.getFitness()));
+
+        long elapsedMillis = System.currentTimeMillis() - startTime;
+        log.info("island genetic algorithm stopped : " + stopReason + ", islands : " + islandCount
+                + ", generations : " + generations + ", elapsed : " + elapsedMillis + "ms, best fitness : "
+                + chromosomes.get(0).getFitness());
+        long producedOffspring = 0;
+        long feasibleOffspring = 0;
+        for (GeneticAlgorithmV6 island : islands) {
+            producedOffspring += island.producedOffspring();
+            feasibleOffspring += island.feasibleOffspring();
+        }
+        return new GeneticAlgorithmResult(chromosomes, stopReason, generations, elapsedMillis, producedOffspring,
+                feasibleOffspring);
+    }
+
+    // 모든 섬의 상위 개체를 먼저 복사해 둔 뒤 다음 섬에 넣는다 (넣는 순서가 다른 섬의 elite 에 영향을 주지 않도록)
+    private void migrate(int migrantCount) {
+        if (islands.size() < 2) {
+            return;
+        }
+        List<ChromosomeV5[]> elites = new ArrayList<>();
+        for (GeneticAlgorithmV6 island : islands) {
+            elites.add(island.elites(migrantCount));
+        }
+        for (int i = 0; i < islands.size(); i++) {
+            islands.get((i + 1) % islands.size()).acceptMigrants(elites.get(i));
+        }
+    }
+
+    // 섬마다 task 를 executor 에서 돌리고 결과를 섬 순서대로 돌려준다
+    private <T> List<T> forEachIsland(IslandTask<T> task) {
+        List<CompletableFuture<T>> futures = new ArrayList<>();
+        for (GeneticAlgorithmV6 island : islands) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.run(island);
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        List<T> results = new ArrayList<>();
+        for (CompletableFuture<T> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface IslandTask<T> {
+        T run(GeneticAlgorithmV6 island) throws Exception;
+    }
+}
@@ -5,8 +5,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.silverithm.vehicleplacementsystem.dto.KakaoMapApiResponseDTO;
 import com.silverithm.vehicleplacementsystem.dto.Location;
 import com.silverithm.vehicleplacementsystem.dto.OsrmApiResponseDTO;
+import com.silverithm.vehicleplacementsystem.entity.CoordinatePairKey;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.http.HttpEntity;
@@ -22,28 +24,51 @@ import org.springframework.web.client.RestTemplate;
 public class KakaoMapApiService {
 
     private final OsrmService osrmService;
+    private final RestTemplate restTemplate;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final ObjectMapper mapper = new ObjectMapper();
+
     @Value("${kakao.key}")
     private String kakaoKey;
 
-    public KakaoMapApiService(OsrmService osrmService) {
+    public KakaoMapApiService(OsrmService osrmService, RestTemplateBuilder restTemplateBuilder,
+                              @Value("${kakao.rate-limit.permits-per-second:20}") double permitsPerSecond,
+                              @Value("${kakao.rate-limit.burst:20}") int burst) {
         this.osrmService = osrmService;
+        // 요청마다 RestTemplate 을 만들지 않고 공유 커넥션 풀(HttpClientConfig) 위의 인스턴스 하나를 재사용
+        this.restTemplate = restTemplateBuilder.build();
+        // 캐시에 없는 경우에만 실제 호출이 일어나므로 API 호출 직전에만 토큰을 꺼낸다
+        this.rateLimiter = new TokenBucketRateLimiter(permitsPerSecond, burst);
     }
 
     @Cacheable(
             value = "kakaomap",
-            key = "#startAddress.latitude + ':' + #startAddress.longitude + ':' + #destAddress.latitude + ':' + #destAddress.longitude",
+            key = "T(com.silverithm.vehicleplacementsystem.entity.CoordinatePairKey).of(#startAddress, #destAddress)",
             unless = "#result == null"
     )
     public KakaoMapApiResponseDTO getDistanceTotalTimeWithKakaoMapApi(Location startAddress,
                                                                       Location destAddress)
             throws NullPointerException {
+        return requestDistanceTotalTime(startAddress, destAddress);
+    }
+
+    /**
+     * 위 @Cacheable 의 key 와 같은 문자열. 거리 행렬처럼 "kakaomap" 캐시를 일괄 조회할 때 사용한다.
+     */
+    public static String cacheKey(Location startAddress, Location destAddress) {
+        return CoordinatePairKey.of(startAddress, destAddress);
+    }
+
+    /**
+     * 캐시를 거치지 않고 카카오 모빌리티 API 를 호출한다. 실패하면 OSRM 으로 대체한다.
+     */
+    public KakaoMapApiResponseDTO requestDistanceTotalTime(Location startAddress, Location destAddress)
+            throws NullPointerException {
 
         int distance = 0;
         int duration = 0;
 
         try {
-            RestTemplate restTemplate = new RestTemplate();
-
             // HTTP 헤더 설정
             HttpHeaders headers = new HttpHeaders();
             headers.set("Authorization", "KakaoAK " + kakaoKey);
@@ -64,10 +89,9 @@ public class KakaoMapApiService {
             );
 
             // GET 요청 보내기
+            rateLimiter.acquire();
             ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
 
-            // JSON 파싱을 위한 ObjectMapper
-            ObjectMapper mapper = new ObjectMapper();
             JsonNode root = mapper.readTree(response.getBody());
 
             // result_code가 104이면 0 반환
@@ -102,6 +126,10 @@ public class KakaoMapApiService {
         } catch (Exception e) {
             log.error("KAKAOMAP API 요청 실패", e);
 
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+
             try {
                 OsrmApiResponseDTO osrmApiResponseDTO = osrmService.getDistanceTotalTimeWithOsrmApi(startAddress,
                         destAddress);
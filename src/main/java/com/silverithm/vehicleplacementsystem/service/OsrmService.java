@@ -4,8 +4,15 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.silverithm.vehicleplacementsystem.dto.Location;
 import com.silverithm.vehicleplacementsystem.dto.OsrmApiResponseDTO;
+import com.silverithm.vehicleplacementsystem.entity.CoordinatePairKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.http.ResponseEntity;
@@ -17,30 +24,52 @@ import org.springframework.web.client.RestTemplate;
 @EnableCaching
 public class OsrmService {
 
-    @Value("${osrm.server.url}")
-    private String osrmServerUrl;
+    private static final String ROUTE_CACHE = "osrm";
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final String osrmServerUrl;
+
+    // osrm-routed --max-table-size 와 맞춰야 한다. sources x destinations 가 이 값의 제곱을 넘으면 TooBig 으로 거절된다.
+    private final int maxTableSize;
+
+    // table 대체 조회는 this 호출이라 @Cacheable 프록시를 거치지 않으므로 같은 osrm 캐시에 직접 읽고 쓴다
+    private final CacheManager cacheManager;
+
+    public OsrmService(RestTemplateBuilder restTemplateBuilder,
+                       @Value("${osrm.server.url}") String osrmServerUrl,
+                       @Value("${osrm.max-table-size:100}") int maxTableSize,
+                       CacheManager cacheManager) {
+        this.restTemplate = restTemplateBuilder.build();
+        this.osrmServerUrl = osrmServerUrl;
+        this.maxTableSize = maxTableSize;
+        this.cacheManager = cacheManager;
+    }
 
     @Cacheable(
-            value = "osrm",
-            key = "#startAddress.latitude + ':' + #startAddress.longitude + ':' + #destAddress.latitude + ':' + #destAddress.longitude",
+            value = ROUTE_CACHE,
+            key = "T(com.silverithm.vehicleplacementsystem.entity.CoordinatePairKey).of(#startAddress, #destAddress)",
             unless = "#result == null"
-    )    public OsrmApiResponseDTO getDistanceTotalTimeWithOsrmApi(Location startAddress,
+    )
+    public OsrmApiResponseDTO getDistanceTotalTimeWithOsrmApi(Location startAddress,
                                                               Location destAddress) throws NullPointerException {
+        return requestRoute(startAddress, destAddress);
+    }
+
+    private OsrmApiResponseDTO requestRoute(Location startAddress, Location destAddress) throws NullPointerException {
         String distanceString = "0";
         String durationString = "0";
 
         try {
-            RestTemplate restTemplate = new RestTemplate();
-
             String coordinates = startAddress.getLongitude() + "," + startAddress.getLatitude() + ";"
                     + destAddress.getLongitude() + "," + destAddress.getLatitude();
 
-            // table 대신 route 서비스 사용
+            // 단건 조회는 route 서비스 사용 (행렬 조회는 getDistanceMatrixWithOsrmTableApi)
             String url = osrmServerUrl + "/route/v1/driving/" + coordinates;
 
             ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
 
-            ObjectMapper mapper = new ObjectMapper();
             JsonNode root = mapper.readTree(response.getBody());
 
             if (!"Ok".equals(root.get("code").asText())) {
@@ -74,4 +103,120 @@ public class OsrmService {
         return new OsrmApiResponseDTO(Integer.parseInt(distanceString),
                 Integer.parseInt(durationString));
     }
+
+    /**
+     * locations 전체에 대한 N x N 거리/시간 행렬을 /table 서비스로 조회한다.
+     * <p>
+     * max-table-size 를 넘지 않도록 sources x destinations 타일로 나누어 요청하고 결과를 하나의 행렬로 합친다. 타일 요청이 실패하거나
+     * 응답에 null(경로 없음)이 있는 칸만 route 서비스로 한 쌍씩 다시 조회한다.
+     *
+     * @return result[i][j] = locations[i] -> locations[j]
+     */
+    public OsrmApiResponseDTO[][] getDistanceMatrixWithOsrmTableApi(List<Location> locations) {
+        int size = locations.size();
+        OsrmApiResponseDTO[][] result = new OsrmApiResponseDTO[size][size];
+
+        for (int sourceStart = 0; sourceStart < size; sourceStart += maxTableSize) {
+            for (int destinationStart = 0; destinationStart < size; destinationStart += maxTableSize) {
+                int sourceEnd = Math.min(size, sourceStart + maxTableSize);
+                int destinationEnd = Math.min(size, destinationStart + maxTableSize);
+
+                try {
+                    fetchTableTile(locations, sourceStart, sourceEnd, destinationStart, destinationEnd, result);
+                } catch (Exception e) {
+                    log.warn("OSRM table 요청 실패, route 서비스로 대체 - sources [{}, {}), destinations [{}, {}) : {}",
+                            sourceStart, sourceEnd, destinationStart, destinationEnd, e.getMessage());
+                }
+            }
+        }
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                if (result[i][j] != null) {
+                    continue;
+                }
+                result[i][j] = i == j
+                        ? new OsrmApiResponseDTO(0, 0)
+                        : cachedRoute(locations.get(i), locations.get(j));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * getDistanceTotalTimeWithOsrmApi 와 같은 키로 osrm 캐시를 먼저 보고, 없으면 route 서비스로 조회해 캐시에 넣는다.
+     */
+    private OsrmApiResponseDTO cachedRoute(Location startAddress, Location destAddress) {
+        Cache cache = cacheManager.getCache(ROUTE_CACHE);
+        if (cache == null) {
+            return requestRoute(startAddress, destAddress);
+        }
+
+        String key = CoordinatePairKey.of(startAddress, destAddress);
+        OsrmApiResponseDTO cached = cache.get(key, OsrmApiResponseDTO.class);
+        if (cached != null) {
+            return cached;
+        }
+
+        OsrmApiResponseDTO response = requestRoute(startAddress, destAddress);
+        cache.put(key, response);
+        return response;
+    }
+
+    private void fetchTableTile(List<Location> locations, int sourceStart, int sourceEnd, int destinationStart,
+                                int destinationEnd, OsrmApiResponseDTO[][] result) throws Exception {
+        int sourceCount = sourceEnd - sourceStart;
+        int destinationCount = destinationEnd - destinationStart;
+
+        List<Location> coordinates = new ArrayList<>(sourceCount + destinationCount);
+        coordinates.addAll(locations.subList(sourceStart, sourceEnd));
+        coordinates.addAll(locations.subList(destinationStart, destinationEnd));
+
+        String url = osrmServerUrl + "/table/v1/driving/" + toCoordinates(coordinates)
+                + "?sources=" + indexRange(0, sourceCount)
+                + "&destinations=" + indexRange(sourceCount, sourceCount + destinationCount)
+                + "&annotations=duration,distance";
+
+        ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+        JsonNode root = mapper.readTree(response.getBody());
+
+        if (!"Ok".equals(root.path("code").asText())) {
+            throw new RuntimeException("OSRM table API returned non-OK status: " + root.path("code").asText());
+        }
+
+        JsonNode durations = root.path("durations");
+        JsonNode distances = root.path("distances");
+
+        for (int i = 0; i < sourceCount; i++) {
+            for (int j = 0; j < destinationCount; j++) {
+                JsonNode duration = durations.path(i).path(j);
+                JsonNode distance = distances.path(i).path(j);
+
+                // null 은 경로를 찾지 못한 칸이므로 비워두고 route 서비스로 재조회
+                if (!duration.isNumber() || !distance.isNumber()) {
+                    continue;
+                }
+
+                result[sourceStart + i][destinationStart + j] = new OsrmApiResponseDTO(
+                        (int) distance.asDouble(), (int) duration.asDouble());
+            }
+        }
+    }
+
+    private String toCoordinates(List<Location> locations) {
+        StringJoiner joiner = new StringJoiner(";");
+        for (Location location : locations) {
+            joiner.add(location.getLongitude() + "," + location.getLatitude());
+        }
+        return joiner.toString();
+    }
+
+    private String indexRange(int from, int to) {
+        StringJoiner joiner = new StringJoiner(";");
+        for (int i = from; i < to; i++) {
+            joiner.add(String.valueOf(i));
+        }
+        return joiner.toString();
+    }
 }
@@ -0,0 +1,65 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.dto.OsrmApiResponseDTO;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrixMode;
+import java.util.List;
+import org.springframework.stereotype.Service;
+
+/**
+ * OSRM /table 서비스로 전체 행렬을 타일 단위로 한 번에 조회한다.
+ */
+@Service
+public class OsrmTableDistanceMatrixProvider implements DistanceMatrixProvider {
+
+    private final OsrmService osrmService;
+    private final SSEService sseService;
+
+    public OsrmTableDistanceMatrixProvider(OsrmService osrmService, SSEService sseService) {
+        this.osrmService = osrmService;
+        this.sseService = sseService;
+    }
+
+    @Override
+    public DistanceMatrixMode mode() {
+        return DistanceMatrixMode.OSRM_TABLE;
+    }
+
+    @Override
+    public DistanceMatrix build(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys, CompanyDTO company,
+                                DispatchType dispatchType, String jobId) {
+        DistanceMatrix distanceMatrix = new DistanceMatrix(employees, elderlys);
+
+        // 슬롯 순서대로 좌표를 나열해 table 결과의 [i][j] 를 그대로 행렬에 옮긴다
+        Location[] locations = new Location[distanceMatrix.size()];
+        locations[DistanceMatrix.COMPANY] = company.companyAddress();
+        for (EmployeeDTO employee : employees) {
+            locations[distanceMatrix.employeeSlot(employee.id())] = employee.homeAddress();
+        }
+        for (ElderlyDTO elderly : elderlys) {
+            locations[distanceMatrix.elderlySlot(elderly.id())] = elderly.homeAddress();
+        }
+
+        sseService.notify(jobId, 7.5);
+
+        OsrmApiResponseDTO[][] table = osrmService.getDistanceMatrixWithOsrmTableApi(List.of(locations));
+
+        for (int i = 0; i < table.length; i++) {
+            for (int j = 0; j < table.length; j++) {
+                if (dispatchType == DispatchType.DISTANCE_IN || dispatchType == DispatchType.DISTANCE_OUT) {
+                    distanceMatrix.set(i, j, table[i][j].distance());
+                }
+
+                if (dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT) {
+                    distanceMatrix.set(i, j, table[i][j].duration());
+                }
+            }
+        }
+        return distanceMatrix;
+    }
+}
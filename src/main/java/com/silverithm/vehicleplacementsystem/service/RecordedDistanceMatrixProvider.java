@@ -0,0 +1,167 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.entity.CoordinateKey;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrixMode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 미리 기록해 둔 행렬 파일로 거리 행렬을 만든다. 외부 API 를 부르지 않으므로 테스트와 벤치마크에서 실제 도로 값을 재현할 때 쓴다.
+ * <p>
+ * distance-matrix.recorded.path 에 파일 하나 또는 *.json 파일이 있는 디렉터리를 지정한다. 파일 형식은 {@link Recording} 이고
+ * {@link #write(Path, Recording)} 로 만들 수 있다. 좌표는 {@link CoordinateKey} 와 같은 1e-5 도 격자로 맞춰 찾으므로 기록한
+ * 노드 순서와 요청의 노드 순서가 달라도 된다. 요청의 좌표를 모두 가진 첫 기록을 쓰고, 그런 기록이 없으면 예외를 던진다.
+ */
+@Slf4j
+@Component
+public class RecordedDistanceMatrixProvider implements DistanceMatrixProvider {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final String path;
+    private volatile List<IndexedRecording> recordings;
+
+    public RecordedDistanceMatrixProvider(@Value("${distance-matrix.recorded.path:}") String path) {
+        this.path = path;
+    }
+
+    @Override
+    public DistanceMatrixMode mode() {
+        return DistanceMatrixMode.RECORDED;
+    }
+
+    @Override
+    public DistanceMatrix build(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys, CompanyDTO company,
+                                DispatchType dispatchType, String jobId) {
+        DistanceMatrix distanceMatrix = new DistanceMatrix(employees, elderlys);
+
+        long[] keys = new long[distanceMatrix.size()];
+        keys[DistanceMatrix.COMPANY] = CoordinateKey.of(company.companyAddress());
+        for (EmployeeDTO employee : employees) {
+            keys[distanceMatrix.employeeSlot(employee.id())] = CoordinateKey.of(employee.homeAddress());
+        }
+        for (ElderlyDTO elderly : elderlys) {
+            keys[distanceMatrix.elderlySlot(elderly.id())] = CoordinateKey.of(elderly.homeAddress());
+        }
+
+        boolean duration = dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT;
+        for (IndexedRecording recording : recordings()) {
+            int[][] values = duration ? recording.recording().durations() : recording.recording().distances();
+            int[] indexes = recording.indexesOf(keys);
+            if (values == null || indexes == null) {
+                continue;
+            }
+            for (int i = 0; i < indexes.length; i++) {
+                for (int j = 0; j < indexes.length; j++) {
+                    distanceMatrix.set(i, j, values[indexes[i]][indexes[j]]);
+                }
+            }
+            return distanceMatrix;
+        }
+
+        throw new IllegalStateException("[ERROR] 요청의 좌표를 모두 가진 " + (duration ? "소요 시간" : "거리")
+                + " 기록이 없습니다. - " + path);
+    }
+
+    public static Recording read(Path file) {
+        try {
+            return OBJECT_MAPPER.readValue(file.toFile(), Recording.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("[ERROR] 거리 행렬 기록을 읽을 수 없습니다. - " + file, e);
+        }
+    }
+
+    public static void write(Path file, Recording recording) {
+        try {
+            OBJECT_MAPPER.writeValue(file.toFile(), recording);
+        } catch (IOException e) {
+            throw new UncheckedIOException("[ERROR] 거리 행렬 기록을 쓸 수 없습니다. - " + file, e);
+        }
+    }
+
+    // 처음 쓸 때 한 번만 읽는다
+    private List<IndexedRecording> recordings() {
+        if (recordings == null) {
+            synchronized (this) {
+                if (recordings == null) {
+                    recordings = load();
+                }
+            }
+        }
+        return recordings;
+    }
+
+    private List<IndexedRecording> load() {
+        if (path.isBlank()) {
+            throw new IllegalStateException("[ERROR] distance-matrix.recorded.path 가 설정되지 않았습니다.");
+        }
+
+        List<Path> files = new ArrayList<>();
+        Path root = Path.of(path);
+        if (Files.isDirectory(root)) {
+            try (Stream<Path> stream = Files.list(root)) {
+                stream.filter(file -> file.toString().endsWith(".json")).sorted().forEach(files::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException("[ERROR] 거리 행렬 기록 디렉터리를 읽을 수 없습니다. - " + root, e);
+            }
+        } else {
+            files.add(root);
+        }
+
+        List<IndexedRecording> loaded = new ArrayList<>();
+        for (Path file : files) {
+            loaded.add(IndexedRecording.of(read(file)));
+        }
+        log.info("recorded distance matrix : {} files from {}", loaded.size(), root);
+        return loaded;
+    }
+
+    /**
+     * 기록 파일 하나. distances / durations 는 locations 순서의 정사각 행렬이고, 필요 없는 쪽은 null 이어도 된다.
+     */
+    public record Recording(List<Location> locations, int[][] distances, int[][] durations) {
+    }
+
+    private record IndexedRecording(Recording recording, Map<Long, Integer> indexes) {
+
+        static IndexedRecording of(Recording recording) {
+            Map<Long, Integer> indexes = new HashMap<>();
+            for (int i = 0; i < recording.locations().size(); i++) {
+                indexes.putIfAbsent(CoordinateKey.of(recording.locations().get(i)), i);
+            }
+            return new IndexedRecording(recording, indexes);
+        }
+
+        // 좌표마다 기록의 인덱스. 하나라도 없으면 null
+        int[] indexesOf(long[] keys) {
+            int[] result = new int[keys.length];
+            for (int i = 0; i < keys.length; i++) {
+                Integer index = indexes.get(keys[i]);
+                if (index == null) {
+                    return null;
+                }
+                result[i] = index;
+            }
+            return result;
+        }
+    }
+}
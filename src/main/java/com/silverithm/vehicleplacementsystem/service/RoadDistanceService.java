@@ -0,0 +1,92 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.dto.KakaoMapApiResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.entity.CoordinateKey;
+import com.silverithm.vehicleplacementsystem.entity.RoadDistance;
+import com.silverithm.vehicleplacementsystem.repository.RoadDistanceRepository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+/**
+ * 외부 길찾기 API 앞단의 영구 거리 저장소.
+ * <p>
+ * 어르신 주소는 대부분 매일 같으므로 한 번 조회한 좌표 쌍은 DB 에 남겨두고, 같은 날 두 번째 배차부터는 외부 API 를 호출하지 않는다.
+ * 저장소 장애는 배차를 막지 않도록 로그만 남기고 외부 API 조회로 넘어간다.
+ */
+@Slf4j
+@Service
+public class RoadDistanceService {
+
+    private final RoadDistanceRepository roadDistanceRepository;
+    private final boolean enabled;
+
+    public RoadDistanceService(RoadDistanceRepository roadDistanceRepository,
+                               @Value("${distance-store.enabled:true}") boolean enabled) {
+        this.roadDistanceRepository = roadDistanceRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * locations 사이에서 저장된 모든 좌표 쌍을 한 번의 쿼리로 읽는다.
+     */
+    public Map<Route, KakaoMapApiResponseDTO> findAll(Collection<Location> locations) {
+        Map<Route, KakaoMapApiResponseDTO> stored = new HashMap<>();
+        if (!enabled) {
+            return stored;
+        }
+
+        Set<Long> coordinateKeys = new HashSet<>();
+        for (Location location : locations) {
+            coordinateKeys.add(CoordinateKey.of(location));
+        }
+
+        try {
+            for (RoadDistance road : roadDistanceRepository.findAllBetween(coordinateKeys)) {
+                stored.put(new Route(road.getStartKey(), road.getDestinationKey()),
+                        new KakaoMapApiResponseDTO(road.getTotalDistance(), road.getTotalTime()));
+            }
+        } catch (DataAccessException e) {
+            log.warn("road_distance 조회 실패, 외부 API 로 조회 - {}", e.getMessage());
+        }
+
+        return stored;
+    }
+
+    public void saveAll(Map<Route, KakaoMapApiResponseDTO> fetched) {
+        if (!enabled || fetched.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<RoadDistance> roadDistances = fetched.entrySet().stream()
+                // 서로 다른 좌표인데 0 이면 응답 파싱 실패일 수 있으므로 영구 저장하지 않는다
+                .filter(entry -> entry.getKey().startKey() == entry.getKey().destinationKey()
+                        || entry.getValue().distance() > 0)
+                .map(entry -> new RoadDistance(entry.getKey().startKey(), entry.getKey().destinationKey(),
+                        entry.getValue().distance(), entry.getValue().duration(), now))
+                .toList();
+
+        try {
+            roadDistanceRepository.insertAll(roadDistances);
+        } catch (DataAccessException e) {
+            log.warn("road_distance 저장 실패 - {}", e.getMessage());
+        }
+    }
+
+    public record Route(long startKey, long destinationKey) {
+
+        public static Route of(Location start, Location destination) {
+            return new Route(CoordinateKey.of(start), CoordinateKey.of(destination));
+        }
+    }
+}
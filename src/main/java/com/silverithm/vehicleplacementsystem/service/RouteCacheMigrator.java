@@ -0,0 +1,161 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.config.RedisRepositoryConfig;
+import com.silverithm.vehicleplacementsystem.config.RouteValueRedisSerializer;
+import com.silverithm.vehicleplacementsystem.entity.CoordinatePairKey;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+
+/**
+ * "cache:osrm::37.1:127.1:37.2:127.2" 처럼 문자열 키 + JSON 값으로 저장된 기존 길찾기 캐시 항목을 CoordinatePairKey 키 +
+ * 바이너리 값으로 옮긴다.
+ * <p>
+ * cache.migration.enabled=true 일 때만 기동 후 별도 스레드에서 한 번 실행된다. SCAN 으로 훑으며 batch 단위로 MGET → 파이프라인
+ * SET(새 키) / DEL(기존 키) 하므로 Redis 를 오래 막지 않고, 중간에 멈춰도 다시 실행하면 남은 항목만 옮긴다. 옮기기 전에도
+ * RouteValueRedisSerializer 가 JSON 값을 읽을 수 있으므로 서비스는 그대로 동작한다.
+ * <p>
+ * 기존 키는 좌표를 문자열 그대로 담고 있어 새 키의 1e-5 도 격자({@link com.silverithm.vehicleplacementsystem.entity.CoordinateKey})
+ * 로 옮기면 여러 키가 하나로 합쳐질 수 있다. 새 키는 SET NX 로 쓰므로 먼저 있던 값(또는 서비스가 이미 새 키로 저장한 값)이 남고,
+ * 합쳐진 기존 키는 지우면서 충돌 건수로 따로 센다.
+ */
+@Slf4j
+@Service
+public class RouteCacheMigrator {
+
+    private static final String PREFIX = "cache:";
+    private static final int BATCH_SIZE = 1000;
+
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final boolean enabled;
+
+    private final RouteValueRedisSerializer serializer = new RouteValueRedisSerializer();
+
+    public RouteCacheMigrator(RedisConnectionFactory redisConnectionFactory,
+                              @Value("${cache.migration.enabled:false}") boolean enabled) {
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!enabled) {
+            return;
+        }
+
+        Thread thread = new Thread(() -> RedisRepositoryConfig.ROUTE_CACHES.forEach(this::migrate),
+                "route-cache-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public long migrate(String cacheName) {
+        String keyPrefix = PREFIX + cacheName + "::";
+        MigrationCount count = new MigrationCount();
+        long startTime = System.currentTimeMillis();
+
+        ScanOptions scanOptions = ScanOptions.scanOptions().match(keyPrefix + "*").count(BATCH_SIZE).build();
+        try (RedisConnection connection = redisConnectionFactory.getConnection();
+             Cursor<byte[]> cursor = connection.keyCommands().scan(scanOptions)) {
+
+            List<byte[]> legacyKeys = new ArrayList<>(BATCH_SIZE);
+            while (cursor.hasNext()) {
+                byte[] key = cursor.next();
+                if (toPairKey(key, keyPrefix) != null) {
+                    legacyKeys.add(key);
+                }
+                if (legacyKeys.size() == BATCH_SIZE) {
+                    migrateBatch(legacyKeys, keyPrefix, count);
+                    legacyKeys.clear();
+                }
+            }
+            migrateBatch(legacyKeys, keyPrefix, count);
+        } catch (Exception e) {
+            log.error("길찾기 캐시 마이그레이션 실패 - cache : {}, 완료 : {}건, 충돌 : {}건", cacheName, count.migrated,
+                    count.collisions, e);
+            return count.migrated;
+        }
+
+        if (count.collisions > 0) {
+            log.warn("길찾기 캐시 마이그레이션 중 같은 좌표 격자로 합쳐진 키 {}건은 먼저 저장된 값을 유지했습니다 - cache : {}",
+                    count.collisions, cacheName);
+        }
+        log.info("길찾기 캐시 마이그레이션 완료 - cache : {}, {}건 / execution time : {}ms", cacheName, count.migrated,
+                System.currentTimeMillis() - startTime);
+        return count.migrated;
+    }
+
+    private void migrateBatch(List<byte[]> legacyKeys, String keyPrefix, MigrationCount count) {
+        if (legacyKeys.isEmpty()) {
+            return;
+        }
+
+        // 별도 커넥션에서 조회/쓰기 (SCAN 커서를 연 커넥션과 섞지 않는다)
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            List<byte[]> values = connection.stringCommands().mGet(legacyKeys.toArray(byte[][]::new));
+
+            List<byte[]> writtenKeys = new ArrayList<>(legacyKeys.size());
+            connection.openPipeline();
+            for (int i = 0; i < legacyKeys.size(); i++) {
+                byte[] value = values == null ? null : values.get(i);
+                if (value == null) {
+                    continue;
+                }
+
+                String pairKey = toPairKey(legacyKeys.get(i), keyPrefix);
+                byte[] newKey = (keyPrefix + pairKey).getBytes(StandardCharsets.ISO_8859_1);
+                byte[] newValue = serializer.serialize(serializer.deserialize(value));
+
+                connection.stringCommands().set(newKey, newValue, Expiration.persistent(), SetOption.SET_IF_ABSENT);
+                connection.keyCommands().del(legacyKeys.get(i));
+                writtenKeys.add(legacyKeys.get(i));
+            }
+            List<Object> results = connection.closePipeline();
+
+            // 결과는 SET, DEL 순서로 번갈아 온다
+            for (int i = 0; i < writtenKeys.size(); i++) {
+                if (Boolean.FALSE.equals(results.get(2 * i))) {
+                    count.collisions++;
+                    log.debug("길찾기 캐시 키 충돌 - 기존 키 {} 는 이미 있는 새 키로 합쳐짐",
+                            new String(writtenKeys.get(i), StandardCharsets.ISO_8859_1));
+                } else {
+                    count.migrated++;
+                }
+            }
+        }
+    }
+
+    /**
+     * 기존 "lat:lng:lat:lng" 키면 새 CoordinatePairKey 를, 이미 옮긴 키거나 형식이 다르면 null 을 돌려준다.
+     */
+    private String toPairKey(byte[] key, String keyPrefix) {
+        String suffix = new String(key, StandardCharsets.ISO_8859_1).substring(keyPrefix.length());
+        String[] coordinates = suffix.split(":");
+        if (coordinates.length != 4) {
+            return null;
+        }
+
+        try {
+            return CoordinatePairKey.of(Double.parseDouble(coordinates[0]), Double.parseDouble(coordinates[1]),
+                    Double.parseDouble(coordinates[2]), Double.parseDouble(coordinates[3]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class MigrationCount {
+        private long migrated;
+        private long collisions;
+    }
+}
@@ -0,0 +1,144 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV5;
+import com.silverithm.vehicleplacementsystem.entity.DispatchConstraints;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 염색체 하나를 지역 최적해 쪽으로 개선하는 first-improvement 지역 탐색. {@link GeneticAlgorithmV6} 의 memetic 단계에서 쓴다.
+ * <ul>
+ *     <li>2-opt: 경로 안의 구간 [i, j] 를 뒤집는다.</li>
+ *     <li>relocate: 어르신(정류장) 하나를 다른 경로의 임의 위치로 옮긴다. 옮겨 갈 경로의 최대 인원을 넘지 않고, 원래 경로가
+ *     비지 않는 경우만 시도한다.</li>
+ * </ul>
+ * 움직임마다 염색체를 직접 바꾸고 평가 함수(유전 알고리즘의 calculateFitness)로 다시 계산해, 나아지지 않으면 되돌린다. 경로
+ * 캐시 덕분에 평가는 바뀐 경로만 다시 계산하고, 되돌릴 때는 움직이기 전에 저장해 둔 경로 캐시를 그대로 돌려놓아 다시 계산하지
+ * 않는다. 제약조건을 어기는 움직임은 적합도가 0 이 되므로 자연히 되돌려진다.
+ * <p>
+ * 난수를 쓰지 않으므로 시간 한도에 걸리지 않는 한 결과는 결정적이다.
+ */
+class RouteLocalSearch {
+
+    private final ToDoubleFunction<ChromosomeV5> evaluator;
+    private final DispatchConstraints constraints;
+    private final int maxPasses;
+
+    RouteLocalSearch(ToDoubleFunction<ChromosomeV5> evaluator, DispatchConstraints constraints, int maxPasses) {
+        this.evaluator = evaluator;
+        this.constraints = constraints;
+        this.maxPasses = maxPasses;
+    }
+
+    /**
+     * @param deadlineNanos System.nanoTime() 기준 종료 시각. Long.MAX_VALUE 면 제한 없음.
+     * @return 한 번이라도 개선했으면 true
+     */
+    boolean improve(ChromosomeV5 chromosome, long deadlineNanos) {
+        // 적합도 0 인 개체는 움직임 하나로 나아졌는지 비교할 기준이 없다
+        if (chromosome.getFitness() <= 0) {
+            return false;
+        }
+        boolean improved = false;
+        for (int pass = 0; pass < maxPasses; pass++) {
+            boolean passImproved = false;
+            for (int route = 0; route < chromosome.routeCount(); route++) {
+                if (System.nanoTime() > deadlineNanos) {
+                    return improved;
+                }
+                passImproved |= twoOpt(chromosome, route);
+            }
+            for (int route = 0; route < chromosome.routeCount(); route++) {
+                if (System.nanoTime() > deadlineNanos) {
+                    return improved || passImproved;
+                }
+                passImproved |= relocate(chromosome, route);
+            }
+            improved |= passImproved;
+            if (!passImproved) {
+                break;
+            }
+        }
+        return improved;
+    }
+
+    private boolean twoOpt(ChromosomeV5 chromosome, int route) {
+        boolean improved = false;
+        for (int i = chromosome.routeStart(route); i < chromosome.routeEnd(route) - 1; i++) {
+            for (int j = i + 1; j < chromosome.routeEnd(route); j++) {
+                RouteCache saved = RouteCache.of(chromosome, route);
+                chromosome.reverse(i, j);
+                if (!accept(chromosome)) {
+                    chromosome.reverse(i, j);
+                    saved.restore(chromosome);
+                } else {
+                    improved = true;
+                }
+            }
+        }
+        return improved;
+    }
+
+    // route 의 어르신을 하나씩 다른 경로의 각 위치에 넣어 본다
+    private boolean relocate(ChromosomeV5 chromosome, int route) {
+        boolean improved = false;
+        int k = 0;
+        while (k < chromosome.routeLength(route)) {
+            if (chromosome.routeLength(route) > 1 && relocateOne(chromosome, route, k)) {
+                improved = true;
+                continue;   // k 자리에 다음 어르신이 당겨져 왔다
+            }
+            k++;
+        }
+        return improved;
+    }
+
+    private boolean relocateOne(ChromosomeV5 chromosome, int route, int k) {
+        int passengers = constraints.passengers(chromosome.getGenes()[chromosome.routeStart(route) + k]);
+        for (int target = 0; target < chromosome.routeCount(); target++) {
+            if (target == route
+                    || constraints.load(chromosome, target) + passengers > constraints.capacity(target)) {
+                continue;
+            }
+            for (int index = 0; index <= chromosome.routeLength(target); index++) {
+                RouteCache savedFrom = RouteCache.of(chromosome, route);
+                RouteCache savedTarget = RouteCache.of(chromosome, target);
+                int moved = chromosome.relocate(chromosome.routeStart(route) + k, target, index);
+                if (accept(chromosome)) {
+                    return true;
+                }
+                chromosome.relocate(moved, route, k);
+                savedFrom.restore(chromosome);
+                savedTarget.restore(chromosome);
+            }
+        }
+        return false;
+    }
+
+    // 새 적합도가 더 높으면 반영하고 true
+    private boolean accept(ChromosomeV5 chromosome) {
+        double fitness = evaluator.applyAsDouble(chromosome);
+        if (fitness > chromosome.getFitness()) {
+            chromosome.setFitness(fitness);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 움직이기 전 경로 하나의 캐시. 되돌린 뒤 restore 하면 유전자와 캐시가 움직이기 전과 같아진다. 원래 dirty 였던 경로는 그대로
+     * dirty 로 남긴다.
+     */
+    private record RouteCache(int route, boolean dirty, boolean valid, double departureTime, double score) {
+
+        static RouteCache of(ChromosomeV5 chromosome, int route) {
+            return new RouteCache(route, chromosome.isRouteDirty(route), chromosome.isRouteValid(route),
+                    chromosome.getDepartureTimes()[route], chromosome.routeScore(route));
+        }
+
+        void restore(ChromosomeV5 chromosome) {
+            if (!dirty) {
+                chromosome.setRouteScore(route, valid, departureTime, score);
+            }
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.silverithm.vehicleplacementsystem.service;
 
 import com.silverithm.vehicleplacementsystem.dto.AssignmentResponseDTO;
+import com.silverithm.vehicleplacementsystem.entity.GenerationStats;
 import com.silverithm.vehicleplacementsystem.repository.EmitterRepository;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -48,6 +50,18 @@ public class SSEService {
         sendDispatchError(userName);
     }
 
+    public void notifyPhaseTimes(String userName, Map<String, Long> phaseTimes) {
+        sendPhaseTimes(userName, phaseTimes);
+    }
+
+    public void notifyStopReason(String userName, Map<String, Object> summary) {
+        sendStopReason(userName, summary);
+    }
+
+    public void notifyGenerationStats(String userName, GenerationStats stats) {
+        sendGenerationStats(userName, stats);
+    }
+
 
     /**
      * 클라이언트에게 데이터를 전송
@@ -89,6 +103,42 @@ public class SSEService {
             }
         }
     }
+    private void sendPhaseTimes(String userName, Map<String, Long> data) {
+        SseEmitter emitter = emitterRepository.get(userName);
+        if (emitter != null) {
+            try {
+                emitter.send(SseEmitter.event().id(String.valueOf(userName)).name("phase").data(data));
+            } catch (IOException exception) {
+                emitterRepository.deleteById(userName);
+                emitter.completeWithError(exception);
+            }
+        }
+    }
+
+    private void sendStopReason(String userName, Map<String, Object> data) {
+        SseEmitter emitter = emitterRepository.get(userName);
+        if (emitter != null) {
+            try {
+                emitter.send(SseEmitter.event().id(String.valueOf(userName)).name("stop").data(data));
+            } catch (IOException exception) {
+                emitterRepository.deleteById(userName);
+                emitter.completeWithError(exception);
+            }
+        }
+    }
+
+    private void sendGenerationStats(String userName, GenerationStats data) {
+        SseEmitter emitter = emitterRepository.get(userName);
+        if (emitter != null) {
+            try {
+                emitter.send(SseEmitter.event().id(String.valueOf(userName)).name("generation").data(data));
+            } catch (IOException exception) {
+                emitterRepository.deleteById(userName);
+                emitter.completeWithError(exception);
+            }
+        }
+    }
+
     /**
      * 사용자 아이디를 기반으로 이벤트 Emitter를 생성
      *
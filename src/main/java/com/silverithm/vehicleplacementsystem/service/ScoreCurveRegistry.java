@@ -0,0 +1,69 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceScore;
+import com.silverithm.vehicleplacementsystem.entity.DurationScore;
+import com.silverithm.vehicleplacementsystem.entity.ScoreTable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회사(userName)별 근접도 점수 곡선. 아래 순서로 찾고, 처음 만든 표는 캐시해 둔다.
+ * <ol>
+ *     <li>{@code dispatch.score-curve.<userName>.duration} / {@code .distance}</li>
+ *     <li>{@code dispatch.score-curve.default.duration} / {@code .distance}</li>
+ *     <li>{@link DurationScore} / {@link DistanceScore} 기본 곡선</li>
+ * </ol>
+ * 곡선 형식은 {@link ScoreTable#parse(String)} 를 따른다. 형식이 잘못된 설정은 경고를 남기고 다음 순서로 넘어간다.
+ */
+@Slf4j
+@Component
+public class ScoreCurveRegistry {
+
+    private static final String PREFIX = "dispatch.score-curve.";
+    private static final String DEFAULT_KEY = "default";
+
+    private final Environment environment;
+    private final Map<String, ScoreTable> tables = new ConcurrentHashMap<>();
+
+    public ScoreCurveRegistry(Environment environment) {
+        this.environment = environment;
+    }
+
+    public ScoreTable tableFor(DispatchType dispatchType, String userName) {
+        String metric = isDuration(dispatchType) ? "duration" : "distance";
+        String company = userName == null ? DEFAULT_KEY : userName;
+        return tables.computeIfAbsent(company + "." + metric, key -> loadTable(company, metric));
+    }
+
+    private ScoreTable loadTable(String company, String metric) {
+        ScoreTable table = parseProperty(PREFIX + company + "." + metric);
+        if (table == null && !company.equals(DEFAULT_KEY)) {
+            table = parseProperty(PREFIX + DEFAULT_KEY + "." + metric);
+        }
+        if (table == null) {
+            table = metric.equals("duration") ? DurationScore.table() : DistanceScore.table();
+        }
+        return table;
+    }
+
+    private ScoreTable parseProperty(String property) {
+        String curve = environment.getProperty(property);
+        if (curve == null || curve.isBlank()) {
+            return null;
+        }
+        try {
+            return ScoreTable.parse(curve);
+        } catch (IllegalArgumentException e) {
+            log.warn("점수 곡선 설정이 잘못되어 무시합니다 : " + property + " = " + curve + " (" + e.getMessage() + ")");
+            return null;
+        }
+    }
+
+    private static boolean isDuration(DispatchType dispatchType) {
+        return dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DURATION_OUT;
+    }
+}
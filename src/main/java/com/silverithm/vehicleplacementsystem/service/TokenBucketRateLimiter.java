@@ -0,0 +1,46 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 API 호출 수를 초당 permitsPerSecond 로 제한하는 토큰 버킷.
+ * <p>
+ * 한동안 호출이 없으면 최대 burst 개까지 토큰이 쌓여 즉시 통과하고, 그 이후는 1 / permitsPerSecond 간격으로 통과한다.
+ * permitsPerSecond 가 0 이하이면 제한하지 않는다.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long nanosPerPermit;
+    private final long burstNanos;
+
+    // 다음 토큰을 꺼낼 수 있는 시각 (System.nanoTime 기준)
+    private long nextFreeNanos;
+
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this.nanosPerPermit = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+        this.burstNanos = nanosPerPermit * Math.max(0, burst - 1);
+        this.nextFreeNanos = System.nanoTime() - burstNanos;
+    }
+
+    /**
+     * 토큰을 하나 꺼낸다. 남은 토큰이 없으면 다음 토큰이 생길 때까지 대기한다.
+     */
+    public void acquire() throws InterruptedException {
+        if (nanosPerPermit == 0) {
+            return;
+        }
+
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            // 쉬는 동안 쌓인 토큰은 burst 개까지만 인정
+            nextFreeNanos = Math.max(nextFreeNanos, now - burstNanos);
+            waitNanos = nextFreeNanos - now;
+            nextFreeNanos += nanosPerPermit;
+        }
+
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+}
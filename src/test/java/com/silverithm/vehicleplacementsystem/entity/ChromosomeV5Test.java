@@ -0,0 +1,66 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+public class ChromosomeV5Test {
+
+    @Test
+    public void routesHash_AfterIncrementalMoves_EqualsFreshHash() {
+        //given
+        SplittableRandom random = new SplittableRandom(11);
+        ChromosomeV5 chromosome = ChromosomeV5.from(new int[][]{{0, 1, 2, 3}, {4, 5}, {6, 7, 8}, {9}, {10, 11, 12}});
+
+        for (int move = 0; move < 2_000; move++) {
+            //when
+            int position = random.nextInt(chromosome.geneCount());
+            switch (random.nextInt(3)) {
+                case 0 -> chromosome.swapGenes(position, random.nextInt(chromosome.geneCount()));
+                case 1 -> {
+                    int route = chromosome.routeOf(position);
+                    int to = chromosome.routeStart(route) + random.nextInt(chromosome.routeLength(route));
+                    chromosome.reverse(Math.min(position, to), Math.max(position, to));
+                }
+                default -> {
+                    int route = random.nextInt(chromosome.routeCount());
+                    int length = chromosome.routeLength(route) - (chromosome.routeOf(position) == route ? 1 : 0);
+                    chromosome.relocate(position, route, random.nextInt(length + 1));
+                }
+            }
+
+            //then
+            ChromosomeV5 fresh = ChromosomeV5.from(chromosome.toGenes());
+            assertThat(chromosome.getRoutesHash()).isEqualTo(fresh.getRoutesHash());
+            assertThat(chromosome.sameRoutes(fresh)).isTrue();
+        }
+    }
+
+    @Test
+    public void relocate_MovesGeneAndKeepsOtherRoutes() {
+        //given
+        ChromosomeV5 chromosome = ChromosomeV5.from(new int[][]{{0, 1, 2}, {3}, {4, 5}});
+
+        //when
+        int moved = chromosome.relocate(1, 2, 1);
+        long hash = chromosome.getRoutesHash();
+        chromosome.rehash();
+
+        //then
+        assertThat(chromosome.toGenes()).isEqualTo(new int[][]{{0, 2}, {3}, {4, 1, 5}});
+        assertThat(moved).isEqualTo(4);
+        assertThat(chromosome.getRoutesHash()).isEqualTo(hash);
+    }
+
+    @Test
+    public void routesHash_WhenRouteBoundaryDiffers_IsDifferent() {
+        //given
+        ChromosomeV5 chromosome = ChromosomeV5.from(new int[][]{{0, 1}, {2, 3}});
+        ChromosomeV5 shifted = ChromosomeV5.from(new int[][]{{0, 1, 2}, {3}});
+
+        //when
+        //then
+        assertThat(chromosome.getRoutesHash()).isNotEqualTo(shifted.getRoutesHash());
+    }
+}
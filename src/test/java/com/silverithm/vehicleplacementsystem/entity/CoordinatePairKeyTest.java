@@ -0,0 +1,42 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import org.junit.jupiter.api.Test;
+
+public class CoordinatePairKeyTest {
+
+    private final Location destination = new Location(37.55, 127.05);
+
+    @Test
+    public void of_WhenCoordinateKeysAreEqual_ReturnsSameKey() {
+        //given
+        // 1e-5 도 격자 안에서만 다른 좌표
+        Location start = new Location(37.123451, 127.123451);
+        Location nearby = new Location(37.123449, 127.123454);
+
+        //when
+        String key = CoordinatePairKey.of(start, destination);
+        String nearbyKey = CoordinatePairKey.of(nearby, destination);
+
+        //then
+        assertThat(CoordinateKey.of(start)).isEqualTo(CoordinateKey.of(nearby));
+        assertThat(key).hasSize(CoordinatePairKey.LENGTH).isEqualTo(nearbyKey);
+    }
+
+    @Test
+    public void of_WhenCoordinateKeysDiffer_ReturnsDifferentKey() {
+        //given
+        Location start = new Location(37.12345, 127.12345);
+        Location nextCell = new Location(37.12346, 127.12345);
+
+        //when
+        String key = CoordinatePairKey.of(start, destination);
+        String nextCellKey = CoordinatePairKey.of(nextCell, destination);
+
+        //then
+        assertThat(CoordinateKey.of(start)).isNotEqualTo(CoordinateKey.of(nextCell));
+        assertThat(key).isNotEqualTo(nextCellKey);
+    }
+}
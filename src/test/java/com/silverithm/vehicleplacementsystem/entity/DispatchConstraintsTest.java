@@ -0,0 +1,158 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.silverithm.vehicleplacementsystem.dto.CoupleRequestDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.FixedAssignmentsDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class DispatchConstraintsTest {
+
+    private final List<EmployeeDTO> employees = List.of(employee(1L, 3), employee(2L, 3));
+
+    @Test
+    public void isValid_CountsFrontSeatEldersInRouteRegardlessOfSeat() {
+        //given
+        // 앞좌석 어르신은 1번과 2번 (인덱스 1, 2)
+        DispatchConstraints constraints = constraints(elderlys(Set.of(1, 2), 4), List.of(), List.of(), null);
+
+        //when
+        //then
+        assertThat(constraints.isValid(ChromosomeV5.from(new int[][]{{0, 1}, {2, 3}}))).isTrue();
+        assertThat(constraints.isValid(ChromosomeV5.from(new int[][]{{1, 0}, {3, 2}}))).isTrue();
+        assertThat(constraints.isValid(ChromosomeV5.from(new int[][]{{1, 2}, {0, 3}}))).isFalse();
+        assertThat(constraints.isValid(ChromosomeV5.from(new int[][]{{0, 3, 1, 2}, {}}))).isFalse();
+    }
+
+    @Test
+    public void repair_WhenTwoFrontSeatsShareRoute_SwapsOneWithRegularElder() {
+        //given
+        DispatchConstraints constraints = constraints(elderlys(Set.of(1, 2), 4), List.of(), List.of(), null);
+        ChromosomeV5 chromosome = ChromosomeV5.from(new int[][]{{1, 2}, {0, 3}});
+
+        //when
+        boolean repaired = constraints.repair(chromosome);
+
+        //then
+        assertThat(repaired).isTrue();
+        assertThat(chromosome.toGenes()).isEqualTo(new int[][]{{0, 2}, {1, 3}});
+        assertRehashed(chromosome);
+    }
+
+    @Test
+    public void repair_WhenFixedSlotIsTaken_SwapsFixedElderBack() {
+        //given
+        // 직원 2 의 첫 번째 자리는 어르신 인덱스 3 으로 고정
+        DispatchConstraints constraints = constraints(elderlys(Set.of(), 4), List.of(),
+                List.of(new FixedAssignmentsDTO(2, 103, 1)), null);
+        ChromosomeV5 chromosome = ChromosomeV5.from(new int[][]{{3, 0}, {1, 2}});
+
+        //when
+        boolean repaired = constraints.repair(chromosome);
+
+        //then
+        assertThat(repaired).isTrue();
+        assertThat(chromosome.route(1)[0]).isEqualTo(3);
+        assertThat(chromosome.toGenes()).isEqualTo(new int[][]{{1, 0}, {3, 2}});
+        assertRehashed(chromosome);
+    }
+
+    @Test
+    public void repair_WhenCoupleIsSplit_MovesPartnerNextToElder() {
+        //given
+        DispatchConstraints constraints = constraints(elderlys(Set.of(), 4),
+                List.of(new CoupleRequestDTO(100L, 103L)), List.of(), null);
+        ChromosomeV5 chromosome = ChromosomeV5.from(new int[][]{{0, 1}, {2, 3}});
+
+        //when
+        boolean repaired = constraints.repair(chromosome);
+
+        //then
+        assertThat(repaired).isTrue();
+        assertThat(chromosome.toGenes()).isEqualTo(new int[][]{{0, 3}, {2, 1}});
+        assertRehashed(chromosome);
+    }
+
+    @Test
+    public void repair_WhenCoupleAndFixedSlotConflict_KeepsFixedSlot() {
+        //given
+        // 어르신 1 은 직원 1 의 두 번째 자리에 고정, 0 과 3 은 부부
+        DispatchConstraints constraints = constraints(elderlys(Set.of(), 4),
+                List.of(new CoupleRequestDTO(100L, 103L)), List.of(new FixedAssignmentsDTO(1, 101, 2)), null);
+        ChromosomeV5 chromosome = ChromosomeV5.from(new int[][]{{0, 1}, {2, 3}});
+
+        //when
+        boolean repaired = constraints.repair(chromosome);
+
+        //then
+        assertThat(repaired).isTrue();
+        assertThat(chromosome.route(0)[1]).isEqualTo(1);
+        assertThat(chromosome.toGenes()).isEqualTo(new int[][]{{2, 1}, {0, 3}});
+    }
+
+    @Test
+    public void repair_WhenStopsExceedCapacity_MovesStopToRouteWithRoom() {
+        //given
+        // 정류장 0 은 두 명이 탄다. 경로 0 의 인원은 4 명으로 최대 3 명을 넘는다
+        DispatchConstraints constraints = constraints(elderlys(Set.of(), 4), List.of(), List.of(),
+                new int[]{2, 1, 1, 1});
+        ChromosomeV5 chromosome = ChromosomeV5.from(new int[][]{{0, 1, 2}, {3}});
+
+        //when
+        boolean repaired = constraints.repair(chromosome);
+
+        //then
+        assertThat(repaired).isTrue();
+        assertThat(chromosome.toGenes()).isEqualTo(new int[][]{{0, 1}, {3, 2}});
+        assertThat(constraints.load(chromosome, 0)).isEqualTo(3);
+        assertThat(constraints.load(chromosome, 1)).isEqualTo(2);
+        assertRehashed(chromosome);
+    }
+
+    @Test
+    public void repair_WhenNoRegularElderToSwap_ReturnsFalse() {
+        //given
+        DispatchConstraints constraints = constraints(elderlys(Set.of(0, 1, 2), 4), List.of(), List.of(), null);
+        ChromosomeV5 chromosome = ChromosomeV5.from(new int[][]{{0, 1, 2}, {3}});
+
+        //when
+        boolean repaired = constraints.repair(chromosome);
+
+        //then
+        // 앞좌석 어르신 셋을 차량 두 대에 한 명씩 나눌 수 없다
+        assertThat(repaired).isFalse();
+        assertThat(Arrays.stream(chromosome.toGenes()).flatMapToInt(Arrays::stream).sorted().toArray())
+                .containsExactly(0, 1, 2, 3);
+    }
+
+    private DispatchConstraints constraints(List<ElderlyDTO> elderlys, List<CoupleRequestDTO> couples,
+                                            List<FixedAssignmentsDTO> fixedAssignments, int[] passengers) {
+        return new DispatchConstraints(employees, elderlys, couples,
+                new FixedAssignmentsV2(fixedAssignments, employees, elderlys), passengers);
+    }
+
+    private static void assertRehashed(ChromosomeV5 chromosome) {
+        assertThat(chromosome.getRoutesHash()).isEqualTo(ChromosomeV5.from(chromosome.toGenes()).getRoutesHash());
+    }
+
+    // 어르신 ID 는 100 + 인덱스
+    private static List<ElderlyDTO> elderlys(Set<Integer> frontSeats, int count) {
+        List<ElderlyDTO> elderlys = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            elderlys.add(new ElderlyDTO(100L + i, "", new Location(37.5, 127.0), frontSeats.contains(i), ""));
+        }
+        return elderlys;
+    }
+
+    private static EmployeeDTO employee(Long id, int maximumCapacity) {
+        return new EmployeeDTO(id, "", "", "", new Location(37.5, 127.0), new Location(37.5, 127.0),
+                maximumCapacity, false);
+    }
+}
@@ -0,0 +1,115 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
+import com.silverithm.vehicleplacementsystem.dto.CoupleRequestDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.FixedAssignmentsDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.service.GeneticAlgorithmV6;
+import com.silverithm.vehicleplacementsystem.service.HaversineDistanceMatrixProvider;
+import com.silverithm.vehicleplacementsystem.service.SSEService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class ElderlyStopsTest {
+
+    private final Location careHome = new Location(37.55, 127.05);
+
+    @Test
+    public void collapse_WhenCoupleSharesHome_MergesIntoOneStopAndDropsCouple() {
+        //given
+        List<ElderlyDTO> elderlys = List.of(elderly(1L, careHome, false), elderly(2L, new Location(37.6, 127.1), false),
+                elderly(3L, new Location(37.550001, 127.050001), false));
+        List<CoupleRequestDTO> couples = List.of(new CoupleRequestDTO(1L, 3L));
+
+        //when
+        ElderlyStops elderlyStops = ElderlyStops.collapse(elderlys, couples, List.of(), 4, 0);
+
+        //then
+        assertThat(elderlyStops.stops()).extracting(ElderlyDTO::id).containsExactly(1L, 2L);
+        assertThat(elderlyStops.passengers()).containsExactly(2, 1);
+        assertThat(elderlyStops.couples()).isEmpty();
+        assertThat(elderlyStops.expand(new int[][]{{1, 0}})).isEqualTo(new int[][]{{1, 0, 2}});
+    }
+
+    @Test
+    public void collapse_WhenFixedFrontSeatOrFull_KeepsSeparateStops() {
+        //given
+        List<ElderlyDTO> elderlys = List.of(elderly(1L, careHome, true), elderly(2L, careHome, true),
+                elderly(3L, careHome, false), elderly(4L, careHome, false), elderly(5L, careHome, false));
+        List<FixedAssignmentsDTO> fixedAssignments = List.of(new FixedAssignmentsDTO(100, 5, 1));
+
+        //when
+        ElderlyStops elderlyStops = ElderlyStops.collapse(elderlys, List.of(), fixedAssignments, 2, 0);
+
+        //then
+        // 앞좌석 두 명은 나뉘고, 정류장당 2명까지, 고정 배정된 5번은 혼자
+        assertThat(elderlyStops.stops()).extracting(ElderlyDTO::id).containsExactly(1L, 2L, 5L);
+        assertThat(elderlyStops.passengers()).containsExactly(2, 2, 1);
+        assertThat(elderlyStops.stops()).extracting(ElderlyDTO::requiredFrontSeat).containsExactly(true, true, false);
+    }
+
+    @Test
+    public void collapse_WhenRadiusIsSet_MergesNearbyHomes() {
+        //given
+        // 위도 0.0002 도 ≈ 22m
+        List<ElderlyDTO> elderlys = List.of(elderly(1L, careHome, false),
+                elderly(2L, new Location(37.5502, 127.05), false));
+
+        //when
+        ElderlyStops exact = ElderlyStops.collapse(elderlys, List.of(), List.of(), 4, 0);
+        ElderlyStops nearby = ElderlyStops.collapse(elderlys, List.of(), List.of(), 4, 30);
+
+        //then
+        assertThat(exact.isCollapsed()).isFalse();
+        assertThat(nearby.passengers()).containsExactly(2);
+    }
+
+    @Test
+    public void geneticAlgorithm_WhenStopsCollapsed_KeepsCapacityAfterExpand() throws Exception {
+        //given
+        // 시설 두 곳에 3명씩, 나머지는 따로 사는 어르신 14명. 최대 4명인 차량 5대
+        List<ElderlyDTO> elderlys = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            Location home = i < 3 ? careHome
+                    : i < 6 ? new Location(37.45, 126.95)
+                    : new Location(37.4 + i * 0.01, 126.9 + (i % 5) * 0.03);
+            elderlys.add(elderly(1000 + i, home, false));
+        }
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (long i = 0; i < 5; i++) {
+            employees.add(new EmployeeDTO(i, "", "", "", new Location(37.5 + i * 0.01, 127.0), careHome, 4, false));
+        }
+        ElderlyStops elderlyStops = ElderlyStops.collapse(elderlys, List.of(), List.of(), 4, 0);
+        DistanceMatrix distanceMatrix = new HaversineDistanceMatrixProvider(1.3, 30).build(employees,
+                elderlyStops.stops(), new CompanyDTO(new Location(37.5, 127.0)), DispatchType.DURATION_IN, "job");
+
+        GeneticAlgorithmV6 geneticAlgorithm = new GeneticAlgorithmV6(employees, elderlyStops.stops(),
+                elderlyStops.couples(), List.of(), elderlyStops.passengers(), mock(SSEService.class), Runnable::run);
+        geneticAlgorithm.initialize(distanceMatrix, DispatchType.DURATION_IN, "test", 42L);
+        geneticAlgorithm.setParameters(new GeneticAlgorithmParameters(200, 30, 0.7, 0.9));
+        geneticAlgorithm.setTerminationCriteria(TerminationCriteria.generations(30));
+
+        //when
+        GeneticAlgorithmResult result = geneticAlgorithm.run("job");
+        int[][] routes = elderlyStops.expand(result.best().toGenes());
+
+        //then
+        assertThat(elderlyStops.stops()).hasSize(16);
+        assertThat(result.best().getFitness()).isPositive();
+        assertThat(Arrays.stream(routes).mapToInt(route -> route.length)).allMatch(length -> length <= 4);
+        assertThat(Arrays.stream(routes).flatMapToInt(Arrays::stream).sorted().toArray())
+                .containsExactly(IntStream.range(0, 20).toArray());
+    }
+
+    private static ElderlyDTO elderly(Long id, Location home, boolean requiredFrontSeat) {
+        return new ElderlyDTO(id, "", home, requiredFrontSeat, "");
+    }
+}
@@ -0,0 +1,101 @@
+package com.silverithm.vehicleplacementsystem.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+public class ScoreTableTest {
+
+    // 기존 DurationScore / DistanceScore 의 구간 (상한, 점수)
+    private static final int[] DURATION_LIMITS = {0, 100, 200, 300, 400, 500, 600, 700, 800, 900, 1000, 1100, 1200,
+            1300, 1400, 1500, 1600, 1700, 1800, 1900, Integer.MAX_VALUE};
+    private static final int[] DISTANCE_LIMITS = {0, 1000, 1500, 2000, 2500, 3000, 3500, 4000, 4500, 5000, 5500,
+            6000, 6500, 7000, 7500, 8000, 8500, 9000, 9500, 10000, Integer.MAX_VALUE};
+    private static final double[] SCORES = {10000, 950, 900, 850, 800, 750, 700, 650, 600, 550, 500, 450, 400, 350,
+            300, 250, 200, 150, 100, 50, 0};
+
+    @Test
+    public void durationScore_MatchesLinearScan() {
+        //given
+        List<Double> values = values(DURATION_LIMITS);
+
+        //when
+        //then
+        for (double value : values) {
+            assertThat(DurationScore.getScore(value)).as("duration %s", value)
+                    .isEqualTo(linearScan(DURATION_LIMITS, SCORES, value));
+        }
+    }
+
+    @Test
+    public void distanceScore_MatchesLinearScan() {
+        //given
+        List<Double> values = values(DISTANCE_LIMITS);
+
+        //when
+        //then
+        for (double value : values) {
+            assertThat(DistanceScore.getScore(value)).as("distance %s", value)
+                    .isEqualTo(linearScan(DISTANCE_LIMITS, SCORES, value));
+        }
+    }
+
+    @Test
+    public void parse_WhenTooManyBuckets_FallsBackToBinarySearchWithSameScores() {
+        //given
+        // 최대공약수가 1 이라 칸 수가 MAX_BUCKETS 를 넘는다
+        int[] limits = {-50, 7, 100_000_000, Integer.MAX_VALUE};
+        double[] scores = {1, 2, 3, 4};
+        ScoreTable scoreTable = ScoreTable.parse("-50:1, 7:2, 100000000:3, MAX:4");
+
+        //when
+        //then
+        for (double value : values(limits)) {
+            assertThat(scoreTable.score(value)).as("value %s", value).isEqualTo(linearScan(limits, scores, value));
+        }
+    }
+
+    @Test
+    public void parse_WhenNoOverflowBand_ScoresZeroAboveLastLimit() {
+        //given
+        ScoreTable scoreTable = ScoreTable.parse("10:3,20:2");
+
+        //when
+        //then
+        assertThat(scoreTable.score(-1)).isEqualTo(3);
+        assertThat(scoreTable.score(20.0)).isEqualTo(2);
+        assertThat(scoreTable.score(20.5)).isEqualTo(0);
+        assertThat(scoreTable.score(Integer.MAX_VALUE)).isEqualTo(0);
+    }
+
+    // 기존 getScore: 상한 이하인 첫 구간의 점수, 없으면 0
+    private static double linearScan(int[] limits, double[] scores, double value) {
+        for (int i = 0; i < limits.length; i++) {
+            if (value <= limits[i]) {
+                return scores[i];
+            }
+        }
+        return 0;
+    }
+
+    // 음수, 소수, 경계와 경계 ±1/±0.5, 마지막 유한 경계 초과, int 범위 밖, NaN 과 임의 값
+    private static List<Double> values(int[] limits) {
+        List<Double> values = new ArrayList<>(List.of(-1e12, -1000.0, -5.0, -0.5, -0.0, 0.0, 0.1, 0.5, 0.999,
+                1e6, (double) Integer.MAX_VALUE, Integer.MAX_VALUE + 1.0, 1e20, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NaN));
+        for (int limit : limits) {
+            for (double delta : new double[]{-1, -0.5, -1e-9, 0, 1e-9, 0.5, 1}) {
+                values.add(limit + delta);
+            }
+        }
+        SplittableRandom random = new SplittableRandom(17);
+        int lastFinite = limits[limits.length - 2];
+        for (int i = 0; i < 5_000; i++) {
+            values.add(random.nextDouble(-100, Math.min(lastFinite, 1_000_000) * 1.2 + 100));
+        }
+        return values;
+    }
+}
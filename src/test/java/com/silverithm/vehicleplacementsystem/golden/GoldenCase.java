@@ -0,0 +1,75 @@
+package com.silverithm.vehicleplacementsystem.golden;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 골든 데이터셋의 배차 요청 하나 (src/test/resources/golden/*.json).
+ * <p>
+ * 실제 요청 모양을 유지한 익명 데이터이고, 거리/시간 행렬을 미리 계산해 두어 외부 API 를 부르지 않는다. distanceMatrix 는
+ * {@link DistanceMatrix} 의 노드 순서(회사, 직원, 어르신)를 따르는 정사각 행렬이다.
+ */
+record GoldenCase(String name, String description, RequestDispatchDTO request, int[][] distanceMatrix) {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    static GoldenCase read(InputStream inputStream) throws IOException {
+        GoldenCase goldenCase = OBJECT_MAPPER.readValue(inputStream, GoldenCase.class);
+        int size = 1 + goldenCase.employees().size() + goldenCase.elderlys().size();
+        if (goldenCase.distanceMatrix().length != size) {
+            throw new IllegalArgumentException(
+                    "[ERROR] 골든 데이터 " + goldenCase.name() + " 의 행렬 크기가 노드 수(" + size + ")와 다릅니다.");
+        }
+        return goldenCase;
+    }
+
+    List<EmployeeDTO> employees() {
+        return request.employees();
+    }
+
+    List<ElderlyDTO> elderlys() {
+        return request.elderlys();
+    }
+
+    DistanceMatrix toDistanceMatrix() {
+        DistanceMatrix matrix = new DistanceMatrix(employees(), elderlys());
+        for (int from = 0; from < distanceMatrix.length; from++) {
+            for (int to = 0; to < distanceMatrix.length; to++) {
+                matrix.set(from, to, distanceMatrix[from][to]);
+            }
+        }
+        return matrix;
+    }
+
+    // GeneticAlgorithm ~ V5 (V3 제외) 가 쓰는 "Company" / "Employee_{id}" / "Elderly_{id}" 키 형식
+    Map<String, Map<String, Integer>> toNodeMatrix() {
+        String[] keys = new String[distanceMatrix.length];
+        keys[DistanceMatrix.COMPANY] = "Company";
+        for (int i = 0; i < employees().size(); i++) {
+            keys[1 + i] = "Employee_" + employees().get(i).id();
+        }
+        for (int i = 0; i < elderlys().size(); i++) {
+            keys[1 + employees().size() + i] = "Elderly_" + elderlys().get(i).id();
+        }
+
+        Map<String, Map<String, Integer>> nodeMatrix = new HashMap<>();
+        for (int from = 0; from < keys.length; from++) {
+            Map<String, Integer> row = new HashMap<>();
+            for (int to = 0; to < keys.length; to++) {
+                row.put(keys[to], distanceMatrix[from][to]);
+            }
+            nodeMatrix.put(keys[from], row);
+        }
+        return nodeMatrix;
+    }
+}
@@ -0,0 +1,172 @@
+package com.silverithm.vehicleplacementsystem.golden;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+/**
+ * 골든 데이터셋 회귀 비교. 데이터마다 각 유전 알고리즘 버전을 같은 seed(와 V6 이후는 같은 시간 한도)로 돌려 배차 품질과
+ * 실행 비용을 build/reports/golden/report.md, report.csv 로 남긴다.
+ * <p>
+ * 외부 API 를 부르지 않지만 버전당 수십 초 ~ 수 분이 걸리므로 일반 test 에서는 빠지고 goldenTest 태스크로만 돈다.
+ * <pre>
+ * gradle goldenTest [-Dgolden.engines=V3,V6] [-Dgolden.seed=42] [-Dgolden.time-budget-ms=10000]
+ * </pre>
+ * 현재 배차에 쓰는 V6 / ISLAND 가 제약조건을 어기거나 실패하면 테스트도 실패한다. 이전 버전은 보고만 한다.
+ */
+@Slf4j
+@Tag("golden")
+class GoldenDatasetTest {
+
+    private static final Path REPORT_DIRECTORY = Path.of("build", "reports", "golden");
+
+    private final List<GoldenEngine> engines = parseEngines(System.getProperty("golden.engines", ""));
+    private final long seed = Long.getLong("golden.seed", 42L);
+    private final long timeBudgetMillis = Long.getLong("golden.time-budget-ms", 0L);
+
+    @Test
+    void compareEngines() throws Exception {
+        List<GoldenCase> goldenCases = loadGoldenCases();
+        List<GoldenRun> runs = new ArrayList<>();
+
+        for (GoldenCase goldenCase : goldenCases) {
+            GoldenEvaluator evaluator = new GoldenEvaluator(goldenCase);
+            for (GoldenEngine engine : engines) {
+                GoldenRun run = GoldenRun.measure(goldenCase, engine, evaluator, seed, timeBudgetMillis);
+                log.info(run.toString());
+                runs.add(run);
+            }
+        }
+
+        writeReport(runs);
+
+        for (GoldenRun run : runs) {
+            if (run.engine() == GoldenEngine.V6 || run.engine() == GoldenEngine.ISLAND) {
+                assertTrue(run.error() == null && run.metrics().violations() == 0,
+                        run.caseName() + " / " + run.engine() + " : " + run);
+            }
+        }
+    }
+
+    private static List<GoldenEngine> parseEngines(String property) {
+        if (property.isBlank()) {
+            return List.of(GoldenEngine.values());
+        }
+        return Arrays.stream(property.split(","))
+                .map(String::trim)
+                .map(GoldenEngine::valueOf)
+                .toList();
+    }
+
+    private static List<GoldenCase> loadGoldenCases() throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources("classpath:golden/*.json");
+        List<GoldenCase> goldenCases = new ArrayList<>();
+        for (Resource resource : resources) {
+            try (InputStream inputStream = resource.getInputStream()) {
+                goldenCases.add(GoldenCase.read(inputStream));
+            }
+        }
+        goldenCases.sort(Comparator.comparing(GoldenCase::name));
+        return goldenCases;
+    }
+
+    private void writeReport(List<GoldenRun> runs) throws IOException {
+        Files.createDirectories(REPORT_DIRECTORY);
+
+        StringBuilder markdown = new StringBuilder()
+                .append("# Golden dataset report\n\n")
+                .append("seed ").append(seed).append(", time budget ")
+                .append(timeBudgetMillis > 0 ? timeBudgetMillis + " ms (V6, ISLAND)" : "none").append("\n\n")
+                .append("| case | engine | total time | violations | wall ms | cpu ms | peak heap MB | seeded | budget |\n")
+                .append("|---|---|---:|---:|---:|---:|---:|---|---|\n");
+        StringBuilder csv = new StringBuilder("case,engine,total_time,constraint_violations,capacity_violations,"
+                + "missing_elderlys,duplicated_elderlys,wall_ms,cpu_ms,peak_heap_bytes,seeded,time_budgeted,error\n");
+
+        for (GoldenRun run : runs) {
+            markdown.append(run.toMarkdownRow()).append('\n');
+            csv.append(run.toCsvRow()).append('\n');
+        }
+
+        Files.writeString(REPORT_DIRECTORY.resolve("report.md"), markdown);
+        Files.writeString(REPORT_DIRECTORY.resolve("report.csv"), csv);
+        log.info("golden report : " + REPORT_DIRECTORY.resolve("report.md").toAbsolutePath());
+    }
+
+    /**
+     * 엔진 한 번 실행의 결과와 비용.
+     * <p>
+     * CPU 시간은 프로세스 전체 기준이라 GC 와 executor 스레드가 쓴 시간을 포함한다. 최대 힙은 실행 직전에 힙 메모리 풀의 최대값을
+     * 초기화하고 실행 후 풀별 최대값을 더한 값이라, 풀마다 최대인 시점이 달라 실제보다 조금 클 수 있다.
+     */
+    record GoldenRun(String caseName, GoldenEngine engine, GoldenMetrics metrics, long wallMillis, long cpuMillis,
+                     long peakHeapBytes, String error) {
+
+        static GoldenRun measure(GoldenCase goldenCase, GoldenEngine engine, GoldenEvaluator evaluator, long seed,
+                                 long timeBudgetMillis) {
+            List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                    .filter(pool -> pool.getType() == MemoryType.HEAP)
+                    .toList();
+            System.gc();
+            heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+            long cpuStart = processCpuNanos();
+            long wallStart = System.nanoTime();
+            int[][] routes = null;
+            String error = null;
+            try {
+                routes = engine.solve(goldenCase, seed, timeBudgetMillis);
+            } catch (Exception e) {
+                error = e.toString();
+                log.warn(goldenCase.name() + " / " + engine + " 실패", e);
+            }
+            long wallMillis = (System.nanoTime() - wallStart) / 1_000_000;
+            long cpuMillis = (processCpuNanos() - cpuStart) / 1_000_000;
+            long peakHeapBytes = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+
+            GoldenMetrics metrics = routes == null ? null : evaluator.evaluate(routes);
+            return new GoldenRun(goldenCase.name(), engine, metrics, wallMillis, cpuMillis, peakHeapBytes, error);
+        }
+
+        String toMarkdownRow() {
+            String quality = metrics == null
+                    ? "ERROR | " + error
+                    : metrics.totalTime() + " | " + metrics.violations();
+            return "| " + caseName + " | " + engine + " | " + quality + " | " + wallMillis + " | " + cpuMillis
+                    + " | " + String.format("%.1f", peakHeapBytes / (1024.0 * 1024.0)) + " | "
+                    + (engine.seeded() ? "yes" : "no") + " | " + (engine.timeBudgeted() ? "yes" : "no") + " |";
+        }
+
+        String toCsvRow() {
+            String quality = metrics == null
+                    ? ",,,,"
+                    : metrics.totalTime() + "," + metrics.constraintViolations() + "," + metrics.capacityViolations()
+                            + "," + metrics.missingElderlys() + "," + metrics.duplicatedElderlys();
+            return caseName + "," + engine + "," + quality + "," + wallMillis + "," + cpuMillis + ","
+                    + peakHeapBytes + "," + engine.seeded() + "," + engine.timeBudgeted() + ","
+                    + (error == null ? "" : "\"" + error.replace("\"", "'") + "\"");
+        }
+
+        private static long processCpuNanos() {
+            if (ManagementFactory.getOperatingSystemMXBean()
+                    instanceof com.sun.management.OperatingSystemMXBean operatingSystem) {
+                return operatingSystem.getProcessCpuTime();
+            }
+            return 0L;
+        }
+    }
+}
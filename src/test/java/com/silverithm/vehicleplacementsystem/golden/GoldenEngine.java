@@ -0,0 +1,164 @@
+package com.silverithm.vehicleplacementsystem.golden;
+
+import com.silverithm.vehicleplacementsystem.dto.RequestDispatchDTO;
+import com.silverithm.vehicleplacementsystem.entity.Chromosome;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV2;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV3;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmParameters;
+import com.silverithm.vehicleplacementsystem.entity.TerminationCriteria;
+import com.silverithm.vehicleplacementsystem.repository.EmitterRepository;
+import com.silverithm.vehicleplacementsystem.service.GeneticAlgorithm;
+import com.silverithm.vehicleplacementsystem.service.GeneticAlgorithmV2;
+import com.silverithm.vehicleplacementsystem.service.GeneticAlgorithmV3;
+import com.silverithm.vehicleplacementsystem.service.GeneticAlgorithmV4;
+import com.silverithm.vehicleplacementsystem.service.GeneticAlgorithmV5;
+import com.silverithm.vehicleplacementsystem.service.GeneticAlgorithmV6;
+import com.silverithm.vehicleplacementsystem.service.IslandGeneticAlgorithm;
+import com.silverithm.vehicleplacementsystem.service.SSEService;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 골든 데이터셋으로 비교하는 유전 알고리즘 버전들. 각 버전을 해당 DispatchService 와 같은 방식으로 만들어 돌리고, 최적 개체의
+ * 경로(직원 순서대로 어르신 인덱스 배열)만 돌려준다.
+ * <p>
+ * GeneticAlgorithm, V2 는 static Random 을 써서 seed 를 줄 수 없고, V6 이전 버전은 세대 수가 고정이라 시간 한도를 적용할 수
+ * 없다. 보고서에는 이 여부를 함께 적는다.
+ */
+enum GoldenEngine {
+
+    V1(false, false) {
+        @Override
+        int[][] solve(GoldenCase goldenCase, long seed, long timeBudgetMillis) throws Exception {
+            RequestDispatchDTO request = goldenCase.request();
+            GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(request.employees(), request.elderlys(),
+                    request.couples(), request.fixedAssignments(), sseService());
+            geneticAlgorithm.initialize(goldenCase.toNodeMatrix(), request.dispatchType(), request.userName());
+            Chromosome best = geneticAlgorithm.run().get(0);
+            return best.getGenes().stream()
+                    .map(route -> route.stream().mapToInt(Integer::intValue).toArray())
+                    .toArray(int[][]::new);
+        }
+    },
+
+    V2(false, false) {
+        @Override
+        int[][] solve(GoldenCase goldenCase, long seed, long timeBudgetMillis) throws Exception {
+            RequestDispatchDTO request = goldenCase.request();
+            GeneticAlgorithmV2 geneticAlgorithm = new GeneticAlgorithmV2(request.employees(), request.elderlys(),
+                    request.couples(), request.fixedAssignments(), sseService());
+            geneticAlgorithm.initialize(goldenCase.toNodeMatrix(), request.dispatchType(), request.userName());
+            ChromosomeV2 best = geneticAlgorithm.run()[0];
+            return best.getGenes();
+        }
+    },
+
+    V3(true, false) {
+        @Override
+        int[][] solve(GoldenCase goldenCase, long seed, long timeBudgetMillis) throws Exception {
+            RequestDispatchDTO request = goldenCase.request();
+            GeneticAlgorithmV3 geneticAlgorithm = new GeneticAlgorithmV3(request.employees(), request.elderlys(),
+                    request.couples(), request.fixedAssignments(), sseService());
+            geneticAlgorithm.setSeed(seed);
+            geneticAlgorithm.initialize(goldenCase.toDistanceMatrix(), request.dispatchType(), request.userName());
+            return best(geneticAlgorithm.run(request.userName()));
+        }
+    },
+
+    V4(true, false) {
+        @Override
+        int[][] solve(GoldenCase goldenCase, long seed, long timeBudgetMillis) throws Exception {
+            RequestDispatchDTO request = goldenCase.request();
+            GeneticAlgorithmV4 geneticAlgorithm = new GeneticAlgorithmV4(request.employees(), request.elderlys(),
+                    request.couples(), request.fixedAssignments(), sseService());
+            geneticAlgorithm.setSeed(seed);
+            geneticAlgorithm.initialize(goldenCase.toNodeMatrix(), request.dispatchType(), request.userName());
+            return best(geneticAlgorithm.run());
+        }
+    },
+
+    V5(true, false) {
+        @Override
+        int[][] solve(GoldenCase goldenCase, long seed, long timeBudgetMillis) throws Exception {
+            RequestDispatchDTO request = goldenCase.request();
+            GeneticAlgorithmV5 geneticAlgorithm = new GeneticAlgorithmV5(request.employees(), request.elderlys(),
+                    request.couples(), request.fixedAssignments(), sseService());
+            geneticAlgorithm.setSeed(seed);
+            geneticAlgorithm.initialize(goldenCase.toNodeMatrix(), request.dispatchType(), request.userName());
+            return best(geneticAlgorithm.run());
+        }
+    },
+
+    V6(true, true) {
+        @Override
+        int[][] solve(GoldenCase goldenCase, long seed, long timeBudgetMillis) throws Exception {
+            RequestDispatchDTO request = goldenCase.request();
+            ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            try {
+                GeneticAlgorithmV6 geneticAlgorithm = new GeneticAlgorithmV6(request.employees(),
+                        request.elderlys(), request.couples(), request.fixedAssignments(), sseService(), executor);
+                geneticAlgorithm.initialize(goldenCase.toDistanceMatrix(), request.dispatchType(),
+                        request.userName(), seed);
+                geneticAlgorithm.setTerminationCriteria(terminationCriteria(timeBudgetMillis));
+                return geneticAlgorithm.run(request.userName()).best().toGenes();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    },
+
+    ISLAND(true, true) {
+        @Override
+        int[][] solve(GoldenCase goldenCase, long seed, long timeBudgetMillis) throws Exception {
+            RequestDispatchDTO request = goldenCase.request();
+            ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            try {
+                IslandGeneticAlgorithm geneticAlgorithm = new IslandGeneticAlgorithm(request.employees(),
+                        request.elderlys(), request.couples(), request.fixedAssignments(), sseService(), executor,
+                        ISLAND_COUNT, 10, 0.02);
+                geneticAlgorithm.initialize(goldenCase.toDistanceMatrix(), request.dispatchType(),
+                        request.userName(), seed);
+                geneticAlgorithm.setTerminationCriteria(terminationCriteria(timeBudgetMillis));
+                return geneticAlgorithm.run(request.userName()).best().toGenes();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    };
+
+    // 전체 개체 수를 섬 수로 나눠 쓰므로 개체 수 합은 다른 버전과 같다
+    private static final int ISLAND_COUNT = 4;
+
+    private final boolean seeded;
+    private final boolean timeBudgeted;
+
+    GoldenEngine(boolean seeded, boolean timeBudgeted) {
+        this.seeded = seeded;
+        this.timeBudgeted = timeBudgeted;
+    }
+
+    abstract int[][] solve(GoldenCase goldenCase, long seed, long timeBudgetMillis) throws Exception;
+
+    boolean seeded() {
+        return seeded;
+    }
+
+    boolean timeBudgeted() {
+        return timeBudgeted;
+    }
+
+    private static SSEService sseService() {
+        return new SSEService(new EmitterRepository());
+    }
+
+    private static int[][] best(List<ChromosomeV3> chromosomes) {
+        return chromosomes.get(0).getGenes();
+    }
+
+    // 세대 수는 다른 버전과 같게 두고 시간 한도만 더한다
+    private static TerminationCriteria terminationCriteria(long timeBudgetMillis) {
+        return new TerminationCriteria(GeneticAlgorithmParameters.DEFAULT.maxGenerations(), 0, 0,
+                timeBudgetMillis);
+    }
+}
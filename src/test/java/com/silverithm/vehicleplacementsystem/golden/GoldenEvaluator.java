@@ -0,0 +1,108 @@
+package com.silverithm.vehicleplacementsystem.golden;
+
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV5;
+import com.silverithm.vehicleplacementsystem.entity.DispatchConstraints;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.FixedAssignmentsV2;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 버전마다 적합도 계산이 조금씩 달라 엔진이 내놓는 값끼리는 비교할 수 없으므로, 배차 결과(경로)만 받아 같은 기준으로 다시 잰다.
+ * <ul>
+ *     <li>총 소요 시간(거리): 출근(IN)은 운전자면 회사, 아니면 직원 집에서 출발해 어르신을 순서대로 태우고 회사까지,
+ *     퇴근(OUT)은 회사에서 출발해 어르신을 내려 주고 운전자면 회사, 아니면 직원 집까지 간 값의 합. 빈 경로는 0.</li>
+ *     <li>제약조건 위반: 앞좌석/고정 배정/부부 조건을 어긴 경로 수, 최대 인원을 넘긴 경로 수, 빠지거나 두 번 배정된 어르신 수.</li>
+ * </ul>
+ */
+class GoldenEvaluator {
+
+    private final GoldenCase goldenCase;
+    private final DistanceMatrix distanceMatrix;
+    private final DispatchConstraints constraints;
+    private final int[] employeeSlots;
+    private final int[] elderlySlots;
+
+    GoldenEvaluator(GoldenCase goldenCase) {
+        this.goldenCase = goldenCase;
+        this.distanceMatrix = goldenCase.toDistanceMatrix();
+        this.constraints = new DispatchConstraints(goldenCase.employees(), goldenCase.elderlys(),
+                goldenCase.request().couples(), new FixedAssignmentsV2(goldenCase.request().fixedAssignments(),
+                goldenCase.employees(), goldenCase.elderlys()));
+        this.employeeSlots = distanceMatrix.employeeSlots(goldenCase.employees());
+        this.elderlySlots = distanceMatrix.elderlySlots(goldenCase.elderlys());
+    }
+
+    GoldenMetrics evaluate(int[][] genes) {
+        int[][] routes = removeEmptySlots(genes);
+        List<EmployeeDTO> employees = goldenCase.employees();
+        if (routes.length != employees.size()) {
+            throw new IllegalArgumentException(
+                    "[ERROR] 경로 수(" + routes.length + ")가 직원 수(" + employees.size() + ")와 다릅니다.");
+        }
+
+        long totalTime = 0;
+        int capacityViolations = 0;
+        int[] assigned = new int[goldenCase.elderlys().size()];
+        for (int route = 0; route < routes.length; route++) {
+            totalTime += routeTime(routes[route], route);
+            if (routes[route].length > employees.get(route).maximumCapacity()) {
+                capacityViolations++;
+            }
+            for (int elderly : routes[route]) {
+                assigned[elderly]++;
+            }
+        }
+
+        int missingElderlys = 0;
+        int duplicatedElderlys = 0;
+        for (int count : assigned) {
+            if (count == 0) {
+                missingElderlys++;
+            }
+            if (count > 1) {
+                duplicatedElderlys++;
+            }
+        }
+
+        ChromosomeV5 chromosome = ChromosomeV5.from(routes);
+        int constraintViolations = 0;
+        for (int route = 0; route < routes.length; route++) {
+            if (!constraints.isRouteValid(chromosome, route)) {
+                constraintViolations++;
+            }
+        }
+
+        return new GoldenMetrics(totalTime, constraintViolations, capacityViolations, missingElderlys,
+                duplicatedElderlys);
+    }
+
+    // 초기 버전 염색체는 빈 자리를 -1 로 남길 수 있다
+    private static int[][] removeEmptySlots(int[][] genes) {
+        int[][] routes = new int[genes.length][];
+        for (int i = 0; i < genes.length; i++) {
+            routes[i] = Arrays.stream(genes[i]).filter(elderly -> elderly >= 0).toArray();
+        }
+        return routes;
+    }
+
+    private long routeTime(int[] route, int employee) {
+        if (route.length == 0) {
+            return 0;
+        }
+        DispatchType dispatchType = goldenCase.request().dispatchType();
+        boolean driver = Boolean.TRUE.equals(goldenCase.employees().get(employee).isDriver());
+        int home = driver ? DistanceMatrix.COMPANY : employeeSlots[employee];
+        boolean in = dispatchType == DispatchType.DURATION_IN || dispatchType == DispatchType.DISTANCE_IN;
+
+        int previous = in ? home : DistanceMatrix.COMPANY;
+        long time = 0;
+        for (int elderly : route) {
+            time += distanceMatrix.get(previous, elderlySlots[elderly]);
+            previous = elderlySlots[elderly];
+        }
+        return time + distanceMatrix.get(previous, in ? DistanceMatrix.COMPANY : home);
+    }
+}
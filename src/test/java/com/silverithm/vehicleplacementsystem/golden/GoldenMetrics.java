@@ -0,0 +1,18 @@
+package com.silverithm.vehicleplacementsystem.golden;
+
+/**
+ * 배차 결과 하나의 품질.
+ *
+ * @param totalTime            모든 경로의 소요 시간(초) 또는 거리(m) 합
+ * @param constraintViolations 앞좌석/고정 배정/부부 조건을 어긴 경로 수
+ * @param capacityViolations   최대 인원을 넘긴 경로 수
+ * @param missingElderlys      배정되지 않은 어르신 수
+ * @param duplicatedElderlys   두 번 이상 배정된 어르신 수
+ */
+record GoldenMetrics(long totalTime, int constraintViolations, int capacityViolations, int missingElderlys,
+                     int duplicatedElderlys) {
+
+    int violations() {
+        return constraintViolations + capacityViolations + missingElderlys + duplicatedElderlys;
+    }
+}
@@ -0,0 +1,129 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.KakaoMapApiResponseDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrixSymmetry;
+import com.silverithm.vehicleplacementsystem.repository.RoadDistanceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+public class DistanceMatrixBuilderTest {
+
+    private final CompanyDTO company = new CompanyDTO(new Location(37.5, 127.0));
+
+    private KakaoMapApiService kakaoMapApiService;
+
+    @BeforeEach
+    public void setUp() {
+        kakaoMapApiService = mock(KakaoMapApiService.class);
+        // 방향마다 값이 달라지도록 출발 좌표에 가중치를 더 준다
+        when(kakaoMapApiService.getDistanceTotalTimeWithKakaoMapApi(any(), any())).thenAnswer(invocation -> {
+            Location start = invocation.getArgument(0);
+            Location destination = invocation.getArgument(1);
+            int value = (int) Math.round(Math.abs(start.getLatitude() - destination.getLatitude()) * 100_000
+                    + Math.abs(start.getLongitude() - destination.getLongitude()) * 100_000
+                    + start.getLatitude() * 1000);
+            return new KakaoMapApiResponseDTO(value, value / 10);
+        });
+    }
+
+    @Test
+    public void build_WhenSymmetric_FetchesEachCoordinatePairOnce() {
+        //given
+        List<EmployeeDTO> employees = List.of(employee(1L, new Location(37.51, 127.01)),
+                employee(2L, new Location(37.52, 127.02)));
+        List<ElderlyDTO> elderlys = elderlys(10);
+
+        //when
+        DistanceMatrix distanceMatrix = builder(DistanceMatrixSymmetry.SYMMETRIC)
+                .build(employees, elderlys, company, DispatchType.DISTANCE_IN, "job");
+
+        //then
+        // 순서쌍 기준이면 10 + 10 * 9 + 2 * 10 = 120 번, 대칭이면 10 + 45 + 20 = 75 번
+        assertThat(kakaoCalls()).isEqualTo(75);
+        int first = distanceMatrix.elderlySlot(1000L);
+        int second = distanceMatrix.elderlySlot(1001L);
+        assertThat(distanceMatrix.get(first, second)).isPositive().isEqualTo(distanceMatrix.get(second, first));
+    }
+
+    @Test
+    public void build_WhenAsymmetric_FetchesBothDirections() {
+        //given
+        List<EmployeeDTO> employees = List.of(employee(1L, new Location(37.51, 127.01)));
+        List<ElderlyDTO> elderlys = elderlys(5);
+
+        //when
+        DistanceMatrix distanceMatrix = builder(DistanceMatrixSymmetry.ASYMMETRIC)
+                .build(employees, elderlys, company, DispatchType.DISTANCE_OUT, "job");
+
+        //then
+        assertThat(kakaoCalls()).isEqualTo(2 * (5 + 10 + 5));
+        int first = distanceMatrix.elderlySlot(1000L);
+        int second = distanceMatrix.elderlySlot(1001L);
+        assertThat(distanceMatrix.get(first, second)).isNotEqualTo(distanceMatrix.get(second, first));
+    }
+
+    @Test
+    public void build_WhenLocationsCoincide_FetchesUniqueLocationsOnly() {
+        //given
+        // 회사에 사는 직원 1명, 같은 집에 사는 어르신 2명
+        Location shared = new Location(37.55, 127.05);
+        List<EmployeeDTO> employees = List.of(employee(1L, company.companyAddress()));
+        List<ElderlyDTO> elderlys = List.of(elderly(1000L, shared), elderly(1001L, shared),
+                elderly(1002L, new Location(37.56, 127.06)));
+
+        //when
+        DistanceMatrix distanceMatrix = builder(DistanceMatrixSymmetry.SYMMETRIC)
+                .build(employees, elderlys, company, DispatchType.DURATION_IN, "job");
+
+        //then
+        // 좌표는 회사, shared, 1002 세 개뿐이라 쌍도 3개
+        assertThat(kakaoCalls()).isEqualTo(3);
+        assertThat(distanceMatrix.get(distanceMatrix.elderlySlot(1000L), distanceMatrix.elderlySlot(1001L))).isZero();
+        assertThat(distanceMatrix.get(distanceMatrix.employeeSlot(1L), distanceMatrix.elderlySlot(1002L)))
+                .isEqualTo(distanceMatrix.get(DistanceMatrix.COMPANY, distanceMatrix.elderlySlot(1002L)));
+    }
+
+    private DistanceMatrixBuilder builder(DistanceMatrixSymmetry symmetry) {
+        RoadDistanceService roadDistanceService = new RoadDistanceService(mock(RoadDistanceRepository.class), false);
+        return new DistanceMatrixBuilder(kakaoMapApiService, roadDistanceService, mock(SSEService.class),
+                new SimpleMeterRegistry(), new ConcurrentMapCacheManager(), Runnable::run, symmetry);
+    }
+
+    private long kakaoCalls() {
+        return mockingDetails(kakaoMapApiService).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("getDistanceTotalTimeWithKakaoMapApi"))
+                .count();
+    }
+
+    private static List<ElderlyDTO> elderlys(int count) {
+        List<ElderlyDTO> elderlys = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            elderlys.add(elderly(1000L + i, new Location(37.4 + i * 0.01, 126.9 + i * 0.02)));
+        }
+        return elderlys;
+    }
+
+    private static EmployeeDTO employee(Long id, Location home) {
+        return new EmployeeDTO(id, "", "", "", home, new Location(37.5, 127.0), 4, false);
+    }
+
+    private static ElderlyDTO elderly(Long id, Location home) {
+        return new ElderlyDTO(id, "", home, false, "");
+    }
+}
@@ -0,0 +1,164 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.service.RecordedDistanceMatrixProvider.Recording;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DistanceMatrixProviderTest {
+
+    private final CompanyDTO company = new CompanyDTO(new Location(37.5, 127.0));
+    private final HaversineDistanceMatrixProvider haversine = new HaversineDistanceMatrixProvider(1.3, 30);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void haversine_WhenDistance_ScalesGreatCircleByDetourFactor() {
+        //given
+        // 위도 37.5 에서 경도 0.01 도 ≈ 882m
+        List<EmployeeDTO> employees = List.of(employee(1L, new Location(37.5, 127.01)));
+        List<ElderlyDTO> elderlys = List.of(elderly(1000L, new Location(37.5, 127.0)));
+
+        //when
+        DistanceMatrix distanceMatrix = haversine.build(employees, elderlys, company, DispatchType.DISTANCE_IN, "job");
+
+        //then
+        assertThat(distanceMatrix.get(DistanceMatrix.COMPANY, 1)).isBetween(1140, 1155);
+        assertThat(distanceMatrix.get(1, DistanceMatrix.COMPANY)).isEqualTo(distanceMatrix.get(DistanceMatrix.COMPANY, 1));
+        assertThat(distanceMatrix.get(DistanceMatrix.COMPANY, 2)).isZero();
+        assertThat(distanceMatrix.get(1, 1)).isZero();
+    }
+
+    @Test
+    public void haversine_WhenDuration_DividesDistanceBySpeed() {
+        //given
+        List<EmployeeDTO> employees = List.of(employee(1L, new Location(37.5, 127.01)));
+        List<ElderlyDTO> elderlys = List.of(elderly(1000L, new Location(37.6, 127.0)));
+
+        //when
+        DistanceMatrix distances = haversine.build(employees, elderlys, company, DispatchType.DISTANCE_OUT, "job");
+        DistanceMatrix durations = haversine.build(employees, elderlys, company, DispatchType.DURATION_OUT, "job");
+
+        //then
+        // 30km/h = 8.33m/s
+        assertThat(durations.get(1, 2)).isCloseTo((int) Math.round(distances.get(1, 2) / (30 / 3.6)),
+                within(1));
+    }
+
+    @Test
+    public void haversine_WhenThousandsOfNodes_BuildsWithoutNetwork() {
+        //given
+        Random random = new Random(42);
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (long i = 0; i < 50; i++) {
+            employees.add(employee(i, randomLocation(random)));
+        }
+        List<ElderlyDTO> elderlys = new ArrayList<>();
+        for (long i = 0; i < 1500; i++) {
+            elderlys.add(elderly(10_000 + i, randomLocation(random)));
+        }
+
+        //when
+        DistanceMatrix distanceMatrix = haversine.build(employees, elderlys, company, DispatchType.DURATION_IN, "job");
+
+        //then
+        assertThat(distanceMatrix.size()).isEqualTo(1551);
+        assertThat(distanceMatrix.get(1, 1550)).isPositive();
+        assertThat(distanceMatrix.get(1550, 1)).isEqualTo(distanceMatrix.get(1, 1550));
+    }
+
+    @Test
+    public void recorded_WhenNodeOrderDiffers_FindsValuesByCoordinate() {
+        //given
+        Random random = new Random(7);
+        List<EmployeeDTO> employees = List.of(employee(1L, randomLocation(random)), employee(2L, randomLocation(random)));
+        List<ElderlyDTO> elderlys = new ArrayList<>();
+        for (long i = 0; i < 10; i++) {
+            elderlys.add(elderly(1000 + i, randomLocation(random)));
+        }
+        DistanceMatrix distances = haversine.build(employees, elderlys, company, DispatchType.DISTANCE_IN, "job");
+        DistanceMatrix durations = haversine.build(employees, elderlys, company, DispatchType.DURATION_IN, "job");
+        RecordedDistanceMatrixProvider.write(directory.resolve("recording.json"),
+                new Recording(locations(employees, elderlys), toArray(distances), toArray(durations)));
+
+        List<ElderlyDTO> shuffled = new ArrayList<>(elderlys);
+        Collections.shuffle(shuffled, random);
+        RecordedDistanceMatrixProvider recorded = new RecordedDistanceMatrixProvider(directory.toString());
+
+        //when
+        DistanceMatrix replayed = recorded.build(employees, shuffled, company, DispatchType.DURATION_IN, "job");
+
+        //then
+        for (ElderlyDTO from : elderlys) {
+            for (ElderlyDTO to : elderlys) {
+                assertThat(replayed.get(replayed.elderlySlot(from.id()), replayed.elderlySlot(to.id())))
+                        .isEqualTo(durations.get(durations.elderlySlot(from.id()), durations.elderlySlot(to.id())));
+            }
+            assertThat(replayed.get(replayed.employeeSlot(2L), replayed.elderlySlot(from.id())))
+                    .isEqualTo(durations.get(durations.employeeSlot(2L), durations.elderlySlot(from.id())));
+        }
+    }
+
+    @Test
+    public void recorded_WhenCoordinateIsMissing_ThrowsIllegalStateException() {
+        //given
+        List<EmployeeDTO> employees = List.of(employee(1L, new Location(37.51, 127.01)));
+        List<ElderlyDTO> elderlys = List.of(elderly(1000L, new Location(37.52, 127.02)));
+        DistanceMatrix distances = haversine.build(employees, elderlys, company, DispatchType.DISTANCE_IN, "job");
+        RecordedDistanceMatrixProvider.write(directory.resolve("recording.json"),
+                new Recording(locations(employees, elderlys), toArray(distances), null));
+        RecordedDistanceMatrixProvider recorded = new RecordedDistanceMatrixProvider(
+                directory.resolve("recording.json").toString());
+
+        //when, then
+        assertThatThrownBy(() -> recorded.build(employees, List.of(elderly(1001L, new Location(37.53, 127.03))),
+                company, DispatchType.DISTANCE_IN, "job")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> recorded.build(employees, elderlys, company, DispatchType.DURATION_IN, "job"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private List<Location> locations(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys) {
+        List<Location> locations = new ArrayList<>();
+        locations.add(company.companyAddress());
+        employees.forEach(employee -> locations.add(employee.homeAddress()));
+        elderlys.forEach(elderly -> locations.add(elderly.homeAddress()));
+        return locations;
+    }
+
+    private static int[][] toArray(DistanceMatrix distanceMatrix) {
+        int[][] values = new int[distanceMatrix.size()][distanceMatrix.size()];
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < values.length; j++) {
+                values[i][j] = distanceMatrix.get(i, j);
+            }
+        }
+        return values;
+    }
+
+    private static Location randomLocation(Random random) {
+        return new Location(37.4 + random.nextDouble() * 0.2, 126.9 + random.nextDouble() * 0.2);
+    }
+
+    private static EmployeeDTO employee(Long id, Location home) {
+        return new EmployeeDTO(id, "", "", "", home, new Location(37.5, 127.0), 4, false);
+    }
+
+    private static ElderlyDTO elderly(Long id, Location home) {
+        return new ElderlyDTO(id, "", home, false, "");
+    }
+}
@@ -0,0 +1,94 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.silverithm.vehicleplacementsystem.entity.GenerationStats;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class GeneticAlgorithmTelemetryTest {
+
+    private final SSEService sseService = mock(SSEService.class);
+
+    @Test
+    public void recent_WhenFewerThanCapacity_ReturnsAllInOrder() {
+        //given
+        GeneticAlgorithmTelemetry telemetry = new GeneticAlgorithmTelemetry(5, 1, false, sseService);
+
+        //when
+        for (int generation = 0; generation < 3; generation++) {
+            telemetry.record(stats("job", generation));
+        }
+
+        //then
+        assertThat(telemetry.recent(null)).extracting(GenerationStats::generation).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    public void recent_WhenWrappedAround_KeepsLatestCapacityOldestFirst() {
+        //given
+        GeneticAlgorithmTelemetry telemetry = new GeneticAlgorithmTelemetry(4, 1, false, sseService);
+
+        //when
+        for (int generation = 0; generation < 11; generation++) {
+            telemetry.record(stats("job", generation));
+        }
+
+        //then
+        assertThat(telemetry.recent(null)).extracting(GenerationStats::generation).containsExactly(7, 8, 9, 10);
+        verify(sseService, never()).notifyGenerationStats(any(), any());
+    }
+
+    @Test
+    public void recent_WithJobId_FiltersWithinBuffer() {
+        //given
+        GeneticAlgorithmTelemetry telemetry = new GeneticAlgorithmTelemetry(4, 1, true, sseService);
+
+        //when
+        for (int generation = 0; generation < 6; generation++) {
+            telemetry.record(stats(generation % 2 == 0 ? "a" : "b", generation));
+        }
+
+        //then
+        List<GenerationStats> recent = telemetry.recent("a");
+        assertThat(recent).extracting(GenerationStats::generation).containsExactly(2, 4);
+        assertThat(telemetry.recent("missing")).isEmpty();
+        verify(sseService, times(3)).notifyGenerationStats(eq("a"), any());
+    }
+
+    @Test
+    public void isSampled_EveryIntervalGenerations() {
+        //given
+        GeneticAlgorithmTelemetry telemetry = new GeneticAlgorithmTelemetry(4, 3, false, sseService);
+        GeneticAlgorithmTelemetry everyGeneration = new GeneticAlgorithmTelemetry(4, 0, false, sseService);
+
+        //when
+        //then
+        assertThat(telemetry.isSampled(0)).isTrue();
+        assertThat(telemetry.isSampled(1)).isFalse();
+        assertThat(telemetry.isSampled(3)).isTrue();
+        assertThat(everyGeneration.isSampled(7)).isTrue();
+    }
+
+    @Test
+    public void constructor_WhenCapacityIsNotPositive_ThrowsException() {
+        //given
+        //when
+        //then
+        assertThatThrownBy(() -> new GeneticAlgorithmTelemetry(0, 1, false, sseService))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GeneticAlgorithmTelemetry(-1, 1, false, sseService))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static GenerationStats stats(String jobId, int generation) {
+        return new GenerationStats(jobId, generation, generation, generation, 0, 0, 1, 10, 0);
+    }
+}
@@ -0,0 +1,242 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.silverithm.vehicleplacementsystem.dto.CoupleRequestDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.FixedAssignmentsDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV5;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmParameters;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmResult;
+import com.silverithm.vehicleplacementsystem.entity.LocalSearchParameters;
+import com.silverithm.vehicleplacementsystem.entity.TerminationCriteria;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class GeneticAlgorithmV6Test {
+
+    private static final long SEED = 42L;
+
+    private final ExecutorService singleThread = Executors.newFixedThreadPool(1);
+    private final ExecutorService fourThreads = Executors.newFixedThreadPool(4);
+
+    private final List<EmployeeDTO> employees = employees();
+    private final List<ElderlyDTO> elderlys = elderlys();
+    private final List<CoupleRequestDTO> couples = List.of(new CoupleRequestDTO(100L, 101L));
+
+    @AfterEach
+    public void tearDown() {
+        singleThread.shutdownNow();
+        fourThreads.shutdownNow();
+    }
+
+    @Test
+    public void run_WithSameSeed_ReturnsSameResultOnAnyExecutor() throws Exception {
+        //given
+        //when
+        GeneticAlgorithmResult callerThread = runGeneticAlgorithm(Runnable::run);
+        GeneticAlgorithmResult single = runGeneticAlgorithm(singleThread);
+        GeneticAlgorithmResult parallel = runGeneticAlgorithm(fourThreads);
+
+        //then
+        assertThat(callerThread.best().getFitness()).isPositive();
+        for (GeneticAlgorithmResult result : List.of(single, parallel)) {
+            assertThat(result.generations()).isEqualTo(callerThread.generations());
+            assertThat(result.chromosomes()).hasSameSizeAs(callerThread.chromosomes());
+            for (int i = 0; i < 5; i++) {
+                assertThat(result.chromosomes().get(i).toGenes()).isEqualTo(callerThread.chromosomes().get(i).toGenes());
+                assertThat(result.chromosomes().get(i).getFitness())
+                        .isEqualTo(callerThread.chromosomes().get(i).getFitness());
+            }
+        }
+    }
+
+    @Test
+    public void run_WithDifferentSeed_ExploresDifferently() throws Exception {
+        //given
+        //when
+        GeneticAlgorithmResult result = runGeneticAlgorithm(Runnable::run);
+        GeneticAlgorithmResult otherResult = runGeneticAlgorithm(Runnable::run, SEED + 1);
+
+        //then
+        assertThat(otherResult.chromosomes()).extracting(ChromosomeV5::getRoutesHash)
+                .isNotEqualTo(result.chromosomes().stream().map(ChromosomeV5::getRoutesHash).toList());
+    }
+
+    @Test
+    public void islandRun_WithSameSeed_ReturnsSameResultOnAnyExecutor() throws Exception {
+        //given
+        //when
+        GeneticAlgorithmResult single = runIslands(singleThread);
+        GeneticAlgorithmResult parallel = runIslands(fourThreads);
+
+        //then
+        assertThat(parallel.generations()).isEqualTo(single.generations());
+        assertThat(parallel.best().toGenes()).isEqualTo(single.best().toGenes());
+        assertThat(parallel.best().getFitness()).isEqualTo(single.best().getFitness());
+    }
+
+    @Test
+    public void breed_WhenCrossoverChildFailsRepair_KeepsRepairedMutantWithOwnFitness() {
+        //given
+        // 앞좌석 어르신 0, 1 이 한 차량에 있고 다른 차량은 부부(2, 3)와 고정 자리(5)뿐이라 바꿀 어르신이 없어 수리에 실패한다.
+        // 부부 중 한 명을 첫 차량으로 보내는 돌연변이는 수리할 수 있다
+        List<EmployeeDTO> employees = List.of(
+                new EmployeeDTO(1L, "", "", "", new Location(37.5, 127.0), new Location(37.5, 127.0), 3, false),
+                new EmployeeDTO(2L, "", "", "", new Location(37.51, 127.0), new Location(37.5, 127.0), 3, false));
+        List<ElderlyDTO> elderlys = new ArrayList<>();
+        for (long i = 0; i < 6; i++) {
+            elderlys.add(new ElderlyDTO(100 + i, "", new Location(37.5 + i * 0.003, 127.0), i < 2, ""));
+        }
+        GeneticAlgorithmV6 geneticAlgorithm = new GeneticAlgorithmV6(employees, elderlys,
+                List.of(new CoupleRequestDTO(102L, 103L)), List.of(new FixedAssignmentsDTO(2, 105, 3)),
+                mock(SSEService.class), Runnable::run);
+        geneticAlgorithm.initialize(matrix(employees, elderlys), DispatchType.DURATION_IN, "test", SEED);
+        geneticAlgorithm.setParameters(new GeneticAlgorithmParameters(20, 1, 1.0, 1.0));
+
+        ChromosomeV5[] initialPopulation = new ChromosomeV5[20];
+        for (int i = 0; i < initialPopulation.length; i++) {
+            initialPopulation[i] = ChromosomeV5.from(new int[][]{{0, 1, 4}, {2, 3, 5}});
+        }
+        geneticAlgorithm.seedPopulation(initialPopulation);
+
+        //when
+        geneticAlgorithm.crossover();
+        long feasibleChildren = geneticAlgorithm.feasibleOffspring();
+        geneticAlgorithm.mutate();
+        geneticAlgorithm.combinePopulations();
+
+        //then
+        assertThat(geneticAlgorithm.bestFitness()).isPositive();
+        assertThat(feasibleChildren).isZero();
+        assertThat(geneticAlgorithm.feasibleOffspring()).isPositive();
+
+        // 초기 해와 자손은 모두 적합도 0 이므로 남은 개체는 모두 수리된 돌연변이다
+        List<ChromosomeV5> survivors = geneticAlgorithm.sortedPopulation();
+        assertThat(survivors).isNotEmpty();
+        for (ChromosomeV5 survivor : survivors) {
+            assertThat(survivor.getFitness()).isPositive()
+                    .isEqualTo(geneticAlgorithm.calculateFitness(ChromosomeV5.from(survivor.toGenes())));
+        }
+    }
+
+    @Test
+    public void selectDescending_ReturnsSameValueAsSort() {
+        //given
+        SplittableRandom random = new SplittableRandom(3);
+
+        for (int trial = 0; trial < 500; trial++) {
+            int count = 1 + random.nextInt(60);
+            // 동점이 많이 생기도록 작은 범위에서 뽑는다
+            double[] values = random.doubles(count, 0, 8).map(Math::floor).toArray();
+            double[] sorted = Arrays.stream(values).boxed().sorted(Comparator.reverseOrder())
+                    .mapToDouble(Double::doubleValue).toArray();
+            int rank = random.nextInt(count);
+
+            //when
+            double selected = GeneticAlgorithmV6.selectDescending(values.clone(), count, rank);
+
+            //then
+            assertThat(selected).isEqualTo(sorted[rank]);
+        }
+    }
+
+    @Test
+    public void keepTop_KeepsSameChromosomesAsStableSortInOriginalOrder() {
+        //given
+        SplittableRandom random = new SplittableRandom(5);
+
+        for (int trial = 0; trial < 300; trial++) {
+            int count = 2 + random.nextInt(60);
+            int k = 1 + random.nextInt(count);
+            ChromosomeV5[] candidates = new ChromosomeV5[count];
+            for (int i = 0; i < count; i++) {
+                candidates[i] = ChromosomeV5.from(new int[][]{{i}});
+                candidates[i].setFitness(random.nextInt(10));
+            }
+            ChromosomeV5[] expected = Arrays.copyOf(candidates, count);
+            Arrays.sort(expected, (c1, c2) -> Double.compare(c2.getFitness(), c1.getFitness()));
+            expected = Arrays.copyOf(expected, k);
+            Arrays.sort(expected, Comparator.comparingInt(chromosome -> chromosome.getGenes()[0]));
+
+            //when
+            GeneticAlgorithmV6.keepTop(candidates, new double[count], count, k);
+
+            //then
+            assertThat(Arrays.copyOf(candidates, k)).containsExactly(expected);
+        }
+    }
+
+    // 개체 1200 개 -> 청크 3 개, 상위 24 개 지역 탐색 -> 청크 3 개
+    private GeneticAlgorithmResult runGeneticAlgorithm(Executor executor) throws Exception {
+        return runGeneticAlgorithm(executor, SEED);
+    }
+
+    private GeneticAlgorithmResult runGeneticAlgorithm(Executor executor, long seed) throws Exception {
+        GeneticAlgorithmV6 geneticAlgorithm = new GeneticAlgorithmV6(employees, elderlys, couples, List.of(),
+                mock(SSEService.class), executor);
+        geneticAlgorithm.initialize(matrix(), DispatchType.DURATION_IN, "test", seed);
+        geneticAlgorithm.setParameters(new GeneticAlgorithmParameters(1_200, 20, 0.7, 0.9));
+        geneticAlgorithm.setTerminationCriteria(TerminationCriteria.generations(20));
+        geneticAlgorithm.setLocalSearchParameters(new LocalSearchParameters(0.02, 2, 0));
+        return geneticAlgorithm.run("job");
+    }
+
+    private GeneticAlgorithmResult runIslands(Executor executor) throws Exception {
+        IslandGeneticAlgorithm geneticAlgorithm = new IslandGeneticAlgorithm(employees, elderlys, couples, List.of(),
+                mock(SSEService.class), executor, 4, 5, 0.05);
+        geneticAlgorithm.initialize(matrix(), DispatchType.DURATION_IN, "test", SEED);
+        geneticAlgorithm.setParameters(new GeneticAlgorithmParameters(400, 20, 0.7, 0.9));
+        geneticAlgorithm.setTerminationCriteria(new TerminationCriteria(20, 8, 0, 0));
+        return geneticAlgorithm.run("job");
+    }
+
+    private DistanceMatrix matrix() {
+        return matrix(employees, elderlys);
+    }
+
+    private static DistanceMatrix matrix(List<EmployeeDTO> employees, List<ElderlyDTO> elderlys) {
+        DistanceMatrix distanceMatrix = new DistanceMatrix(employees, elderlys);
+        Random random = new Random(1);
+        for (int i = 0; i < distanceMatrix.size(); i++) {
+            for (int j = 0; j < distanceMatrix.size(); j++) {
+                if (i != j) {
+                    distanceMatrix.set(i, j, 100 + random.nextInt(3_000));
+                }
+            }
+        }
+        return distanceMatrix;
+    }
+
+    private static List<EmployeeDTO> employees() {
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (long i = 0; i < 5; i++) {
+            employees.add(new EmployeeDTO(i + 1, "", "", "", new Location(37.5 + i * 0.01, 127.0),
+                    new Location(37.5, 127.0), 6, false));
+        }
+        return employees;
+    }
+
+    private static List<ElderlyDTO> elderlys() {
+        List<ElderlyDTO> elderlys = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            elderlys.add(new ElderlyDTO(100 + i, "", new Location(37.5 + (i % 7) * 0.003, 127.0 + (i / 7) * 0.003),
+                    false, ""));
+        }
+        return elderlys;
+    }
+}
@@ -0,0 +1,97 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.GenerationStats;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmParameters;
+import com.silverithm.vehicleplacementsystem.entity.GeneticAlgorithmResult;
+import com.silverithm.vehicleplacementsystem.entity.StopReason;
+import com.silverithm.vehicleplacementsystem.entity.TerminationCriteria;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class IslandGeneticAlgorithmTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final SSEService sseService = mock(SSEService.class);
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void run_WhenTimeBudgetExpires_StopsInsideMigrationInterval() throws Exception {
+        //given
+        // 이주 주기가 최대 세대 수와 같아 이주 시점에만 검사하면 끝까지 돈다
+        IslandGeneticAlgorithm geneticAlgorithm = islandGeneticAlgorithm(100_000);
+        geneticAlgorithm.setTerminationCriteria(new TerminationCriteria(100_000, 0, 0, 200));
+
+        //when
+        GeneticAlgorithmResult result = geneticAlgorithm.run("job");
+
+        //then
+        assertThat(result.stopReason()).isEqualTo(StopReason.TIME_BUDGET);
+        assertThat(result.generations()).isLessThan(100_000);
+        assertThat(result.elapsedMillis()).isLessThan(5_000);
+    }
+
+    @Test
+    public void run_WhenStagnant_StopsAtStagnationLimitAndSamplesEveryGeneration() throws Exception {
+        //given
+        IslandGeneticAlgorithm geneticAlgorithm = islandGeneticAlgorithm(10);
+        geneticAlgorithm.setTerminationCriteria(new TerminationCriteria(1_000, 3, 0, 0));
+        GeneticAlgorithmTelemetry telemetry = new GeneticAlgorithmTelemetry(10_000, 1, false, sseService);
+        geneticAlgorithm.setTelemetry(telemetry);
+
+        //when
+        GeneticAlgorithmResult result = geneticAlgorithm.run("job");
+
+        //then
+        List<GenerationStats> stats = telemetry.recent("job");
+        int generations = result.generations();
+        assertThat(result.stopReason()).isEqualTo(StopReason.STAGNATION);
+        assertThat(stats).extracting(GenerationStats::generation)
+                .containsExactlyElementsOf(IntStream.rangeClosed(0, generations).boxed().toList());
+
+        // 마지막 3세대는 그 전까지의 최고 적합도를 넘지 못했고, 그 직전 세대는 최고 적합도를 올렸다
+        double bestBefore = stats.subList(0, generations - 2).stream()
+                .mapToDouble(GenerationStats::bestFitness).max().orElseThrow();
+        assertThat(stats.subList(generations - 2, generations + 1))
+                .allMatch(generationStats -> generationStats.bestFitness() <= bestBefore);
+        assertThat(stats.get(generations - 3).bestFitness()).isEqualTo(bestBefore);
+    }
+
+    private IslandGeneticAlgorithm islandGeneticAlgorithm(int migrationInterval) {
+        Location company = new Location(37.5, 127.0);
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (long i = 0; i < 4; i++) {
+            employees.add(new EmployeeDTO(i, "", "", "", new Location(37.5 + i * 0.01, 127.0), company, 5, false));
+        }
+        List<ElderlyDTO> elderlys = new ArrayList<>();
+        for (long i = 0; i < 16; i++) {
+            elderlys.add(new ElderlyDTO(1000 + i, "", new Location(37.4 + i * 0.013, 126.9 + (i % 5) * 0.03),
+                    false, ""));
+        }
+        DistanceMatrix distanceMatrix = new HaversineDistanceMatrixProvider(1.3, 30).build(employees, elderlys,
+                new CompanyDTO(company), DispatchType.DURATION_IN, "job");
+
+        IslandGeneticAlgorithm geneticAlgorithm = new IslandGeneticAlgorithm(employees, elderlys, List.of(),
+                List.of(), sseService, executor, 2, migrationInterval, 0.1);
+        geneticAlgorithm.initialize(distanceMatrix, DispatchType.DURATION_IN, "test", 42L);
+        geneticAlgorithm.setParameters(new GeneticAlgorithmParameters(40, 1_000, 0.7, 0.9));
+        return geneticAlgorithm;
+    }
+}
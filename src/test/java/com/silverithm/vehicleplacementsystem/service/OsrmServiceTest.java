@@ -0,0 +1,124 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.dto.OsrmApiResponseDTO;
+import com.silverithm.vehicleplacementsystem.entity.CoordinatePairKey;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+
+public class OsrmServiceTest {
+
+    private static final String OSRM_URL = "http://osrm.local";
+
+    private final Location location0 = new Location(37.0, 127.0);
+    private final Location location1 = new Location(37.1, 127.1);
+    private final Location location2 = new Location(37.2, 127.2);
+
+    private MockRestServiceServer server;
+    private CacheManager cacheManager;
+    private OsrmService osrmService;
+
+    @BeforeEach
+    public void setUp() {
+        MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer();
+        // max-table-size 2 → 좌표 3개는 2x2 타일 4개로 나뉜다
+        cacheManager = new ConcurrentMapCacheManager();
+        osrmService = new OsrmService(new RestTemplateBuilder(customizer), OSRM_URL, 2, cacheManager);
+        server = customizer.getServer();
+    }
+
+    @Test
+    public void getDistanceMatrixWithOsrmTableApi_WhenTilesSucceed_MergesTiles() {
+        //given
+        expectTable("127.0,37.0;127.1,37.1;127.0,37.0;127.1,37.1?sources=0;1&destinations=2;3",
+                "[[0,11],[10,0]]", "[[0,110],[100,0]]");
+        expectTable("127.0,37.0;127.1,37.1;127.2,37.2?sources=0;1&destinations=2",
+                "[[20],[21]]", "[[200],[210]]");
+        expectTable("127.2,37.2;127.0,37.0;127.1,37.1?sources=0&destinations=1;2",
+                "[[30,31]]", "[[300,310]]");
+        expectTable("127.2,37.2;127.2,37.2?sources=0&destinations=1",
+                "[[0]]", "[[0]]");
+
+        //when
+        OsrmApiResponseDTO[][] result = osrmService.getDistanceMatrixWithOsrmTableApi(
+                List.of(location0, location1, location2));
+
+        //then
+        server.verify();
+        assertThat(result[0][1]).isEqualTo(new OsrmApiResponseDTO(110, 11));
+        assertThat(result[1][0]).isEqualTo(new OsrmApiResponseDTO(100, 10));
+        assertThat(result[1][2]).isEqualTo(new OsrmApiResponseDTO(210, 21));
+        assertThat(result[2][0]).isEqualTo(new OsrmApiResponseDTO(300, 30));
+        assertThat(result[2][2]).isEqualTo(new OsrmApiResponseDTO(0, 0));
+    }
+
+    @Test
+    public void getDistanceMatrixWithOsrmTableApi_WhenTileFailsOrHasNull_FallsBackToRoutePerPair() {
+        //given
+        expectTable("127.0,37.0;127.1,37.1;127.0,37.0;127.1,37.1?sources=0;1&destinations=2;3",
+                "[[0,null],[10,0]]", "[[0,null],[100,0]]");
+        server.expect(requestTo(OSRM_URL + "/table/v1/driving/127.0,37.0;127.1,37.1;127.2,37.2"
+                        + "?sources=0;1&destinations=2&annotations=duration,distance"))
+                .andRespond(withServerError());
+        expectTable("127.2,37.2;127.0,37.0;127.1,37.1?sources=0&destinations=1;2",
+                "[[30,31]]", "[[300,310]]");
+        expectTable("127.2,37.2;127.2,37.2?sources=0&destinations=1",
+                "[[0]]", "[[0]]");
+        expectRoute("127.0,37.0;127.1,37.1", 111, 11);
+        expectRoute("127.0,37.0;127.2,37.2", 222, 22);
+        expectRoute("127.1,37.1;127.2,37.2", 212, 21);
+
+        //when
+        OsrmApiResponseDTO[][] result = osrmService.getDistanceMatrixWithOsrmTableApi(
+                List.of(location0, location1, location2));
+
+        //then
+        server.verify();
+        assertThat(result[0][1]).isEqualTo(new OsrmApiResponseDTO(111, 11));
+        assertThat(result[0][2]).isEqualTo(new OsrmApiResponseDTO(222, 22));
+        assertThat(result[1][2]).isEqualTo(new OsrmApiResponseDTO(212, 21));
+        assertThat(result[2][1]).isEqualTo(new OsrmApiResponseDTO(310, 31));
+        assertThat(cacheManager.getCache("osrm").get(CoordinatePairKey.of(location0, location2), OsrmApiResponseDTO.class))
+                .isEqualTo(new OsrmApiResponseDTO(222, 22));
+    }
+
+    @Test
+    public void getDistanceMatrixWithOsrmTableApi_WhenFallbackIsCached_SkipsRouteRequest() {
+        //given
+        cacheManager.getCache("osrm").put(CoordinatePairKey.of(location0, location1), new OsrmApiResponseDTO(111, 11));
+        expectTable("127.0,37.0;127.1,37.1;127.0,37.0;127.1,37.1?sources=0;1&destinations=2;3",
+                "[[0,null],[10,0]]", "[[0,null],[100,0]]");
+
+        //when
+        OsrmApiResponseDTO[][] result = osrmService.getDistanceMatrixWithOsrmTableApi(List.of(location0, location1));
+
+        //then
+        server.verify();
+        assertThat(result[0][1]).isEqualTo(new OsrmApiResponseDTO(111, 11));
+    }
+
+    private void expectTable(String coordinatesAndIndexes, String durations, String distances) {
+        server.expect(requestTo(OSRM_URL + "/table/v1/driving/" + coordinatesAndIndexes
+                        + "&annotations=duration,distance"))
+                .andRespond(withSuccess("{\"code\":\"Ok\",\"durations\":" + durations
+                        + ",\"distances\":" + distances + "}", MediaType.APPLICATION_JSON));
+    }
+
+    private void expectRoute(String coordinates, int distance, int duration) {
+        server.expect(requestTo(OSRM_URL + "/route/v1/driving/" + coordinates))
+                .andRespond(withSuccess("{\"code\":\"Ok\",\"routes\":[{\"distance\":" + distance
+                        + ",\"duration\":" + duration + "}]}", MediaType.APPLICATION_JSON));
+    }
+}
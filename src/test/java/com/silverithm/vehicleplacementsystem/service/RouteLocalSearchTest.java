@@ -0,0 +1,104 @@
+package com.silverithm.vehicleplacementsystem.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+import com.silverithm.vehicleplacementsystem.dto.CompanyDTO;
+import com.silverithm.vehicleplacementsystem.dto.ElderlyDTO;
+import com.silverithm.vehicleplacementsystem.dto.EmployeeDTO;
+import com.silverithm.vehicleplacementsystem.dto.Location;
+import com.silverithm.vehicleplacementsystem.entity.ChromosomeV5;
+import com.silverithm.vehicleplacementsystem.entity.DispatchConstraints;
+import com.silverithm.vehicleplacementsystem.entity.DispatchType;
+import com.silverithm.vehicleplacementsystem.entity.DistanceMatrix;
+import com.silverithm.vehicleplacementsystem.entity.FixedAssignmentsV2;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class RouteLocalSearchTest {
+
+    private static final int EMPLOYEES = 4;
+    private static final int ELDERLYS = 14;
+    private static final int CAPACITY = 5;
+
+    @ParameterizedTest
+    @EnumSource(DispatchType.class)
+    public void improve_NeverLowersFitnessAndKeepsCacheConsistent(DispatchType dispatchType) {
+        //given
+        Location company = new Location(37.5, 127.0);
+        List<EmployeeDTO> employees = new ArrayList<>();
+        for (long i = 0; i < EMPLOYEES; i++) {
+            employees.add(new EmployeeDTO(i, "", "", "", new Location(37.5 + i * 0.01, 127.0), company, CAPACITY,
+                    i == 0));
+        }
+        List<ElderlyDTO> elderlys = new ArrayList<>();
+        for (long i = 0; i < ELDERLYS; i++) {
+            elderlys.add(new ElderlyDTO(100 + i, "", new Location(37.4 + i * 0.013, 126.9 + (i % 5) * 0.03),
+                    i % 6 == 0, ""));
+        }
+        DistanceMatrix distanceMatrix = new HaversineDistanceMatrixProvider(1.3, 30).build(employees, elderlys,
+                new CompanyDTO(company), dispatchType, "job");
+        GeneticAlgorithmV6 geneticAlgorithm = new GeneticAlgorithmV6(employees, elderlys, List.of(), List.of(),
+                mock(SSEService.class), Runnable::run);
+        geneticAlgorithm.initialize(distanceMatrix, dispatchType, "test", 42L);
+        DispatchConstraints constraints = new DispatchConstraints(employees, elderlys, List.of(),
+                new FixedAssignmentsV2(List.of(), employees, elderlys));
+        RouteLocalSearch localSearch = new RouteLocalSearch(geneticAlgorithm::calculateFitness, constraints, 5);
+
+        SplittableRandom random = new SplittableRandom(7);
+        for (int trial = 0; trial < 30; trial++) {
+            ChromosomeV5 chromosome = randomChromosome(random);
+            constraints.repair(chromosome);
+            chromosome.setFitness(geneticAlgorithm.calculateFitness(chromosome));
+            double before = chromosome.getFitness();
+
+            //when
+            localSearch.improve(chromosome, Long.MAX_VALUE);
+
+            //then
+            // 캐시를 쓰지 않고 처음부터 다시 계산한 값과 같아야 한다
+            ChromosomeV5 fresh = ChromosomeV5.from(chromosome.toGenes());
+            assertThat(chromosome.getFitness()).isGreaterThanOrEqualTo(before);
+            assertThat(geneticAlgorithm.calculateFitness(chromosome)).isCloseTo(chromosome.getFitness(), within(1e-6));
+            assertThat(geneticAlgorithm.calculateFitness(fresh)).isCloseTo(chromosome.getFitness(), within(1e-6));
+            assertThat(chromosome.getRoutesHash()).isEqualTo(fresh.getRoutesHash());
+            if (before > 0) {
+                assertThat(constraints.isValid(chromosome)).isTrue();
+            }
+        }
+    }
+
+    // 어르신을 섞어 경로마다 최대 CAPACITY 명, 최소 1명씩 나눈다
+    private ChromosomeV5 randomChromosome(SplittableRandom random) {
+        int[] order = new int[ELDERLYS];
+        for (int i = 0; i < ELDERLYS; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        int[] lengths = new int[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            lengths[i] = 1;
+        }
+        for (int remaining = ELDERLYS - EMPLOYEES; remaining > 0; ) {
+            int route = random.nextInt(EMPLOYEES);
+            if (lengths[route] < CAPACITY) {
+                lengths[route]++;
+                remaining--;
+            }
+        }
+        int[][] routes = new int[EMPLOYEES][];
+        int next = 0;
+        for (int i = 0; i < EMPLOYEES; i++) {
+            routes[i] = new int[lengths[i]];
+            for (int k = 0; k < lengths[i]; k++) {
+                routes[i][k] = order[next++];
+            }
+        }
+        return ChromosomeV5.from(routes);
+    }
+}